@@ -49,15 +49,20 @@ public class Agents {
   @SuppressWarnings("unused")
   public static CentralizedNumGridVSR centralizedNumGridVSR(
       @Param("body") GridBody body,
-      @Param("function") NumericalDynamicalSystems.Builder<?, ?> numericalDynamicalSystemBuilder
+      @Param("function") NumericalDynamicalSystems.Builder<?, ?> numericalDynamicalSystemBuilder,
+      @Param(value = "boundSensors", dB = false) boolean boundSensors
   ) {
-    return new CentralizedNumGridVSR(
+    CentralizedNumGridVSR agent = new CentralizedNumGridVSR(
         body,
         numericalDynamicalSystemBuilder.apply(
             MultivariateRealFunction.varNames("x", CentralizedNumGridVSR.nOfInputs(body)),
             MultivariateRealFunction.varNames("y", CentralizedNumGridVSR.nOfOutputs(body))
         )
     );
+    if (boundSensors) {
+      agent.bindSensors();
+    }
+    return agent;
   }
 
   @SuppressWarnings("unused")
@@ -65,9 +70,11 @@ public class Agents {
       @Param("body") GridBody body,
       @Param("function") NumericalDynamicalSystems.Builder<?, ?> numericalDynamicalSystemBuilder,
       @Param(value = "nOfSignals", dI = 1) int nOfSignals,
-      @Param("directional") boolean directional
+      @Param("directional") boolean directional,
+      @Param(value = "boundSensors", dB = false) boolean boundSensors,
+      @Param(value = "brainsGrainSize", dI = 0) int brainsGrainSize
   ) {
-    return new DistributedNumGridVSR(
+    DistributedNumGridVSR agent = new DistributedNumGridVSR(
         body,
         Grid.create(
             body.grid().w(),
@@ -88,8 +95,13 @@ public class Agents {
                 )
         ),
         nOfSignals,
-        directional
+        directional,
+        brainsGrainSize
     );
+    if (boundSensors) {
+      agent.bindSensors();
+    }
+    return agent;
   }
 
   @SuppressWarnings("unused")
@@ -98,9 +110,10 @@ public class Agents {
       @Param(value = "areaActuation", dS = "sides") NumIndependentVoxel.AreaActuation areaActuation,
       @Param(value = "attachActuation", dB = true) boolean attachActuation,
       @Param(value = "nOfNFCChannels", dI = 1) int nOfNFCChannels,
-      @Param("function") NumericalDynamicalSystems.Builder<?, ?> numericalDynamicalSystemBuilder
+      @Param("function") NumericalDynamicalSystems.Builder<?, ?> numericalDynamicalSystemBuilder,
+      @Param(value = "boundSensors", dB = false) boolean boundSensors
   ) {
-    return new NumIndependentVoxel(
+    NumIndependentVoxel agent = new NumIndependentVoxel(
         sensors,
         areaActuation,
         attachActuation,
@@ -113,6 +126,10 @@ public class Agents {
             )
         )
     );
+    if (boundSensors) {
+      agent.bindSensors();
+    }
+    return agent;
   }
 
   @SuppressWarnings("unused")
@@ -154,8 +171,15 @@ public class Agents {
   }
 
   @SuppressWarnings("unused")
-  public static ReactiveGridVSR reactiveGridVSR(@Param("body") Grid<ReactiveVoxel> body) {
-    return new ReactiveGridVSR(body);
+  public static ReactiveGridVSR reactiveGridVSR(
+      @Param("body") Grid<ReactiveVoxel> body,
+      @Param(value = "boundSensors", dB = false) boolean boundSensors
+  ) {
+    ReactiveGridVSR agent = new ReactiveGridVSR(body);
+    if (boundSensors) {
+      agent.bindSensors();
+    }
+    return agent;
   }
 
   @SuppressWarnings("unused")
@@ -0,0 +1,48 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-buildable
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.buildable.builders;
+
+import io.github.ericmedvet.jnb.core.Discoverable;
+import io.github.ericmedvet.jnb.core.Param;
+import io.github.ericmedvet.jsdynsym.buildable.builders.NumericalDynamicalSystems;
+import io.github.ericmedvet.jsdynsym.core.StatelessSystem;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import java.util.Arrays;
+
+@Discoverable(prefixTemplate = "sim|s.brain|b")
+public class Brains {
+
+  private Brains() {
+  }
+
+  @SuppressWarnings("unused")
+  public static NumericalDynamicalSystems.Builder<DenseNetwork, StatelessSystem.State> denseNetwork(
+      @Param(value = "innerLayerRatio", dD = 0.65) double innerLayerRatio,
+      @Param(value = "nOfInnerLayers", dI = 1) int nOfInnerLayers,
+      @Param(value = "activation", dS = "tanh") DenseNetwork.Activation activation
+  ) {
+    return (xVarNames, yVarNames) -> {
+      int[] innerNeurons = new int[nOfInnerLayers];
+      Arrays.fill(innerNeurons, (int) Math.max(2, Math.round(xVarNames.size() * innerLayerRatio)));
+      return new DenseNetwork(activation, xVarNames.size(), innerNeurons, yVarNames.size());
+    };
+  }
+}
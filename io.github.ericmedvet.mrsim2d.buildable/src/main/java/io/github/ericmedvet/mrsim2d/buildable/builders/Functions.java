@@ -35,14 +35,16 @@ import io.github.ericmedvet.mrsim2d.core.engine.Engine;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
 import io.github.ericmedvet.mrsim2d.core.tasks.BiTask;
+import io.github.ericmedvet.mrsim2d.core.tasks.EvaluationService;
+import io.github.ericmedvet.mrsim2d.core.tasks.RandomizedTask;
 import io.github.ericmedvet.mrsim2d.core.tasks.Task;
 import io.github.ericmedvet.mrsim2d.viewer.BiTaskVideoBuilder;
 import io.github.ericmedvet.mrsim2d.viewer.Drawer;
 import io.github.ericmedvet.mrsim2d.viewer.TaskVideoBuilder;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 
 @Discoverable(prefixTemplate = "sim|s.function|f")
 public class Functions {
@@ -50,6 +52,30 @@ public class Functions {
   private Functions() {
   }
 
+  private static <A, S extends AgentsObservation, O extends AgentsOutcome<S>> List<Task<A, S, O>> repetitionTasks(
+      Task<A, S, O> task,
+      int repetitions
+  ) {
+    // randomized repetitions get their own generator, seeded by the one of the task
+    if (task instanceof RandomizedTask<A, S, O> randomizedTask) {
+      return List.copyOf(randomizedTask.repetitions(repetitions));
+    }
+    return Collections.nCopies(repetitions, task);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <A> A threadSafe(A a) {
+    // agent suppliers might build agents from shared objects, hence they are invoked by one thread at a time
+    if (a instanceof Supplier<?> supplier) {
+      return (A) (Supplier<?>) () -> {
+        synchronized (supplier) {
+          return supplier.get();
+        }
+      };
+    }
+    return a;
+  }
+
   @SuppressWarnings("unused")
   @Cacheable
   public static <X, A1, A2> NamedFunction<X, Video> biTaskVideo(
@@ -107,13 +133,30 @@ public class Functions {
       @Param("task") Task<A, S, O> task,
       @Param("repetitions") int repetitions,
       @Param("duration") double duration,
-      @Param(value = "engine", dNPM = "sim.engine()") Supplier<Engine> engineSupplier
+      @Param(value = "engine", dNPM = "sim.engine()") Supplier<Engine> engineSupplier,
+      @Param(value = "nOfThreads", dI = 1) int nOfThreads
   ) {
-    Function<A, List<O>> f = a -> IntStream.range(0, repetitions)
-        .boxed()
-        .map(i -> task.run(a, duration, engineSupplier.get()))
-        .toList();
-    return NamedFunction.from(f, "name").compose(beforeF);
+    if (nOfThreads <= 1) {
+      Function<A, List<O>> f = a -> repetitionTasks(task, repetitions).stream()
+          .map(t -> t.run(a, duration, engineSupplier.get()))
+          .toList();
+      return NamedFunction.from(f, name).compose(beforeF);
+    }
+    Function<A, List<O>> f = a -> {
+      A threadSafeA = threadSafe(a);
+      // each worker thread reuses its own engine across repetitions, and threads end with the invocation
+      try (EvaluationService evaluationService = new EvaluationService(nOfThreads, engineSupplier)) {
+        return evaluationService.evaluate(
+                repetitionTasks(task, repetitions).stream()
+                    .map(t -> new EvaluationService.Job<>(t, threadSafeA, duration))
+                    .toList()
+            )
+            .stream()
+            .map(EvaluationService.Result::outcome)
+            .toList();
+      }
+    };
+    return NamedFunction.from(f, name).compose(beforeF);
   }
 
   @SuppressWarnings("unused")
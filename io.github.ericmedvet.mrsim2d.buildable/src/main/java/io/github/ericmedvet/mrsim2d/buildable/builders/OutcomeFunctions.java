@@ -24,10 +24,12 @@ import io.github.ericmedvet.jnb.core.Discoverable;
 import io.github.ericmedvet.jnb.core.Param;
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jnb.datastructure.FormattedNamedFunction;
+import io.github.ericmedvet.jnb.datastructure.NamedFunction;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
 import io.github.ericmedvet.mrsim2d.core.tasks.balancing.BalancingAgentsOutcome;
 import io.github.ericmedvet.mrsim2d.core.tasks.sumo.SumoAgentsOutcome;
+import java.util.List;
 import java.util.function.Function;
 
 @Discoverable(prefixTemplate = "sim|s.function|f.outcome|o")
@@ -224,6 +226,20 @@ public class OutcomeFunctions {
         .compose(beforeF);
   }
 
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static <X> NamedFunction<X, AgentsOutcome<?>> declared(
+      @Param(value = "metrics", dSs = {"y", "bb_h", "bb_w", "bb_min_y", "bb_max_y", "bb_area", "terrain_h",
+          "energy_consumption"}) List<AgentsOutcome.Metric> metrics,
+      @Param(value = "aggregates", dSs = {"average", "max", "sum"}) List<AgentsOutcome.Aggregate> aggregates,
+      @Param(value = "subjects", dSs = {"first", "all"}) List<AgentsOutcome.Subject> subjects,
+      @Param(value = "of", dNPM = "f.identity()") Function<X, AgentsOutcome<?>> beforeF
+  ) {
+    List<AgentsOutcome.Key> keys = AgentsOutcome.keys(metrics, aggregates, subjects);
+    Function<AgentsOutcome<?>, AgentsOutcome<?>> f = o -> o.declare(keys);
+    return NamedFunction.from(f, "declared").compose(beforeF);
+  }
+
   @SuppressWarnings("unused")
   @Cacheable
   public static <X> Function<X, Double> faAvgArea(
@@ -0,0 +1,72 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-buildable
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.buildable.builders;
+
+import io.github.ericmedvet.jnb.core.Cacheable;
+import io.github.ericmedvet.jnb.core.Discoverable;
+import io.github.ericmedvet.jnb.core.Param;
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
+import java.util.List;
+
+@Discoverable(prefixTemplate = "sim|s.task.stopCondition|sc")
+public class StopConditions {
+  private StopConditions() {
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static StopCondition any(@Param("conditions") List<StopCondition> conditions) {
+    return StopCondition.any(conditions);
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static StopCondition fallen(@Param(value = "h", dD = 5d) double h) {
+    return StopCondition.fallen(h);
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static StopCondition never() {
+    return StopCondition.NEVER;
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static StopCondition outOfBounds(
+      @Param(value = "minX", dD = Double.NEGATIVE_INFINITY) double minX,
+      @Param(value = "maxX", dD = Double.POSITIVE_INFINITY) double maxX,
+      @Param(value = "minY", dD = Double.NEGATIVE_INFINITY) double minY,
+      @Param(value = "maxY", dD = Double.POSITIVE_INFINITY) double maxY
+  ) {
+    return StopCondition.outOfBounds(new DoubleRange(minX, maxX), new DoubleRange(minY, maxY));
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static StopCondition stalled(
+      @Param(value = "time", dD = 5d) double time,
+      @Param(value = "minDistance", dD = 0.5d) double minDistance
+  ) {
+    return StopCondition.stalled(time, minDistance);
+  }
+}
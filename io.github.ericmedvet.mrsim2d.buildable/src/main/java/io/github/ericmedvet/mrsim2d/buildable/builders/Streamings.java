@@ -0,0 +1,57 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-buildable
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.buildable.builders;
+
+import io.github.ericmedvet.jnb.core.Cacheable;
+import io.github.ericmedvet.jnb.core.Discoverable;
+import io.github.ericmedvet.jnb.core.Param;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import java.util.HashSet;
+import java.util.List;
+
+@Discoverable(prefixTemplate = "sim|s.task.streaming|st")
+public class Streamings {
+  private Streamings() {
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static OutcomeAccumulator.Streaming keys(
+      @Param(value = "metrics", dSs = {"y", "bb_h", "bb_w", "bb_min_y", "bb_max_y", "bb_area", "terrain_h",
+          "energy_consumption"}) List<AgentsOutcome.Metric> metrics,
+      @Param(value = "aggregates", dSs = {"average", "max", "sum"}) List<AgentsOutcome.Aggregate> aggregates,
+      @Param(value = "subjects", dSs = {"first", "all"}) List<AgentsOutcome.Subject> subjects,
+      @Param(value = "transientTimes", dDs = {0d, 5d}) List<Double> transientTimes
+  ) {
+    // same defaults of f.outcome.declared(): only the metrics actually used should be streamed
+    return new OutcomeAccumulator.Streaming(
+        new HashSet<>(AgentsOutcome.keys(metrics, aggregates, subjects)),
+        new HashSet<>(transientTimes)
+    );
+  }
+
+  @SuppressWarnings("unused")
+  @Cacheable
+  public static OutcomeAccumulator.Streaming none() {
+    return OutcomeAccumulator.Streaming.NONE;
+  }
+}
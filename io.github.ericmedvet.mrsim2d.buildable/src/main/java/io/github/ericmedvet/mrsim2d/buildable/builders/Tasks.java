@@ -25,6 +25,9 @@ import io.github.ericmedvet.jnb.core.Param;
 import io.github.ericmedvet.jnb.datastructure.Grid;
 import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.GridBody.VoxelType;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
 import io.github.ericmedvet.mrsim2d.core.tasks.balancing.Balancing;
 import io.github.ericmedvet.mrsim2d.core.tasks.jumping.Jumping;
 import io.github.ericmedvet.mrsim2d.core.tasks.locomotion.Locomotion;
@@ -47,9 +50,23 @@ public class Tasks {
       @Param(value = "swingDensity", dD = 0.1) double swingDensity,
       @Param(value = "supportHeight", dD = 1.0) double supportHeight,
       @Param(value = "initialXGap", dD = 0.0) double initialXGap,
-      @Param(value = "initialYGap", dD = 0.1) double initialYGap
+      @Param(value = "initialYGap", dD = 0.1) double initialYGap,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition,
+      @Param(value = "warmStartDuration", dD = 0d) double warmStartDuration
   ) {
-    return new Balancing(swingLength, swingDensity, supportHeight, initialXGap, initialYGap);
+    return new Balancing(
+        swingLength,
+        swingDensity,
+        supportHeight,
+        initialXGap,
+        initialYGap,
+        samplingInterval,
+        streaming,
+        stopCondition,
+        new WarmStart(warmStartDuration)
+    );
   }
 
   @SuppressWarnings("unused")
@@ -62,7 +79,10 @@ public class Tasks {
       @Param(value = "terrain", dNPM = "sim.terrain.flat()") Terrain terrain,
       @Param(value = "terrainAttachableDistance", dD = Double.POSITIVE_INFINITY) double terrainAttachableDistance,
       @Param(value = "yGapRatio", dD = 1d) double yGapRatio,
-      @Param(value = "xGap", dD = 10d) double xGap
+      @Param(value = "xGap", dD = 10d) double xGap,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition
   ) {
 
     return new FallPiling(
@@ -73,16 +93,29 @@ public class Tasks {
         terrain,
         terrainAttachableDistance,
         yGapRatio,
-        xGap
+        xGap,
+        samplingInterval,
+        streaming,
+        stopCondition
     );
   }
 
   @SuppressWarnings("unused")
   public static Jumping jumping(
       @Param(value = "name", dS = "jumping") String name,
-      @Param(value = "initialYGap", dD = 0.1) double initialYGap
+      @Param(value = "initialYGap", dD = 0.1) double initialYGap,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition,
+      @Param(value = "warmStartDuration", dD = 0d) double warmStartDuration
   ) {
-    return new Jumping(initialYGap);
+    return new Jumping(
+        initialYGap,
+        samplingInterval,
+        streaming,
+        stopCondition,
+        new WarmStart(warmStartDuration)
+    );
   }
 
   @SuppressWarnings("unused")
@@ -91,9 +124,22 @@ public class Tasks {
       @Param(value = "terrain", dNPM = "sim.terrain.flat()") Terrain terrain,
       @Param(value = "terrainAttachableDistance", dD = Double.POSITIVE_INFINITY) double terrainAttachableDistance,
       @Param(value = "initialXGap", dD = 1) double initialXGap,
-      @Param(value = "initialYGap", dD = 0.1) double initialYGap
+      @Param(value = "initialYGap", dD = 0.1) double initialYGap,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition,
+      @Param(value = "warmStartDuration", dD = 0d) double warmStartDuration
   ) {
-    return new Locomotion(terrain, terrainAttachableDistance, initialXGap, initialYGap);
+    return new Locomotion(
+        terrain,
+        terrainAttachableDistance,
+        initialXGap,
+        initialYGap,
+        samplingInterval,
+        streaming,
+        stopCondition,
+        new WarmStart(warmStartDuration)
+    );
   }
 
   @SuppressWarnings("unused")
@@ -105,7 +151,10 @@ public class Tasks {
       @Param(value = "initialYGap", dD = 0.1) double initialYGap,
       @Param(value = "xGapRatio", dD = 1) double xGapRatio,
       @Param(value = "yGapRatio", dD = 1) double yGapRatio,
-      @Param(value = "shape") Grid<VoxelType> shape
+      @Param(value = "shape") Grid<VoxelType> shape,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition
   ) {
     return new PrebuiltIndependentLocomotion(
         terrain,
@@ -114,7 +163,10 @@ public class Tasks {
         initialYGap,
         xGapRatio,
         yGapRatio,
-        shape
+        shape,
+        samplingInterval,
+        streaming,
+        stopCondition
     );
   }
 
@@ -126,23 +178,52 @@ public class Tasks {
       @Param(value = "terrain", dNPM = "sim.terrain.flat()") Terrain terrain,
       @Param(value = "terrainAttachableDistance", dD = Double.POSITIVE_INFINITY) double terrainAttachableDistance,
       @Param(value = "firstXGap", dD = 10) double firstXGap,
-      @Param(value = "initialYGap", dD = 0.1) double initialYGap
+      @Param(value = "initialYGap", dD = 0.1) double initialYGap,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition
   ) {
-    return new StandPiling(nOfAgents, xGapRatio, terrain, terrainAttachableDistance, firstXGap, initialYGap);
+    return new StandPiling(
+        nOfAgents,
+        xGapRatio,
+        terrain,
+        terrainAttachableDistance,
+        firstXGap,
+        initialYGap,
+        samplingInterval,
+        streaming,
+        stopCondition
+    );
   }
 
   @SuppressWarnings("unused")
   public static Sumo sumo(
-      @Param(value = "name", dS = "sumo") String name
+      @Param(value = "name", dS = "sumo") String name,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition
   ) {
-    return new Sumo();
+    return new Sumo(
+        Sumo.Configuration.DEFAULT,
+        samplingInterval,
+        streaming,
+        stopCondition
+    );
   }
 
   @SuppressWarnings("unused")
   public static SumoCup sumoCup(
-      @Param(value = "name", dS = "sumoCup") String name
+      @Param(value = "name", dS = "sumoCup") String name,
+      @Param(value = "samplingInterval", dD = 0d) double samplingInterval,
+      @Param(value = "streaming", dNPM = "sim.task.streaming.none()") OutcomeAccumulator.Streaming streaming,
+      @Param(value = "stopCondition", dNPM = "sim.task.stopCondition.never()") StopCondition stopCondition
   ) {
-    return new SumoCup();
+    return new SumoCup(
+        SumoCup.Configuration.DEFAULT,
+        samplingInterval,
+        streaming,
+        stopCondition
+    );
   }
 
 }
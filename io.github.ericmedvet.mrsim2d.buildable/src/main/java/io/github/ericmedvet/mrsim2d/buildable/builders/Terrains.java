@@ -26,6 +26,7 @@ import io.github.ericmedvet.jnb.core.Param;
 import io.github.ericmedvet.mrsim2d.core.geometry.Path;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
+import io.github.ericmedvet.mrsim2d.core.geometry.TerrainBuilder;
 import java.util.List;
 import java.util.Random;
 import java.util.random.RandomGenerator;
@@ -88,15 +89,15 @@ public class Terrains {
       @Param(value = "seed", dI = 1) Integer seed
   ) {
     RandomGenerator random = new Random(seed);
-    Path path = new Path(new Point(chunkW, 0));
+    TerrainBuilder terrainBuilder = new TerrainBuilder(h, borderW, borderH).add(chunkW, 0);
     double dW = 0d;
     while (dW < w) {
       double sW = Math.max(1d, (random.nextGaussian() * 0.25 + 1) * chunkW);
       double sH = random.nextGaussian() * chunkH;
       dW = dW + sW;
-      path = path.moveBy(sW, sH);
+      terrainBuilder.moveBy(sW, sH);
     }
-    return Terrain.fromPath(path, h, borderW, borderH);
+    return terrainBuilder.build();
   }
 
   @SuppressWarnings("unused")
@@ -112,14 +113,11 @@ public class Terrains {
       @Param(value = "borderW", dD = BORDER_W) double borderW,
       @Param(value = "borderH", dD = BORDER_H) double borderH
   ) {
-
-    Path p = new Path(new Point(startW, 0));
+    TerrainBuilder terrainBuilder = new TerrainBuilder(H, borderW, borderH).add(startW, 0);
     for (double holeW : holeWs) {
-      p = p.moveBy(0, -holeH).moveBy(holeW, 0).moveBy(0, holeH).moveBy(holeDisW, 0);
+      terrainBuilder.moveBy(0, -holeH).moveBy(holeW, 0).moveBy(0, holeH).moveBy(holeDisW, 0);
     }
-    p = p.moveBy(endW, 0);
-
-    return Terrain.fromPath(p, H, borderW, borderH);
+    return terrainBuilder.moveBy(endW, 0).build();
   }
 
   @SuppressWarnings("unused")
@@ -135,15 +133,15 @@ public class Terrains {
       @Param(value = "seed", dI = 1) Integer seed
   ) {
     RandomGenerator random = new Random(seed);
-    Path path = new Path(new Point(chunkW, 0));
+    TerrainBuilder terrainBuilder = new TerrainBuilder(h, borderW, borderH).add(chunkW, 0);
     double dW = 0d;
     while (dW < w) {
       double sW = Math.max(1d, (random.nextGaussian() * 0.25 + 1) * chunkW);
       double sH = random.nextGaussian() * chunkH;
       dW = dW + sW;
-      path = path.moveBy(sW, 0).moveBy(0, sH);
+      terrainBuilder.moveBy(sW, 0).moveBy(0, sH);
     }
-    return Terrain.fromPath(path, h, borderW, borderH);
+    return terrainBuilder.build();
   }
 
   @SuppressWarnings("unused")
@@ -157,9 +155,13 @@ public class Terrains {
       @Param(value = "flatW", dD = 20) Double flatW,
       @Param(value = "flatH", dD = 15) Double flatH
   ) {
-    Path p = new Path(new Point(holeW, 0));
-    p = p.moveBy(0, flatH).moveBy(flatW, 0).moveBy(0, -flatH).moveBy(holeW, 0);
-    return Terrain.fromPath(p, h, borderW, borderH);
+    return new TerrainBuilder(h, borderW, borderH)
+        .add(holeW, 0)
+        .moveBy(0, flatH)
+        .moveBy(flatW, 0)
+        .moveBy(0, -flatH)
+        .moveBy(holeW, 0)
+        .build();
   }
 
   @SuppressWarnings("unused")
@@ -0,0 +1,356 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-buildable
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.mrsim2d.buildable.workers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+public class EvaluationCoordinator implements AutoCloseable {
+
+  private static final Logger L = Logger.getLogger(EvaluationCoordinator.class.getName());
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long CLOSING_TIMEOUT_SECONDS = 10;
+  private static final Duration DEFAULT_JOB_TIMEOUT = Duration.ofMinutes(10);
+  private static final Job END = new Job(-1, "", "", new CompletableFuture<>());
+  private final Setup setup;
+  private final List<String> command;
+  private final Duration jobTimeout;
+  private final ScheduledThreadPoolExecutor watchdog;
+  private final BlockingQueue<Job> jobs;
+  private final List<Thread> threads;
+  private final AtomicInteger jobCounter;
+  private boolean closed;
+  private RuntimeException setupFailure;
+
+  public EvaluationCoordinator(int nOfWorkers, Setup setup, List<String> jvmOptions, Duration jobTimeout) {
+    this.setup = setup;
+    this.jobTimeout = jobTimeout;
+    command = command(jvmOptions);
+    // kills workers which do not answer in time
+    watchdog = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().daemon().name("evaluation-watchdog").factory());
+    watchdog.setRemoveOnCancelPolicy(true);
+    jobs = new LinkedBlockingQueue<>();
+    jobCounter = new AtomicInteger(0);
+    // each thread feeds one worker process, taking a new job only when the previous one is done
+    threads = new ArrayList<>(nOfWorkers);
+    for (int i = 0; i < nOfWorkers; i = i + 1) {
+      threads.add(Thread.ofPlatform().daemon().name("evaluation-worker-" + i).start(this::serve));
+    }
+  }
+
+  public EvaluationCoordinator(int nOfWorkers, Setup setup, List<String> jvmOptions) {
+    this(nOfWorkers, setup, jvmOptions, DEFAULT_JOB_TIMEOUT);
+  }
+
+  public EvaluationCoordinator(int nOfWorkers, Setup setup) {
+    this(nOfWorkers, setup, List.of());
+  }
+
+  public record Setup(String task, double duration, String agent, List<String> metrics) {}
+
+  private record Job(int id, String type, String payload, CompletableFuture<List<Double>> future) {}
+
+  private static class SetupException extends IllegalArgumentException {
+    private SetupException(String message) {
+      super(message);
+    }
+  }
+
+  private class Worker {
+    private final Process process;
+    private final BufferedReader reader;
+    private final PrintWriter writer;
+
+    private Worker() throws IOException, TimeoutException {
+      process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+      reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+      writer = new PrintWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8), true);
+      List<String> pieces = new ArrayList<>();
+      pieces.add(EvaluationWorker.SETUP);
+      pieces.add(EvaluationWorker.flatten(setup.task()));
+      pieces.add(Double.toString(setup.duration()));
+      pieces.add(EvaluationWorker.flatten(setup.agent()));
+      setup.metrics().forEach(m -> pieces.add(EvaluationWorker.flatten(m)));
+      writer.println(String.join(EvaluationWorker.SEPARATOR, pieces));
+      // the setup includes one evaluation, hence it has the time of a job
+      String line = readLine("setup");
+      if (line != null && line.startsWith(EvaluationWorker.ERROR + EvaluationWorker.SEPARATOR)) {
+        // the setup is the same for all the workers, hence it would fail on any other worker
+        process.destroyForcibly();
+        String[] errorPieces = line.split(EvaluationWorker.SEPARATOR, 3);
+        throw new SetupException("Worker setup failed: %s".formatted(errorPieces.length > 2 ? errorPieces[2] : ""));
+      }
+      if (!EvaluationWorker.READY.equals(line)) {
+        process.destroyForcibly();
+        throw new IOException("Worker did not start: %s".formatted(line));
+      }
+    }
+
+    private void close() {
+      writer.close();
+      try {
+        if (!process.waitFor(CLOSING_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (InterruptedException e) {
+        process.destroyForcibly();
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private List<Double> evaluate(Job job) throws IOException, TimeoutException {
+      writer.println(String.join(EvaluationWorker.SEPARATOR, job.type(), Integer.toString(job.id()), job.payload()));
+      String line = readLine("job %d".formatted(job.id()));
+      if (line == null) {
+        throw new IOException("Worker exited while evaluating job %d".formatted(job.id()));
+      }
+      String[] pieces = line.split(EvaluationWorker.SEPARATOR, -1);
+      if (pieces.length < 2 || !pieces[1].equals(Integer.toString(job.id()))) {
+        throw new IOException("Unexpected message from worker: %s".formatted(line));
+      }
+      if (pieces[0].equals(EvaluationWorker.ERROR)) {
+        throw new IllegalArgumentException(
+            "Job %d failed: %s".formatted(job.id(), pieces.length > 2 ? pieces[2] : "")
+        );
+      }
+      return Arrays.stream(pieces).skip(2).map(Double::parseDouble).toList();
+    }
+
+    private String readLine(String subject) throws IOException, TimeoutException {
+      // a worker stuck on a job is killed, which ends the reading
+      AtomicBoolean timedOut = new AtomicBoolean(false);
+      ScheduledFuture<?> kill = watchdog.schedule(
+          () -> {
+            timedOut.set(true);
+            process.destroyForcibly();
+          },
+          jobTimeout.toMillis(),
+          TimeUnit.MILLISECONDS
+      );
+      String line;
+      try {
+        line = reader.readLine();
+      } catch (IOException e) {
+        if (!timedOut.get()) {
+          throw e;
+        }
+        line = null;
+      } finally {
+        kill.cancel(false);
+      }
+      if (timedOut.get()) {
+        throw new TimeoutException("Worker did not answer on %s within %s".formatted(subject, jobTimeout));
+      }
+      return line;
+    }
+  }
+
+  private static List<String> command(List<String> jvmOptions) {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmOptions);
+    // workers are started with the same class or module path of this process
+    Module module = EvaluationWorker.class.getModule();
+    String modulePath = System.getProperty("jdk.module.path");
+    if (module.isNamed() && modulePath != null) {
+      command.add("--module-path");
+      command.add(modulePath);
+      command.add("--module");
+      command.add(module.getName() + "/" + EvaluationWorker.class.getName());
+    } else {
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add(EvaluationWorker.class.getName());
+    }
+    return command;
+  }
+
+  private static List<List<Double>> collect(List<CompletableFuture<List<Double>>> futures) {
+    List<List<Double>> results = new ArrayList<>(futures.size());
+    for (int i = 0; i < futures.size(); i = i + 1) {
+      try {
+        results.add(futures.get(i).get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for evaluations", e);
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Evaluation %d failed".formatted(i), e.getCause());
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    // queued jobs are evaluated before workers are closed
+    threads.forEach(t -> jobs.add(END));
+    for (Thread thread : threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while closing workers", e);
+      }
+    }
+    watchdog.shutdownNow();
+  }
+
+  public List<List<Double>> evaluateAgents(List<String> agentDescriptions) {
+    return collect(agentDescriptions.stream().map(this::submitAgent).toList());
+  }
+
+  public List<List<Double>> evaluateParams(List<double[]> paramsList) {
+    return collect(paramsList.stream().map(this::submitParams).toList());
+  }
+
+  private void failPendingJobs(RuntimeException failure) {
+    synchronized (this) {
+      setupFailure = failure;
+    }
+    List<Job> pendingJobs = new ArrayList<>();
+    jobs.drainTo(pendingJobs);
+    for (Job pendingJob : pendingJobs) {
+      if (pendingJob == END) {
+        // the other threads still have to end
+        jobs.add(END);
+      } else {
+        pendingJob.future().completeExceptionally(failure);
+      }
+    }
+  }
+
+  private void serve() {
+    Worker worker = null;
+    while (true) {
+      Job job;
+      try {
+        job = jobs.take();
+      } catch (InterruptedException e) {
+        break;
+      }
+      if (job == END) {
+        break;
+      }
+      for (int attempt = 1; !job.future().isDone(); attempt = attempt + 1) {
+        RuntimeException failure = setupFailure();
+        if (failure != null) {
+          job.future().completeExceptionally(failure);
+          break;
+        }
+        try {
+          if (worker == null) {
+            worker = new Worker();
+          }
+          job.future().complete(worker.evaluate(job));
+        } catch (SetupException e) {
+          // no worker is started again: this and all the pending jobs fail
+          failPendingJobs(e);
+          job.future().completeExceptionally(e);
+        } catch (TimeoutException e) {
+          // the killed worker is replaced for the next jobs, but this job is not tried again
+          L.warning("Worker timed out on job %d: %s".formatted(job.id(), e));
+          if (worker != null) {
+            worker.process.destroyForcibly();
+            worker = null;
+          }
+          job.future().completeExceptionally(new IllegalStateException("Job %d timed out".formatted(job.id()), e));
+        } catch (IOException e) {
+          // the worker crashed or did not start: it is restarted and the job is tried again
+          L.warning("Worker failed on job %d, attempt %d: %s".formatted(job.id(), attempt, e));
+          if (worker != null) {
+            worker.process.destroyForcibly();
+            worker = null;
+          }
+          if (attempt >= MAX_ATTEMPTS) {
+            job.future()
+                .completeExceptionally(
+                    new IllegalStateException(
+                        "Job %d failed after %d attempts".formatted(job.id(), attempt),
+                        e
+                    )
+                );
+          }
+        } catch (RuntimeException e) {
+          job.future().completeExceptionally(e);
+        }
+      }
+    }
+    if (worker != null) {
+      worker.close();
+    }
+  }
+
+  private synchronized RuntimeException setupFailure() {
+    return setupFailure;
+  }
+
+  private CompletableFuture<List<Double>> submit(String type, String payload) {
+    CompletableFuture<List<Double>> future = new CompletableFuture<>();
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Coordinator is closed");
+      }
+      if (setupFailure != null) {
+        future.completeExceptionally(setupFailure);
+        return future;
+      }
+      jobs.add(new Job(jobCounter.getAndIncrement(), type, payload, future));
+    }
+    return future;
+  }
+
+  public CompletableFuture<List<Double>> submitAgent(String agentDescription) {
+    return submit(EvaluationWorker.AGENT, EvaluationWorker.flatten(agentDescription));
+  }
+
+  public CompletableFuture<List<Double>> submitParams(double[] params) {
+    return submit(
+        EvaluationWorker.PARAMS,
+        Arrays.stream(params).mapToObj(Double::toString).collect(Collectors.joining(","))
+    );
+  }
+}
@@ -0,0 +1,182 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-buildable
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.mrsim2d.buildable.workers;
+
+import io.github.ericmedvet.jnb.core.NamedBuilder;
+import io.github.ericmedvet.jnb.datastructure.Composed;
+import io.github.ericmedvet.jnb.datastructure.NumericalParametrized;
+import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.NumMultiBrained;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.EvaluationService;
+import io.github.ericmedvet.mrsim2d.core.tasks.Task;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class EvaluationWorker {
+
+  static final String SEPARATOR = "\t";
+  static final String SETUP = "SETUP";
+  static final String AGENT = "AGENT";
+  static final String PARAMS = "PARAMS";
+  static final String READY = "READY";
+  static final String OK = "OK";
+  static final String ERROR = "ERROR";
+
+  private EvaluationWorker() {
+  }
+
+  static String flatten(String s) {
+    return s.replaceAll("[\\t\\r\\n]+", " ");
+  }
+
+  static EmbodiedAgent parametrize(EmbodiedAgent agent, double[] params) {
+    if (!(agent instanceof NumMultiBrained numMultiBrained)) {
+      throw new IllegalArgumentException(
+          "Cannot set parameters of agent %s without brains".formatted(agent.getClass().getSimpleName())
+      );
+    }
+    // parameters are split among the brains, in order
+    int from = 0;
+    for (NumericalDynamicalSystem<?> brain : numMultiBrained.brains()) {
+      Optional<?> parametrized = Composed.shallowest(brain, NumericalParametrized.class);
+      if (parametrized.isPresent()) {
+        NumericalParametrized<?> np = (NumericalParametrized<?>) parametrized.get();
+        int n = np.getParams().length;
+        if (from + n > params.length) {
+          throw new IllegalArgumentException(
+              "Wrong number of parameters: more than %d expected, %d found".formatted(from + n - 1, params.length)
+          );
+        }
+        np.setParams(Arrays.copyOfRange(params, from, from + n));
+        from = from + n;
+      }
+    }
+    if (from != params.length) {
+      throw new IllegalArgumentException(
+          "Wrong number of parameters: %d expected, %d found".formatted(from, params.length)
+      );
+    }
+    return agent;
+  }
+
+  private static <S extends AgentsObservation, O extends AgentsOutcome<S>> O run(
+      EvaluationService service,
+      Task<Supplier<EmbodiedAgent>, S, O> task,
+      Supplier<EmbodiedAgent> agentSupplier,
+      double duration
+  ) {
+    return service.evaluate(List.of(new EvaluationService.Job<>(task, agentSupplier, duration)))
+        .getFirst()
+        .outcome();
+  }
+
+  @SuppressWarnings("unchecked")
+  public static void main(String[] args) throws IOException {
+    // the standard output is reserved to the protocol: anything else printed there goes to the standard error
+    PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.UTF_8);
+    System.setOut(System.err);
+    BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    // read setup
+    String line = in.readLine();
+    if (line == null) {
+      return;
+    }
+    NamedBuilder<Object> nb = NamedBuilder.fromDiscovery();
+    Task<Supplier<EmbodiedAgent>, ?, ?> task;
+    double duration;
+    String agentDescription;
+    List<Function<Object, Double>> metrics = new ArrayList<>();
+    try {
+      String[] pieces = line.split(SEPARATOR, -1);
+      if (pieces.length < 4 || !pieces[0].equals(SETUP)) {
+        throw new IllegalArgumentException("Unexpected setup message: %s".formatted(line));
+      }
+      task = (Task<Supplier<EmbodiedAgent>, ?, ?>) nb.build(pieces[1]);
+      duration = Double.parseDouble(pieces[2]);
+      agentDescription = pieces[3];
+      for (int i = 4; i < pieces.length; i = i + 1) {
+        metrics.add((Function<Object, Double>) nb.build(pieces[i]));
+      }
+    } catch (RuntimeException e) {
+      out.println(String.join(SEPARATOR, ERROR, "-", flatten(e.toString())));
+      System.exit(1);
+      return;
+    }
+    try (EvaluationService service = new EvaluationService(1)) {
+      // metrics are checked once on the task outcome, e.g., for transient times or keys not streamed by the task
+      if (!agentDescription.isBlank()) {
+        try {
+          AgentsOutcome<?> outcome = run(service, task, () -> (EmbodiedAgent) nb.build(agentDescription), duration);
+          metrics.forEach(m -> m.apply(outcome));
+        } catch (RuntimeException e) {
+          Throwable cause = e.getCause() == null ? e : e.getCause();
+          out.println(String.join(SEPARATOR, ERROR, "-", flatten(cause.toString())));
+          System.exit(1);
+          return;
+        }
+      }
+      out.println(READY);
+      // evaluate agents
+      while ((line = in.readLine()) != null) {
+        String[] pieces = line.split(SEPARATOR, 3);
+        String id = pieces.length > 1 ? pieces[1] : "-";
+        try {
+          if (pieces.length < 3) {
+            throw new IllegalArgumentException("Unexpected message: %s".formatted(line));
+          }
+          Supplier<EmbodiedAgent> agentSupplier = switch (pieces[0]) {
+            case AGENT -> () -> (EmbodiedAgent) nb.build(pieces[2]);
+            case PARAMS -> {
+              double[] params = pieces[2].isEmpty() ? new double[0] : Arrays.stream(pieces[2].split(","))
+                  .mapToDouble(Double::parseDouble)
+                  .toArray();
+              yield () -> parametrize((EmbodiedAgent) nb.build(agentDescription), params);
+            }
+            default -> throw new IllegalArgumentException("Unknown message type: %s".formatted(pieces[0]));
+          };
+          AgentsOutcome<?> outcome = run(service, task, agentSupplier, duration);
+          out.println(
+              OK + SEPARATOR + id + metrics.stream()
+                  .map(m -> SEPARATOR + m.apply(outcome))
+                  .collect(Collectors.joining())
+          );
+        } catch (RuntimeException e) {
+          Throwable cause = e.getCause() == null ? e : e.getCause();
+          out.println(String.join(SEPARATOR, ERROR, id, flatten(cause.toString())));
+        }
+      }
+    }
+  }
+}
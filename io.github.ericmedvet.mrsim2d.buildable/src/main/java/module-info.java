@@ -31,9 +31,11 @@ module io.github.ericmedvet.mrsim2d.buildable {
   requires io.github.ericmedvet.jnb.datastructure;
   requires io.github.ericmedvet.mrsim2d.engine.dyn4j;
   requires java.desktop;
+  requires java.logging;
   requires io.github.ericmedvet.jviz.core;
 
   opens io.github.ericmedvet.mrsim2d.buildable.builders to io.github.ericmedvet.jnb.core;
 
   exports io.github.ericmedvet.mrsim2d.buildable.builders;
+  exports io.github.ericmedvet.mrsim2d.buildable.workers;
 }
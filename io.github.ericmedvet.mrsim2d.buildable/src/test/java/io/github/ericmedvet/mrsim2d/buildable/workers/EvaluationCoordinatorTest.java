@@ -0,0 +1,147 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-buildable
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.buildable.workers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.ericmedvet.jnb.core.NamedBuilder;
+import io.github.ericmedvet.jnb.datastructure.Composed;
+import io.github.ericmedvet.jnb.datastructure.NumericalParametrized;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.NumMultiBrained;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.Task;
+import io.github.ericmedvet.mrsim2d.engine.dyn4j.Dyn4JEngine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class EvaluationCoordinatorTest {
+
+  private static final String TASK = "s.task.locomotion(warmStartDuration = 1)";
+  private static final double DURATION = 3d;
+  private static final String AGENT = """
+      s.a.centralizedNumGridVSR(
+        body = s.a.vsr.gridBody(
+          shape = s.a.vsr.s.worm(w = 4; h = 2);
+          sensorizingFunction = s.a.vsr.sf.uniform(sensors = [s.s.a(); s.s.ar()])
+        );
+        function = ds.num.mlp()
+      )""";
+  private static final List<String> METRICS = List.of(
+      "s.f.o.faXVelocity(transientTime = 0)",
+      "s.f.o.faAvgY(transientTime = 0)"
+  );
+
+  private static double[] params(NamedBuilder<Object> nb, long seed) {
+    int n = ((NumMultiBrained) nb.build(AGENT)).brains()
+        .stream()
+        .map(b -> Composed.shallowest(b, NumericalParametrized.class).orElseThrow())
+        .mapToInt(np -> ((NumericalParametrized<?>) np).getParams().length)
+        .sum();
+    Random random = new Random(seed);
+    double[] params = new double[n];
+    for (int i = 0; i < n; i = i + 1) {
+      params[i] = random.nextGaussian();
+    }
+    return params;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Double> evaluateOnFreshEngine(NamedBuilder<Object> nb, double[] params) {
+    Task<Supplier<EmbodiedAgent>, ?, ?> task = (Task<Supplier<EmbodiedAgent>, ?, ?>) nb.build(TASK);
+    AgentsOutcome<?> outcome = task.run(
+        () -> EvaluationWorker.parametrize((EmbodiedAgent) nb.build(AGENT), params),
+        DURATION,
+        new Dyn4JEngine()
+    );
+    return METRICS.stream()
+        .map(m -> ((Function<Object, Double>) nb.build(m)).apply(outcome))
+        .toList();
+  }
+
+  @Test
+  void failedSetupFailsAllJobsWithoutRestartingWorkers() {
+    // the metric needs a transient time which is not streamed by the task, hence the setup fails on any worker
+    NamedBuilder<Object> nb = NamedBuilder.fromDiscovery();
+    EvaluationCoordinator.Setup setup = new EvaluationCoordinator.Setup(
+        "s.task.locomotion(warmStartDuration = 1; streaming = s.task.streaming.keys(transientTimes = [0]))",
+        DURATION,
+        AGENT,
+        List.of("s.f.o.faXVelocity(transientTime = 1)")
+    );
+    try (EvaluationCoordinator coordinator = new EvaluationCoordinator(2, setup)) {
+      List<CompletableFuture<List<Double>>> futures = List.of(
+          coordinator.submitParams(params(nb, 1)),
+          coordinator.submitParams(params(nb, 2)),
+          coordinator.submitParams(params(nb, 3))
+      );
+      for (CompletableFuture<List<Double>> future : futures) {
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+      }
+      // later jobs fail at once
+      assertTrue(coordinator.submitParams(params(nb, 4)).isCompletedExceptionally());
+    }
+  }
+
+  @Test
+  void jobTakingTooLongFailsAndItsWorkerIsReplaced() {
+    // no agent to check at setup, hence only the jobs take long
+    EvaluationCoordinator.Setup setup = new EvaluationCoordinator.Setup(TASK, 1000d, "", METRICS);
+    try (EvaluationCoordinator coordinator = new EvaluationCoordinator(1, setup, List.of(), Duration.ofSeconds(5))) {
+      List<CompletableFuture<List<Double>>> futures = List.of(
+          coordinator.submitAgent(AGENT),
+          coordinator.submitAgent(AGENT)
+      );
+      for (CompletableFuture<List<Double>> future : futures) {
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause().getCause() instanceof TimeoutException);
+      }
+    }
+  }
+
+  @Test
+  void workerGivesSameValuesOfFreshEnginesForJobsOfSameMorphology() {
+    // same morphology, different controllers: the worker reuses its engine and warm-start prefix across the jobs
+    NamedBuilder<Object> nb = NamedBuilder.fromDiscovery();
+    List<double[]> paramsList = List.of(params(nb, 1), params(nb, 2));
+    List<List<Double>> expectedValues = paramsList.stream().map(p -> evaluateOnFreshEngine(nb, p)).toList();
+    List<List<Double>> actualValues;
+    try (EvaluationCoordinator coordinator = new EvaluationCoordinator(
+        1,
+        new EvaluationCoordinator.Setup(TASK, DURATION, AGENT, METRICS)
+    )) {
+      actualValues = coordinator.evaluateParams(paramsList);
+    }
+    assertNotEquals(expectedValues.get(0), expectedValues.get(1));
+    assertEquals(expectedValues, actualValues);
+  }
+}
@@ -0,0 +1,36 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.actions.Sense;
+import io.github.ericmedvet.mrsim2d.core.actions.XMirrorableSense;
+
+public record BoundSensor(
+    Sense<?> sense, double[] values, int index, DoubleRange valuesRange, boolean outcomeMirrored
+) {
+  public void read(Sense<?> performedSense, double outcome) {
+    if (outcomeMirrored && performedSense instanceof XMirrorableSense<?> xMirrorableSense) {
+      outcome = xMirrorableSense.outcomeMirrorer().applyAsDouble(outcome);
+    }
+    values[index] = valuesRange.denormalize(performedSense.range().normalize(outcome));
+  }
+}
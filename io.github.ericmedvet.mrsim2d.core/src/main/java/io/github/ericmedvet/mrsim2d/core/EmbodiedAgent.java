@@ -26,6 +26,7 @@ import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Shape;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public interface EmbodiedAgent extends Agent, Shape {
   void assemble(ActionPerformer actionPerformer) throws ActionException;
@@ -34,10 +35,23 @@ public interface EmbodiedAgent extends Agent, Shape {
 
   @Override
   default BoundingBox boundingBox() {
-    return bodyParts().stream()
-        .map(b -> b.poly().boundingBox())
-        .reduce(BoundingBox::enclosing)
-        .orElseThrow();
+    List<Body> bodyParts = bodyParts();
+    if (bodyParts.isEmpty()) {
+      throw new NoSuchElementException("No body parts");
+    }
+    double minX = Double.POSITIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY;
+    double maxY = Double.NEGATIVE_INFINITY;
+    for (Body body : bodyParts) {
+      for (Point p : body.poly().vertexes()) {
+        minX = Math.min(minX, p.x());
+        minY = Math.min(minY, p.y());
+        maxX = Math.max(maxX, p.x());
+        maxY = Math.max(maxY, p.y());
+      }
+    }
+    return new BoundingBox(new Point(minX, minY), new Point(maxX, maxY));
   }
 
   @Override
@@ -21,12 +21,15 @@
 package io.github.ericmedvet.mrsim2d.core;
 
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
 import java.util.Collection;
 import java.util.Map;
 
 public interface Snapshot {
   Collection<ActionOutcome<?, ?>> actionOutcomes();
 
+  Map<Agent, BoundingBox> agentBoundingBoxes();
+
   Map<Agent, Map<EnergyConsumingAction.Type, Double>> agentEnergyConsumptions();
 
   Collection<Body> bodies();
@@ -25,8 +25,12 @@ import io.github.ericmedvet.mrsim2d.core.Agent;
 import io.github.ericmedvet.mrsim2d.core.SelfDescribedAction;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.util.NearestNeighborIndex;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
 
 public record AttachClosestAnchors(
     int nOfAnchors, Anchorable sourceAnchorable, Anchorable targetAnchorable, Anchor.Link.Type type
@@ -38,33 +42,23 @@ public record AttachClosestAnchors(
     Collection<Anchor> attached = sourceAnchorable().attachedTo(targetAnchorable());
     // possibly attach new anchors
     if (attached.size() < nOfAnchors) {
-      record AnchorPair(Anchor src, Anchor dst) {}
-      sourceAnchorable().anchors()
-          .stream()
-          .filter(a -> !attached.contains(a)) // remove already attached anchors
-          .map(
-              a -> new AnchorPair(
-                  a,
-                  targetAnchorable().anchors()
-                      .stream()
-                      .min(
-                          Comparator.comparingDouble(
-                              oa -> oa.point().distance(a.point())
-                          )
-                      )
-                      .orElseThrow(
-                          () -> new IllegalArgumentException(
-                              "Target anchorable has no anchors"
-                          )
-                      )
-              )
-          ) // find closest dst
-          // anchor
-          .sorted(
-              Comparator.comparingDouble(
-                  p -> p.src().point().distance(p.dst().point())
-              )
-          )
+      record AnchorPair(Anchor src, Anchor dst, double distance) {}
+      NearestNeighborIndex<Anchor> dstIndex = new NearestNeighborIndex<>(targetAnchorable().anchors(), Anchor::point);
+      List<AnchorPair> pairs = new ArrayList<>();
+      for (Anchor src : sourceAnchorable().anchors()) {
+        if (attached.contains(src)) { // skip already attached anchors
+          continue;
+        }
+        // find closest dst anchor
+        Point srcPoint = src.point();
+        int closest = dstIndex.nearest(srcPoint);
+        if (closest < 0) {
+          throw new IllegalArgumentException("Target anchorable has no anchors");
+        }
+        pairs.add(new AnchorPair(src, dstIndex.get(closest), dstIndex.distance(closest, srcPoint)));
+      }
+      pairs.sort(Comparator.comparingDouble(AnchorPair::distance));
+      pairs.stream()
           .limit(nOfAnchors - attached.size())
           .forEach(p -> performer.perform(new CreateLink(p.src(), p.dst(), type), agent));
     }
@@ -27,6 +27,7 @@ import io.github.ericmedvet.mrsim2d.core.EnergyConsumingAction;
 import io.github.ericmedvet.mrsim2d.core.SelfDescribedAction;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
+import io.github.ericmedvet.mrsim2d.core.util.NearestNeighborIndex;
 import java.util.*;
 
 public record AttractAnchorable(
@@ -46,16 +47,15 @@ public record AttractAnchorable(
         )
         .toList();
     // match anchor pairs
-    Collection<Anchor> dstAnchors = new LinkedHashSet<>(anchorable.anchors());
+    NearestNeighborIndex<Anchor> dstIndex = new NearestNeighborIndex<>(new LinkedHashSet<>(anchorable.anchors()), Anchor::point);
     Collection<Pair<Anchor, Anchor>> pairs = new ArrayList<>();
-    srcAnchors.forEach(src -> {
-      Optional<Anchor> closest = dstAnchors.stream()
-          .min(Comparator.comparingDouble(a -> a.point().distance(src.point())));
-      if (closest.isPresent()) {
-        pairs.add(new Pair<>(src, closest.get()));
-        dstAnchors.remove(closest.get());
+    for (Anchor src : srcAnchors) {
+      int closest = dstIndex.nearest(src.point());
+      if (closest >= 0) {
+        pairs.add(new Pair<>(src, dstIndex.get(closest)));
+        dstIndex.remove(closest);
       }
-    });
+    }
     // attract
     pairs.forEach(p -> performer.perform(new AttractAnchor(p.first(), p.second(), magnitude)));
     return pairs;
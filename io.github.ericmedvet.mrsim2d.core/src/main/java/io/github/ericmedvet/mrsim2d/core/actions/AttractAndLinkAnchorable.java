@@ -27,6 +27,7 @@ import io.github.ericmedvet.mrsim2d.core.EnergyConsumingAction;
 import io.github.ericmedvet.mrsim2d.core.SelfDescribedAction;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
+import io.github.ericmedvet.mrsim2d.core.util.NearestNeighborIndex;
 import java.util.*;
 
 public record AttractAndLinkAnchorable(
@@ -47,16 +48,15 @@ public record AttractAndLinkAnchorable(
         )
         .toList();
     // match anchor pairs
-    Collection<Anchor> dstAnchors = new LinkedList<>(anchorable.anchors());
+    NearestNeighborIndex<Anchor> dstIndex = new NearestNeighborIndex<>(anchorable.anchors(), Anchor::point);
     Collection<Pair<Anchor, Anchor>> pairs = new ArrayList<>();
-    srcAnchors.forEach(
-        src -> dstAnchors.stream()
-            .min(Comparator.comparingDouble(a -> a.point().distance(src.point())))
-            .ifPresent(dstAnchor -> {
-              pairs.add(new Pair<>(src, dstAnchor));
-              dstAnchors.remove(dstAnchor);
-            })
-    );
+    for (Anchor src : srcAnchors) {
+      int closest = dstIndex.nearest(src.point());
+      if (closest >= 0) {
+        pairs.add(new Pair<>(src, dstIndex.get(closest)));
+        dstIndex.remove(closest);
+      }
+    }
     // attract and link
     Map<Pair<Anchor, Anchor>, AttractAndLinkAnchor.Outcome> map = new LinkedHashMap<>();
     for (Pair<Anchor, Anchor> pair : pairs) {
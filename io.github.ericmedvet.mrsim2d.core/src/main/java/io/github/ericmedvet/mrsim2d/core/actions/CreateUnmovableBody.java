@@ -23,9 +23,25 @@ package io.github.ericmedvet.mrsim2d.core.actions;
 import io.github.ericmedvet.mrsim2d.core.Action;
 import io.github.ericmedvet.mrsim2d.core.bodies.UnmovableBody;
 import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
+import java.util.List;
+
+public record CreateUnmovableBody(
+    Poly poly, double anchorsDensity, List<Poly> convexParts
+) implements Action<UnmovableBody> {
+  public CreateUnmovableBody(Poly poly, double anchorsDensity) {
+    this(poly, anchorsDensity, List.of());
+  }
 
-public record CreateUnmovableBody(Poly poly, double anchorsDensity) implements Action<UnmovableBody> {
   public CreateUnmovableBody(Poly poly) {
     this(poly, Double.POSITIVE_INFINITY);
   }
+
+  public CreateUnmovableBody(Terrain terrain, double anchorsDensity) {
+    this(terrain.poly(), anchorsDensity, terrain.convexParts());
+  }
+
+  public CreateUnmovableBody(Terrain terrain) {
+    this(terrain, Double.POSITIVE_INFINITY);
+  }
 }
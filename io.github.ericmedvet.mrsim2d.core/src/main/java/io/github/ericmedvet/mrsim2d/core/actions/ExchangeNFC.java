@@ -0,0 +1,49 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.actions;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.EnergyConsumingAction;
+import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
+import java.util.Map;
+
+public record ExchangeNFC(Voxel body, double[] values) implements EnergyConsumingAction<double[]> {
+  public ExchangeNFC {
+    if (values.length % Voxel.Side.values().length != 0) {
+      throw new IllegalArgumentException(
+          "Wrong number of values: %d is not a multiple of %d".formatted(values.length, Voxel.Side.values().length)
+      );
+    }
+  }
+
+  public int nOfChannels() {
+    return values.length / Voxel.Side.values().length;
+  }
+
+  public DoubleRange range() {
+    return DoubleRange.SYMMETRIC_UNIT;
+  }
+
+  @Override
+  public Map<Type, Double> energy(double[] outcome) {
+    return Map.of(Type.COMMUNICATION, values.length * EmitNFCMessage.NFC_ENERGY);
+  }
+}
@@ -28,7 +28,8 @@ import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
 import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
 import java.util.Collection;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.DoubleUnaryOperator;
 
 public record SenseSideAttachment(
@@ -43,17 +44,13 @@ public record SenseSideAttachment(
       return 0d;
     }
     // find "most attached" other body
-    List<Anchorable> anchorables = anchors.stream()
-        .map(Anchor::attachedAnchorables)
-        .flatMap(Collection::stream)
-        .toList();
-    if (anchorables.isEmpty()) {
-      return 0d;
+    Map<Anchorable, Integer> counts = new HashMap<>();
+    for (Anchor anchor : anchors) {
+      for (Anchorable anchorable : anchor.attachedAnchorables()) {
+        counts.merge(anchorable, 1, Integer::sum);
+      }
     }
-    long maxAttachedAnchorsOfSameBody = anchorables.stream()
-        .mapToLong(b -> anchors.stream().filter(a -> a.isAnchoredTo(b)).count())
-        .max()
-        .orElse(0);
+    long maxAttachedAnchorsOfSameBody = counts.values().stream().mapToLong(n -> n).max().orElse(0);
     // return
     return (double) maxAttachedAnchorsOfSameBody / (double) anchors.size();
   }
@@ -22,7 +22,7 @@ package io.github.ericmedvet.mrsim2d.core.agents.gridvsr;
 
 import io.github.ericmedvet.jnb.datastructure.Grid;
 import io.github.ericmedvet.mrsim2d.core.ActionPerformer;
-import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.Blueprintable;
 import io.github.ericmedvet.mrsim2d.core.XMirrorable;
 import io.github.ericmedvet.mrsim2d.core.actions.AttachClosestAnchors;
 import io.github.ericmedvet.mrsim2d.core.actions.CreateRigidBody;
@@ -37,7 +37,7 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
 import java.util.List;
 import java.util.Objects;
 
-public abstract class AbstractGridVSR implements EmbodiedAgent, XMirrorable {
+public abstract class AbstractGridVSR implements Blueprintable, XMirrorable {
 
   protected static final double VOXEL_SIDE_LENGTH = 1d;
   protected static final double VOXEL_MASS = 1d;
@@ -128,6 +128,26 @@ public abstract class AbstractGridVSR implements EmbodiedAgent, XMirrorable {
     }
   }
 
+  @Override
+  public void bindBodies(List<Body> bodies) {
+    // bodies come in the same order they are created by assemble()
+    int i = 0;
+    for (Grid.Entry<GridBody.Element> e : elementGrid.entries()) {
+      if (!e.value().type().equals(GridBody.VoxelType.NONE)) {
+        bodyGrid.set(e.key(), (Anchorable) bodies.get(i));
+        i = i + 1;
+      }
+    }
+  }
+
+  @Override
+  public Morphology morphology() {
+    return new Morphology(
+        getClass(),
+        List.of(elementGrid.w(), elementGrid.h(), elementGrid.entries(), voxelSideLength, voxelMass, xMirrored)
+    );
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   @Override
   public List<Body> bodyParts() {
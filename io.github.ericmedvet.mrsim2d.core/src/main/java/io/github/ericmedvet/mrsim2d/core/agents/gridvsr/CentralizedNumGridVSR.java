@@ -22,15 +22,16 @@ package io.github.ericmedvet.mrsim2d.core.agents.gridvsr;
 
 import io.github.ericmedvet.jnb.datastructure.Grid;
 import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
-import io.github.ericmedvet.mrsim2d.core.NumBrained;
-import io.github.ericmedvet.mrsim2d.core.util.Utils;
-import java.util.Objects;
+import io.github.ericmedvet.mrsim2d.core.LockstepNumBrained;
+import java.util.Arrays;
 
-public class CentralizedNumGridVSR extends NumGridVSR implements NumBrained {
+public class CentralizedNumGridVSR extends NumGridVSR implements LockstepNumBrained {
 
   private final NumericalDynamicalSystem<?> numericalDynamicalSystem;
+  private final Grid.Key[] keys;
+  private final double[] inputs;
+  private final Grid<double[]> outputsGrid;
 
-  private double[] inputs;
   private double[] outputs;
 
   public CentralizedNumGridVSR(
@@ -42,6 +43,17 @@ public class CentralizedNumGridVSR extends NumGridVSR implements NumBrained {
     super(body, voxelSideLength, voxelMass);
     numericalDynamicalSystem.checkDimension(nOfInputs(body), nOfOutputs(body));
     this.numericalDynamicalSystem = numericalDynamicalSystem;
+    keys = body.grid()
+        .entries()
+        .stream()
+        .filter(e -> !e.value().element().type().equals(GridBody.VoxelType.NONE))
+        .map(Grid.Entry::key)
+        .toArray(Grid.Key[]::new);
+    inputs = new double[nOfInputs(body)];
+    outputsGrid = Grid.create(body.grid().w(), body.grid().h(), new double[4]);
+    for (Grid.Key key : keys) {
+      outputsGrid.set(key, new double[4]);
+    }
   }
 
   public CentralizedNumGridVSR(GridBody body, NumericalDynamicalSystem<?> numericalDynamicalSystem) {
@@ -70,32 +82,46 @@ public class CentralizedNumGridVSR extends NumGridVSR implements NumBrained {
     return new BrainIO(new RangedValues(inputs, INPUT_RANGE), new RangedValues(outputs, OUTPUT_RANGE));
   }
 
+  @Override
+  public double[] nextBrainInputs() {
+    double[] nextInputs = new double[inputs.length];
+    flatten(nextInputsGrid(), nextInputs);
+    return nextInputs;
+  }
+
   @Override
   protected Grid<double[]> computeActuationValues(double t, Grid<double[]> inputsGrid) {
-    // build inputs
-    inputs = Utils.concat(
-        inputsGrid.values().stream().filter(Objects::nonNull).toList()
-    );
-    if (inputs.length != numericalDynamicalSystem.nOfInputs()) {
+    flatten(inputsGrid, inputs);
+    // compute outputs
+    outputs = numericalDynamicalSystem.step(t, inputs);
+    // split outputs
+    for (int i = 0; i < keys.length; i = i + 1) {
+      Arrays.fill(outputsGrid.get(keys[i]), outputs[i]);
+    }
+    return outputsGrid;
+  }
+
+  private void flatten(Grid<double[]> inputsGrid, double[] inputs) {
+    // check inputs
+    int nOfInputs = 0;
+    for (Grid.Key key : keys) {
+      nOfInputs = nOfInputs + inputsGrid.get(key).length;
+    }
+    if (nOfInputs != inputs.length) {
       throw new IllegalArgumentException(
           String.format(
               "Wrong number of inputs: %d expected, %d found",
-              numericalDynamicalSystem.nOfInputs(),
-              inputs.length
+              inputs.length,
+              nOfInputs
           )
       );
     }
-    // compute outputs
-    outputs = numericalDynamicalSystem.step(t, inputs);
-    // split outputs
-    Grid<double[]> outputsGrid = Grid.create(inputsGrid.w(), inputsGrid.h(), new double[4]);
+    // build inputs
     int c = 0;
-    for (Grid.Entry<double[]> e : inputsGrid) {
-      if (e.value() != null) {
-        outputsGrid.set(e.key(), new double[]{outputs[c], outputs[c], outputs[c], outputs[c]});
-        c = c + 1;
-      }
+    for (Grid.Key key : keys) {
+      double[] voxelInputs = inputsGrid.get(key);
+      System.arraycopy(voxelInputs, 0, inputs, c, voxelInputs.length);
+      c = c + voxelInputs.length;
     }
-    return outputsGrid;
   }
 }
@@ -26,12 +26,39 @@ import io.github.ericmedvet.mrsim2d.core.NumMultiBrained;
 import io.github.ericmedvet.mrsim2d.core.Sensor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
 import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetworkBatch;
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class DistributedNumGridVSR extends NumGridVSR implements NumMultiBrained {
 
   private final static Voxel.Side UNDIRECTIONAL_SIDE = Voxel.Side.E;
+  // input slots receive, in order, the signals of the voxels above, on the right, below, and on the left
+  private final static int[][] NEIGHBOR_DELTAS = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+  private final static Voxel.Side[] NEIGHBOR_SIDES = {Voxel.Side.S, Voxel.Side.W, Voxel.Side.N, Voxel.Side.E};
+
+  private class BrainsStep extends RecursiveAction {
+    private final double t;
+    private final int from;
+    private final int to;
+
+    private BrainsStep(double t, int from, int to) {
+      this.t = t;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= brainsGrainSize) {
+        stepBrains(t, from, to);
+      } else {
+        int middle = (from + to) / 2;
+        invokeAll(new BrainsStep(t, from, middle), new BrainsStep(t, middle, to));
+      }
+    }
+  }
 
   private final Grid<NumericalDynamicalSystem<?>> numericalDynamicalSystemGrid;
   private final int nOfSignals;
@@ -40,17 +67,37 @@ public class DistributedNumGridVSR extends NumGridVSR implements NumMultiBrained
   private final Grid<double[]> fullInputsGrid;
   private final Grid<double[]> fullOutputsGrid;
   private final Grid<double[]> outputsGrid;
-  private final Grid<Map<Voxel.Side, double[]>> signalsGrid;
-  private final List<Grid.Key> nonEmptyKeys;
-  private final double[] zeroSignals;
+  private final Grid.Key[] keys;
+  private final NumericalDynamicalSystem<?>[] brains;
+  private final double[][] fullInputs;
+  private final int[] signalSourceOffsets;
+  private final double[][] fullOutputs;
+  private final int brainsGrainSize;
+  private final boolean parallelizable;
+  private final DenseNetworkBatch denseNetworkBatch;
+  private double[] lastSignals;
+  private double[] nextSignals;
 
   public DistributedNumGridVSR(
       GridBody body,
       Grid<NumericalDynamicalSystem<?>> numericalDynamicalSystemGrid,
       int nOfSignals,
       boolean directional
+  ) {
+    this(body, numericalDynamicalSystemGrid, nOfSignals, directional, 0);
+  }
+
+  public DistributedNumGridVSR(
+      GridBody body,
+      Grid<NumericalDynamicalSystem<?>> numericalDynamicalSystemGrid,
+      int nOfSignals,
+      boolean directional,
+      int brainsGrainSize
   ) {
     super(body);
+    if (brainsGrainSize < 0) {
+      throw new IllegalArgumentException("Brains grain size must be >= 0: %d found".formatted(brainsGrainSize));
+    }
     body.grid().entries().forEach(e -> {
       if (e.value().element().type().equals(GridBody.VoxelType.NONE)) {
         if (numericalDynamicalSystemGrid.get(e.key()) != null) {
@@ -67,8 +114,8 @@ public class DistributedNumGridVSR extends NumGridVSR implements NumMultiBrained
     });
     this.nOfSignals = nOfSignals;
     this.directional = directional;
+    this.brainsGrainSize = brainsGrainSize;
     this.numericalDynamicalSystemGrid = numericalDynamicalSystemGrid;
-    signalsGrid = numericalDynamicalSystemGrid.map(v -> v != null ? new EnumMap<>(Voxel.Side.class) : null);
     fullInputsGrid = Grid.create(
         body.grid().w(),
         body.grid().h(),
@@ -79,14 +126,45 @@ public class DistributedNumGridVSR extends NumGridVSR implements NumMultiBrained
         body.grid().h(),
         k -> new double[nOfOutputs(body, k, nOfSignals, directional)]
     );
-    zeroSignals = new double[nOfSignals];
-    nonEmptyKeys = numericalDynamicalSystemGrid.entries()
+    keys = numericalDynamicalSystemGrid.entries()
         .stream()
         .filter(e -> e.value() != null)
         .map(Grid.Entry::key)
-        .toList();
+        .toArray(Grid.Key[]::new);
+    brains = new NumericalDynamicalSystem<?>[keys.length];
+    fullInputs = new double[keys.length][];
+    fullOutputs = new double[keys.length][];
     outputsGrid = Grid.create(numericalDynamicalSystemGrid.w(), numericalDynamicalSystemGrid.h());
-    nonEmptyKeys.forEach(k -> outputsGrid.set(k, new double[SIDE_INDEXES.size()]));
+    for (int i = 0; i < keys.length; i = i + 1) {
+      brains[i] = numericalDynamicalSystemGrid.get(keys[i]);
+      fullInputs[i] = fullInputsGrid.get(keys[i]);
+      outputsGrid.set(keys[i], new double[SIDE_INDEXES.size()]);
+    }
+    // signals are stored in blocks of nOfSignals values indexed by (voxel, side), followed by a never written block
+    // of zeros for missing neighbors
+    lastSignals = new double[(keys.length * SIDE_INDEXES.size() + 1) * nOfSignals];
+    nextSignals = new double[lastSignals.length];
+    // each input slot points to the block written by the neighbor on the side facing the voxel
+    Map<Grid.Key, Integer> voxelIndexes = new HashMap<>();
+    for (int i = 0; i < keys.length; i = i + 1) {
+      voxelIndexes.put(keys[i], i);
+    }
+    int zeroSignalsOffset = keys.length * SIDE_INDEXES.size() * nOfSignals;
+    signalSourceOffsets = new int[keys.length * NEIGHBOR_SIDES.length];
+    for (int i = 0; i < keys.length; i = i + 1) {
+      for (int n = 0; n < NEIGHBOR_SIDES.length; n = n + 1) {
+        Integer neighborIndex = voxelIndexes.get(keys[i].translated(NEIGHBOR_DELTAS[n][0], NEIGHBOR_DELTAS[n][1]));
+        signalSourceOffsets[i * NEIGHBOR_SIDES.length + n] = neighborIndex == null ? zeroSignalsOffset : signalOffset(
+            neighborIndex,
+            directional ? NEIGHBOR_SIDES[n] : UNDIRECTIONAL_SIDE
+        );
+      }
+    }
+    // brains can be stepped concurrently only if no instance is shared among voxels
+    Set<NumericalDynamicalSystem<?>> distinctBrains = Collections.newSetFromMap(new IdentityHashMap<>());
+    distinctBrains.addAll(Arrays.asList(brains));
+    parallelizable = distinctBrains.size() == brains.length;
+    denseNetworkBatch = DenseNetworkBatch.of(Arrays.asList(brains)).orElse(null);
   }
 
   public static int nOfInputs(GridBody body, Grid.Key key, int nOfSignals, boolean directional) {
@@ -130,61 +208,79 @@ public class DistributedNumGridVSR extends NumGridVSR implements NumMultiBrained
 
   @Override
   protected Grid<double[]> computeActuationValues(double t, Grid<double[]> inputsGrid) {
-    // create actual input grid (concat sensed values and communication signals)
-    for (Grid.Key key : nonEmptyKeys) {
-      double[] sensoryInputs = inputsGrid.get(key);
-      double[] fullInputs = Stream.of(
-          sensoryInputs,
-          getLastSignals(key.x(), key.y() + 1, Voxel.Side.S),
-          getLastSignals(key.x() + 1, key.y(), Voxel.Side.W),
-          getLastSignals(key.x(), key.y() - 1, Voxel.Side.N),
-          getLastSignals(key.x() - 1, key.y(), Voxel.Side.E)
-      )
-          .flatMapToDouble(Arrays::stream)
-          .toArray();
-      fullInputsGrid.set(key, fullInputs);
+    // fill actual inputs in place (sensed values and communication signals)
+    for (int i = 0; i < keys.length; i = i + 1) {
+      double[] sensoryInputs = inputsGrid.get(keys[i]);
+      double[] inputs = fullInputs[i];
+      System.arraycopy(sensoryInputs, 0, inputs, 0, sensoryInputs.length);
+      for (int n = 0; n < NEIGHBOR_SIDES.length; n = n + 1) {
+        System.arraycopy(
+            lastSignals,
+            signalSourceOffsets[i * NEIGHBOR_SIDES.length + n],
+            inputs,
+            sensoryInputs.length + n * nOfSignals,
+            nOfSignals
+        );
+      }
     }
-    // process values
-    for (Grid.Key key : nonEmptyKeys) {
-      double[] inputs = fullInputsGrid.get(key);
-      if (inputs.length != numericalDynamicalSystemGrid.get(key).nOfInputs()) {
+    // check inputs
+    for (int i = 0; i < keys.length; i = i + 1) {
+      if (fullInputs[i].length != brains[i].nOfInputs()) {
         throw new IllegalArgumentException(
             String.format(
                 "Wrong number of inputs in position (%d,%d): %d expected, %d found",
-                key.x(),
-                key.y(),
-                numericalDynamicalSystemGrid.get(key).nOfInputs(),
-                inputs.length
+                keys[i].x(),
+                keys[i].y(),
+                brains[i].nOfInputs(),
+                fullInputs[i].length
             )
         );
       }
-      fullOutputsGrid.set(key, numericalDynamicalSystemGrid.get(key).step(t, inputs));
+    }
+    // process values
+    if (denseNetworkBatch != null) {
+      double[][] batchOutputs = denseNetworkBatch.step(fullInputs);
+      System.arraycopy(batchOutputs, 0, fullOutputs, 0, batchOutputs.length);
+    } else if (brainsGrainSize > 0 && parallelizable && keys.length > brainsGrainSize) {
+      ForkJoinPool.commonPool().invoke(new BrainsStep(t, 0, keys.length));
+    } else {
+      stepBrains(t, 0, keys.length);
+    }
+    for (int i = 0; i < keys.length; i = i + 1) {
+      fullOutputsGrid.set(keys[i], fullOutputs[i]);
     }
     // split actuation and communication for next step
-    for (Grid.Key key : nonEmptyKeys) {
-      double[] fullOutputs = fullOutputsGrid.get(key);
-      double actuationValue = fullOutputs[0];
-      SIDE_INDEXES.values().forEach(i -> outputsGrid.get(key)[i] = actuationValue);
+    for (int i = 0; i < keys.length; i = i + 1) {
+      double[] fullOutputs = fullOutputsGrid.get(keys[i]);
+      Arrays.fill(outputsGrid.get(keys[i]), fullOutputs[0]);
       if (directional) {
         for (Map.Entry<Voxel.Side, Integer> sideEntry : SIDE_INDEXES.entrySet()) {
-          double[] sideSignals = signalsGrid.get(key).computeIfAbsent(sideEntry.getKey(), s -> zeroSignals);
-          System.arraycopy(fullOutputs, 1 + sideEntry.getValue() * nOfSignals, sideSignals, 0, nOfSignals);
+          System.arraycopy(
+              fullOutputs,
+              1 + sideEntry.getValue() * nOfSignals,
+              nextSignals,
+              signalOffset(i, sideEntry.getKey()),
+              nOfSignals
+          );
         }
       } else {
-        double[] sideSignals = signalsGrid.get(key).computeIfAbsent(UNDIRECTIONAL_SIDE, s -> zeroSignals);
-        System.arraycopy(fullOutputs, 1, sideSignals, 0, nOfSignals);
+        System.arraycopy(fullOutputs, 1, nextSignals, signalOffset(i, UNDIRECTIONAL_SIDE), nOfSignals);
       }
     }
+    // swap buffers
+    double[] signals = lastSignals;
+    lastSignals = nextSignals;
+    nextSignals = signals;
     return outputsGrid;
   }
 
-  private double[] getLastSignals(int x, int y, Voxel.Side side) {
-    if (x < 0 || y < 0 || x >= signalsGrid.w() || y >= signalsGrid.h() || signalsGrid.get(x, y) == null) {
-      return zeroSignals;
+  private void stepBrains(double t, int from, int to) {
+    for (int i = from; i < to; i = i + 1) {
+      fullOutputs[i] = brains[i].step(t, fullInputs[i]);
     }
-    if (directional) {
-      return signalsGrid.get(x, y).computeIfAbsent(side, s -> zeroSignals);
-    }
-    return signalsGrid.get(x, y).computeIfAbsent(UNDIRECTIONAL_SIDE, s -> zeroSignals);
+  }
+
+  private int signalOffset(int voxelIndex, Voxel.Side side) {
+    return (voxelIndex * SIDE_INDEXES.size() + SIDE_INDEXES.get(side)) * nOfSignals;
   }
 }
@@ -24,15 +24,19 @@ import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jnb.datastructure.Grid;
 import io.github.ericmedvet.mrsim2d.core.Action;
 import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
+import io.github.ericmedvet.mrsim2d.core.ActionPerformer;
+import io.github.ericmedvet.mrsim2d.core.BoundSensing;
+import io.github.ericmedvet.mrsim2d.core.BoundSensor;
 import io.github.ericmedvet.mrsim2d.core.Sensor;
 import io.github.ericmedvet.mrsim2d.core.actions.ActuateVoxel;
 import io.github.ericmedvet.mrsim2d.core.actions.Sense;
 import io.github.ericmedvet.mrsim2d.core.actions.XMirrorableSense;
+import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
 import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
 import java.util.*;
 
-public abstract class NumGridVSR extends AbstractGridVSR {
+public abstract class NumGridVSR extends AbstractGridVSR implements BoundSensing {
 
   protected static final DoubleRange INPUT_RANGE = DoubleRange.SYMMETRIC_UNIT;
   protected static final DoubleRange OUTPUT_RANGE = DoubleRange.SYMMETRIC_UNIT;
@@ -47,8 +51,9 @@ public abstract class NumGridVSR extends AbstractGridVSR {
 
   private final Grid<List<Sensor<? super Body>>> sensorsGrid;
   private final Grid<double[]> inputsGrid;
-  private final Grid<double[]> outputGrid;
   private final GridBody body;
+  private boolean sensorsBound;
+  private Plan plan;
 
   public NumGridVSR(GridBody body, double voxelSideLength, double voxelMass) {
     super(body.grid().map(GridBody.SensorizedElement::element), voxelSideLength, voxelMass);
@@ -56,13 +61,21 @@ public abstract class NumGridVSR extends AbstractGridVSR {
     this.body = body;
     inputsGrid = body.grid()
         .map(e -> e.element().type().equals(GridBody.VoxelType.NONE) ? null : new double[e.sensors().size()]);
-    outputGrid = bodyGrid.map(v -> v != null ? new double[SIDE_INDEXES.size()] : null);
   }
 
   public NumGridVSR(GridBody body) {
     this(body, VOXEL_SIDE_LENGTH, VOXEL_MASS);
   }
 
+  private record Plan(
+      double[][] inputs,
+      Grid.Key[] voxelKeys,
+      Voxel[] voxels,
+      double[][] outputs,
+      List<BoundSensor> boundSensors,
+      List<Action<?>> senseActions
+  ) {}
+
   protected abstract Grid<double[]> computeActuationValues(double t, Grid<double[]> inputsGrid);
 
   private static EnumMap<Voxel.Side, Double> sideMap(double[] values) {
@@ -82,71 +95,131 @@ public abstract class NumGridVSR extends AbstractGridVSR {
 
   @Override
   public List<? extends Action<?>> act(double t, List<ActionOutcome<?, ?>> previousActionOutcomes) {
+    if (plan == null) {
+      plan = compilePlan();
+    }
     // read inputs from last request
-    if (!previousActionOutcomes.isEmpty()) {
+    if (!sensorsBound && !previousActionOutcomes.isEmpty()) {
       int c = 0;
-      for (Grid.Key key : inputsGrid.keys()) {
-        double[] inputs = inputsGrid.get(key);
-        if (inputs != null) {
-          for (int i = 0; i < inputs.length; i++) {
-            ActionOutcome<?, ?> outcome = previousActionOutcomes.get(c);
-            if (outcome.action() instanceof Sense<?>) {
-              @SuppressWarnings("unchecked") ActionOutcome<? extends Sense<Voxel>, Double> o = (ActionOutcome<? extends Sense<Voxel>, Double>) outcome;
-              double v = o.outcome().orElse(0d);
-              if (outcome.action() instanceof XMirrorableSense<?> xMirrorableSense) {
-                v = xMirrorableSense.outcomeMirrorer().applyAsDouble(v);
-              }
-              inputs[i] = INPUT_RANGE.denormalize(
-                  o.action().range().normalize(v)
-              );
-              c = c + 1;
+      for (double[] inputs : plan.inputs) {
+        for (int i = 0; i < inputs.length; i++) {
+          ActionOutcome<?, ?> outcome = previousActionOutcomes.get(c);
+          if (outcome.action() instanceof Sense<?>) {
+            @SuppressWarnings("unchecked") ActionOutcome<? extends Sense<Voxel>, Double> o = (ActionOutcome<? extends Sense<Voxel>, Double>) outcome;
+            double v = o.outcome().orElse(0d);
+            if (outcome.action() instanceof XMirrorableSense<?> xMirrorableSense) {
+              v = xMirrorableSense.outcomeMirrorer().applyAsDouble(v);
             }
+            inputs[i] = INPUT_RANGE.denormalize(
+                o.action().range().normalize(v)
+            );
+            c = c + 1;
           }
         }
       }
     }
     // compute actuation
-    computeActuationValues(t, inputsGrid)
-        .entries()
-        .stream()
-        .filter(e -> Objects.nonNull(e.value()))
-        .forEach(
-            e -> outputGrid.set(
-                e.key(),
-                Arrays.stream(e.value()).map(OUTPUT_RANGE::clip).toArray()
-            )
-        );
-    // generate next sense actions
-    List<Action<?>> actions = new ArrayList<>();
-    actions.addAll(
-        bodyGrid.entries()
-            .stream()
-            .filter(e -> Objects.nonNull(e.value()))
-            .map(
-                e -> sensorsGrid.get(e.key())
-                    .stream()
-                    .map(f -> {
-                      Sense<? super Body> sense = f.apply(e.value());
-                      return (sense instanceof XMirrorableSense<? super Body> && xMirrored) ? ((XMirrorableSense<? super Body>) sense)
-                          .mirrored() : sense;
-                    })
-                    .toList()
-            )
-            .flatMap(Collection::stream)
-            .toList()
-    );
-    // generate actuation actions
-    actions.addAll(
-        bodyGrid.entries()
-            .stream()
-            .filter(e -> e.value() instanceof Voxel)
-            .map(e -> new ActuateVoxel((Voxel) e.value(), sideMap(outputGrid.get(e.key()))))
-            .toList()
-    );
+    Grid<double[]> outputsGrid = computeActuationValues(t, inputsGrid);
+    for (int i = 0; i < plan.voxelKeys.length; i++) {
+      double[] outputs = outputsGrid.get(plan.voxelKeys[i]);
+      if (outputs != null) {
+        for (int j = 0; j < plan.outputs[i].length; j = j + 1) {
+          plan.outputs[i][j] = OUTPUT_RANGE.clip(outputs[j]);
+        }
+      }
+    }
+    // sense actions are the same at every tick, actuation actions are new as outcomes may be retained
+    List<Action<?>> actions = new ArrayList<>(plan.senseActions.size() + plan.voxels.length);
+    actions.addAll(plan.senseActions);
+    for (int i = 0; i < plan.voxels.length; i++) {
+      actions.add(new ActuateVoxel(plan.voxels[i], sideMap(plan.outputs[i])));
+    }
     return actions;
   }
 
+  @Override
+  public void assemble(ActionPerformer actionPerformer) {
+    super.assemble(actionPerformer);
+    plan = compilePlan();
+  }
+
+  @Override
+  public void bindBodies(List<Body> bodies) {
+    super.bindBodies(bodies);
+    plan = compilePlan();
+  }
+
+  private Plan compilePlan() {
+    List<double[]> inputs = new ArrayList<>();
+    for (Grid.Key key : inputsGrid.keys()) {
+      if (inputsGrid.get(key) != null) {
+        inputs.add(inputsGrid.get(key));
+      }
+    }
+    List<Grid.Key> voxelKeys = new ArrayList<>();
+    List<Voxel> voxels = new ArrayList<>();
+    List<BoundSensor> boundSensors = new ArrayList<>();
+    List<Action<?>> senseActions = new ArrayList<>();
+    for (Grid.Entry<Anchorable> e : bodyGrid.entries()) {
+      if (e.value() == null) {
+        continue;
+      }
+      List<Sensor<? super Body>> sensors = sensorsGrid.get(e.key());
+      for (int i = 0; i < sensors.size(); i = i + 1) {
+        Sense<? super Body> sense = sensors.get(i).apply(e.value());
+        if (sense instanceof XMirrorableSense<? super Body> xMirrorableSense && xMirrored) {
+          sense = xMirrorableSense.mirrored();
+        }
+        if (sensorsBound) {
+          boundSensors.add(new BoundSensor(sense, inputsGrid.get(e.key()), i, INPUT_RANGE, true));
+        } else {
+          senseActions.add(sense);
+        }
+      }
+      if (e.value() instanceof Voxel voxel) {
+        voxelKeys.add(e.key());
+        voxels.add(voxel);
+      }
+    }
+    return new Plan(
+        inputs.toArray(double[][]::new),
+        voxelKeys.toArray(Grid.Key[]::new),
+        voxels.toArray(Voxel[]::new),
+        new double[voxels.size()][SIDE_INDEXES.size()],
+        Collections.unmodifiableList(boundSensors),
+        Collections.unmodifiableList(senseActions)
+    );
+  }
+
+  @Override
+  public void bindSensors() {
+    sensorsBound = true;
+    plan = null;
+  }
+
+  @Override
+  public List<BoundSensor> boundSensors() {
+    if (plan == null) {
+      plan = compilePlan();
+    }
+    return plan.boundSensors;
+  }
+
   public GridBody getBody() {
     return body;
   }
+
+  protected Grid<double[]> nextInputsGrid() {
+    // bound sensors write the inputs of the next act() during the current tick, otherwise they come with outcomes
+    if (!sensorsBound) {
+      throw new IllegalStateException("Next inputs are known only with bound sensors");
+    }
+    return inputsGrid;
+  }
+
+  @Override
+  public void mirror() {
+    super.mirror();
+    plan = null;
+  }
 }
@@ -24,12 +24,18 @@ import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
 import io.github.ericmedvet.mrsim2d.core.Sensor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
 import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetworkBatch;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 public class ReactiveGridVSR extends NumGridVSR {
 
   private final Grid<ReactiveVoxel> reactiveVoxelGrid;
+  private final Grid.Key[] keys;
+  private final DenseNetworkBatch denseNetworkBatch;
+  private final double[][] batchInputs;
+  private final Grid<double[]> batchOutputsGrid;
 
   public ReactiveGridVSR(Grid<ReactiveVoxel> reactiveVoxelGrid) {
     this(reactiveVoxelGrid, VOXEL_SIDE_LENGTH, VOXEL_MASS);
@@ -42,6 +48,16 @@ public class ReactiveGridVSR extends NumGridVSR {
         voxelMass
     );
     this.reactiveVoxelGrid = reactiveVoxelGrid;
+    keys = reactiveVoxelGrid.entries()
+        .stream()
+        .filter(e -> !e.value().element().type().equals(GridBody.VoxelType.NONE))
+        .map(Grid.Entry::key)
+        .toArray(Grid.Key[]::new);
+    denseNetworkBatch = DenseNetworkBatch.of(
+        Arrays.stream(keys).map(k -> reactiveVoxelGrid.get(k).numericalDynamicalSystem()).toList()
+    ).orElse(null);
+    batchInputs = new double[keys.length][];
+    batchOutputsGrid = Grid.create(reactiveVoxelGrid.w(), reactiveVoxelGrid.h(), k -> new double[4]);
   }
 
   public record ReactiveVoxel(
@@ -69,6 +85,16 @@ public class ReactiveGridVSR extends NumGridVSR {
 
   @Override
   protected Grid<double[]> computeActuationValues(double t, Grid<double[]> inputsGrid) {
+    if (denseNetworkBatch != null) {
+      for (int i = 0; i < keys.length; i = i + 1) {
+        batchInputs[i] = inputsGrid.get(keys[i]);
+      }
+      double[][] batchOutputs = denseNetworkBatch.step(batchInputs);
+      for (int i = 0; i < keys.length; i = i + 1) {
+        batchOutputsGrid.set(keys[i], batchOutputs[i]);
+      }
+      return batchOutputsGrid;
+    }
     return inputsGrid.map(
         (k, inputs) -> inputs == null ? new double[4] : reactiveVoxelGrid.get(k)
             .numericalDynamicalSystem()
@@ -24,17 +24,20 @@ import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
 import io.github.ericmedvet.mrsim2d.core.Action;
 import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
+import io.github.ericmedvet.mrsim2d.core.ActionPerformer;
+import io.github.ericmedvet.mrsim2d.core.BoundSensing;
+import io.github.ericmedvet.mrsim2d.core.BoundSensor;
 import io.github.ericmedvet.mrsim2d.core.NumBrained;
 import io.github.ericmedvet.mrsim2d.core.Sensor;
 import io.github.ericmedvet.mrsim2d.core.actions.*;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
-import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.engine.ActionException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class NumIndependentVoxel extends AbstractIndependentVoxel implements NumBrained {
+public class NumIndependentVoxel extends AbstractIndependentVoxel implements NumBrained, BoundSensing {
 
   private static final DoubleRange INPUT_RANGE = DoubleRange.SYMMETRIC_UNIT;
   private static final DoubleRange OUTPUT_RANGE = DoubleRange.SYMMETRIC_UNIT;
@@ -46,6 +49,8 @@ public class NumIndependentVoxel extends AbstractIndependentVoxel implements Num
   private final boolean attachActuation;
   private final int nOfNFCChannels;
   private double[] outputs;
+  private boolean sensorsBound;
+  private List<BoundSensor> boundSensors;
 
   public NumIndependentVoxel(
       Voxel.Material material,
@@ -109,22 +114,29 @@ public class NumIndependentVoxel extends AbstractIndependentVoxel implements Num
   @Override
   public List<? extends Action<?>> act(double t, List<ActionOutcome<?, ?>> previousActionOutcomes) {
     // read inputs from last request
-    double[] readInputs = previousActionOutcomes.stream()
-        .filter(ao -> ao.action() instanceof Sense)
-        .mapToDouble(ao -> {
-          @SuppressWarnings("unchecked") ActionOutcome<Sense<? super Voxel>, Double> so = (ActionOutcome<Sense<? super Voxel>, Double>) ao;
-          return INPUT_RANGE.denormalize(
-              so.action().range().normalize(so.outcome().orElse(0d))
-          );
-        })
-        .toArray();
-    System.arraycopy(readInputs, 0, inputs, 0, readInputs.length);
+    int c = sensorsBound ? sensors.size() : 0;
+    for (ActionOutcome<?, ?> ao : previousActionOutcomes) {
+      if (ao.action() instanceof Sense<?> sense) {
+        @SuppressWarnings("unchecked") ActionOutcome<Sense<? super Voxel>, Double> so = (ActionOutcome<Sense<? super Voxel>, Double>) ao;
+        inputs[c] = INPUT_RANGE.denormalize(sense.range().normalize(so.outcome().orElse(0d)));
+        c = c + 1;
+      } else if (ao.action() instanceof ExchangeNFC exchangeNFC) {
+        double[] sensed = (double[]) ao.outcome().orElse(null);
+        for (int i = 0; i < exchangeNFC.values().length; i = i + 1) {
+          inputs[c] = INPUT_RANGE.denormalize(exchangeNFC.range().normalize(sensed == null ? 0d : sensed[i]));
+          c = c + 1;
+        }
+      }
+    }
     // compute actuation
     outputs = Arrays.stream(numericalDynamicalSystem.step(t, inputs))
         .map(OUTPUT_RANGE::clip)
         .toArray();
     // generate next sense actions
-    List<Action<?>> actions = new ArrayList<>(sensors.stream().map(f -> f.apply(voxel)).toList());
+    List<Action<?>> actions = new ArrayList<>();
+    if (!sensorsBound) {
+      actions.addAll(sensors.stream().map(f -> f.apply(voxel)).toList());
+    }
     // generate actuation actions
     int aI = 0;
     if (areaActuation.equals(AreaActuation.SIDES)) {
@@ -143,19 +155,37 @@ public class NumIndependentVoxel extends AbstractIndependentVoxel implements Num
       }
     }
     if (nOfNFCChannels > 0) {
-      Point center = voxel.poly().center();
-      for (Voxel.Side side : Voxel.Side.values()) {
-        Point mid = voxel.side(side).center().diff(center);
-        double dir = mid.direction();
-        for (int i = 0; i < nOfNFCChannels; i++) {
-          actions.add(new EmitNFCMessage(voxel, mid, dir, (short) i, outputs[aI++]));
-          actions.add(new SenseNFC(voxel, mid, dir, (short) i));
-        }
-      }
+      actions.add(new ExchangeNFC(voxel, Arrays.copyOfRange(outputs, aI, aI + nOfNFCChannels * 4)));
     }
     return actions;
   }
 
+  @Override
+  public void assemble(ActionPerformer actionPerformer) throws ActionException {
+    super.assemble(actionPerformer);
+    boundSensors = null;
+  }
+
+  @Override
+  public void bindSensors() {
+    sensorsBound = true;
+    boundSensors = null;
+  }
+
+  @Override
+  public List<BoundSensor> boundSensors() {
+    if (!sensorsBound) {
+      return List.of();
+    }
+    if (boundSensors == null) {
+      boundSensors = new ArrayList<>(sensors.size());
+      for (int i = 0; i < sensors.size(); i = i + 1) {
+        boundSensors.add(new BoundSensor(sensors.get(i).apply(voxel), inputs, i, INPUT_RANGE, false));
+      }
+    }
+    return boundSensors;
+  }
+
   @Override
   public NumericalDynamicalSystem<?> brain() {
     return numericalDynamicalSystem;
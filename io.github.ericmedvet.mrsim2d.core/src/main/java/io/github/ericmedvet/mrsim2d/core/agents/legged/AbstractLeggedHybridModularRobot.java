@@ -21,7 +21,7 @@
 package io.github.ericmedvet.mrsim2d.core.agents.legged;
 
 import io.github.ericmedvet.mrsim2d.core.ActionPerformer;
-import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.Blueprintable;
 import io.github.ericmedvet.mrsim2d.core.Sensor;
 import io.github.ericmedvet.mrsim2d.core.actions.*;
 import io.github.ericmedvet.mrsim2d.core.bodies.*;
@@ -32,7 +32,7 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
 import java.util.ArrayList;
 import java.util.List;
 
-public abstract class AbstractLeggedHybridModularRobot implements EmbodiedAgent {
+public abstract class AbstractLeggedHybridModularRobot implements Blueprintable {
 
   protected final List<RotationalJoint> rotationalJoints;
   protected final List<Module> modules;
@@ -280,8 +280,79 @@ public abstract class AbstractLeggedHybridModularRobot implements EmbodiedAgent
     }
   }
 
+  @Override
+  public void bindBodies(List<Body> bodies) {
+    // bodies come in the same order they are created by assemble(), possibly replacing the ones of a previous run
+    this.bodies.clear();
+    moduleBodies.clear();
+    rotationalJoints.clear();
+    this.bodies.addAll(bodies);
+    int i = 0;
+    for (Module module : modules) {
+      Body trunk = bodies.get(i);
+      i = i + 1;
+      List<LegChunkBody> chunkBodies = new ArrayList<>(module.legChunks().size());
+      for (LegChunk legChunk : module.legChunks()) {
+        Body upConnector = null;
+        if (!legChunk.upConnector().equals(ConnectorType.NONE)) {
+          upConnector = bodies.get(i);
+          i = i + 1;
+        }
+        RotationalJoint joint = (RotationalJoint) bodies.get(i);
+        i = i + 1;
+        rotationalJoints.add(joint);
+        chunkBodies.add(new LegChunkBody(upConnector, joint));
+      }
+      Body downConnector = null;
+      if (!module.downConnector().equals(ConnectorType.NONE)) {
+        downConnector = bodies.get(i);
+        i = i + 1;
+      }
+      Body rightConnector = null;
+      if (!module.rightConnector().equals(ConnectorType.NONE)) {
+        rightConnector = bodies.get(i);
+        i = i + 1;
+      }
+      moduleBodies.add(new ModuleBody(trunk, rightConnector, downConnector, chunkBodies));
+    }
+  }
+
   @Override
   public List<Body> bodyParts() {
     return bodies;
   }
+
+  @Override
+  public Morphology morphology() {
+    // sensors do not affect the body
+    List<Module> bareModules = modules.stream()
+        .map(
+            m -> new Module(
+                m.trunkLength(),
+                m.trunkWidth(),
+                m.trunkMass(),
+                m.legChunks()
+                    .stream()
+                    .map(
+                        c -> new LegChunk(
+                            c.length(),
+                            c.width(),
+                            c.mass(),
+                            c.motor(),
+                            c.activeAngleRange(),
+                            c.upConnector(),
+                            List.of()
+                        )
+                    )
+                    .toList(),
+                m.downConnector(),
+                m.rightConnector(),
+                List.of(),
+                List.of(),
+                List.of()
+            )
+        )
+        .toList();
+    return new Morphology(getClass(), bareModules);
+  }
 }
@@ -24,15 +24,17 @@ import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
 import io.github.ericmedvet.mrsim2d.core.Action;
 import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
+import io.github.ericmedvet.mrsim2d.core.ActionPerformer;
 import io.github.ericmedvet.mrsim2d.core.NumBrained;
 import io.github.ericmedvet.mrsim2d.core.Sensor;
 import io.github.ericmedvet.mrsim2d.core.actions.ActuateRotationalJoint;
 import io.github.ericmedvet.mrsim2d.core.actions.Sense;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.engine.ActionException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
 
 public class NumLeggedHybridRobot extends AbstractLeggedHybridRobot implements NumBrained {
 
@@ -43,8 +45,9 @@ public class NumLeggedHybridRobot extends AbstractLeggedHybridRobot implements N
   private final NumericalDynamicalSystem<?> numericalDynamicalSystem;
   private final List<Sensor<?>> headSensors;
 
-  private double[] inputs;
-  private double[] outputs;
+  private final double[] inputs;
+  private final double[] outputs;
+  private List<Action<?>> senseActions;
 
   public NumLeggedHybridRobot(
       List<Leg> legs,
@@ -57,6 +60,8 @@ public class NumLeggedHybridRobot extends AbstractLeggedHybridRobot implements N
   ) {
     super(legs, trunkLength, trunkWidth, trunkMass, headMass);
     this.numericalDynamicalSystem = numericalDynamicalSystem;
+    inputs = new double[numericalDynamicalSystem.nOfInputs()];
+    outputs = new double[numericalDynamicalSystem.nOfOutputs()];
     this.headSensors = headSensors;
   }
 
@@ -75,27 +80,15 @@ public class NumLeggedHybridRobot extends AbstractLeggedHybridRobot implements N
     return legs.stream().mapToInt(m -> m.legChunks().size()).sum();
   }
 
-  @SuppressWarnings("unchecked")
   @Override
-  public List<? extends Action<?>> act(double t, List<ActionOutcome<?, ?>> previousActionOutcomes) {
-    // read inputs from last request
-    inputs = previousActionOutcomes.stream()
-        .filter(ao -> ao.action() instanceof Sense)
-        .mapToDouble(ao -> {
-          @SuppressWarnings("unchecked") ActionOutcome<Sense<?>, Double> so = (ActionOutcome<Sense<?>, Double>) ao;
-          return INPUT_RANGE.denormalize(
-              so.action().range().normalize(so.outcome().orElse(0d))
-          );
-        })
-        .toArray();
-    if (inputs.length == 0) {
-      inputs = new double[numericalDynamicalSystem.nOfInputs()];
-    }
-    // compute actuation
-    outputs = Arrays.stream(numericalDynamicalSystem.step(t, inputs))
-        .map(OUTPUT_RANGE::clip)
-        .toArray();
-    // generate next sense actions
+  public void assemble(ActionPerformer performer) throws ActionException {
+    super.assemble(performer);
+    senseActions = compileSenseActions();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Action<?>> compileSenseActions() {
+    // sense actions are the same at every tick
     List<Action<?>> actions = new ArrayList<>();
     for (int il = 0; il < legs.size(); il = il + 1) {
       Leg leg = legs.get(il);
@@ -108,16 +101,54 @@ public class NumLeggedHybridRobot extends AbstractLeggedHybridRobot implements N
       }
     }
     headSensors.forEach(s -> actions.add(((Sensor<Body>) s).apply(head)));
-    // generate actuation actions
-    IntStream.range(0, outputs.length)
-        .forEach(
-            i -> actions.add(
-                new ActuateRotationalJoint(
-                    rotationalJoints.get(i),
-                    ANGLE_RANGE.denormalize(OUTPUT_RANGE.normalize(outputs[i]))
-                )
-            )
-        );
+    if (actions.size() != inputs.length) {
+      throw new IllegalArgumentException(
+          "Wrong number of inputs: %d expected, %d found".formatted(inputs.length, actions.size())
+      );
+    }
+    return Collections.unmodifiableList(actions);
+  }
+
+  @Override
+  public List<? extends Action<?>> act(double t, List<ActionOutcome<?, ?>> previousActionOutcomes) {
+    if (senseActions == null) {
+      senseActions = compileSenseActions();
+    }
+    // read inputs from last request
+    int c = 0;
+    for (ActionOutcome<?, ?> ao : previousActionOutcomes) {
+      if (ao.action() instanceof Sense<?> sense) {
+        if (c < inputs.length) {
+          @SuppressWarnings("unchecked") ActionOutcome<Sense<?>, Double> so = (ActionOutcome<Sense<?>, Double>) ao;
+          inputs[c] = INPUT_RANGE.denormalize(sense.range().normalize(so.outcome().orElse(0d)));
+        }
+        c = c + 1;
+      }
+    }
+    if (c > 0 && c != inputs.length) {
+      throw new IllegalArgumentException(
+          "Wrong number of inputs: %d expected, %d found".formatted(inputs.length, c)
+      );
+    }
+    if (c == 0) {
+      Arrays.fill(inputs, 0d);
+    }
+    // compute actuation
+    double[] stepOutputs = numericalDynamicalSystem.step(t, inputs);
+    for (int i = 0; i < outputs.length; i = i + 1) {
+      outputs[i] = OUTPUT_RANGE.clip(stepOutputs[i]);
+    }
+    // generate actuation actions: they are immutable and may be retained with their outcomes, hence new at every tick
+    List<Action<?>> actions = new ArrayList<>(senseActions.size() + outputs.length);
+    actions.addAll(senseActions);
+    for (int i = 0; i < outputs.length; i = i + 1) {
+      actions.add(
+          new ActuateRotationalJoint(
+              rotationalJoints.get(i),
+              ANGLE_RANGE.denormalize(OUTPUT_RANGE.normalize(outputs[i]))
+          )
+      );
+    }
     return actions;
   }
 
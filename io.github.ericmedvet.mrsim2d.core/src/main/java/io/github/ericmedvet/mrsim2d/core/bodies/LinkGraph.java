@@ -0,0 +1,122 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.bodies;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LinkGraph {
+
+  private final Map<Anchorable, Map<Anchorable, Map<Anchor, Integer>>> adjacencies;
+
+  public LinkGraph() {
+    adjacencies = new LinkedHashMap<>();
+  }
+
+  public void add(Anchor.Link link) {
+    add(link.source(), link.destination());
+    add(link.destination(), link.source());
+  }
+
+  private void add(Anchor src, Anchor dst) {
+    adjacencies.computeIfAbsent(src.anchorable(), a -> new LinkedHashMap<>())
+        .computeIfAbsent(dst.anchorable(), a -> new IdentityHashMap<>())
+        .merge(src, 1, Integer::sum);
+  }
+
+  public Collection<Anchorable> attachedAnchorables(Anchorable anchorable) {
+    Map<Anchorable, Map<Anchor, Integer>> adjacency = adjacencies.get(anchorable);
+    if (adjacency == null) {
+      return List.of();
+    }
+    return List.copyOf(adjacency.keySet());
+  }
+
+  public Collection<Anchor> attachedTo(Anchorable anchorable, Anchorable otherAnchorable) {
+    Map<Anchor, Integer> anchorCounts = anchorCounts(anchorable, otherAnchorable);
+    if (anchorCounts.isEmpty()) {
+      return List.of();
+    }
+    // keep the order of anchors()
+    return anchorable.anchors().stream().filter(anchorCounts::containsKey).toList();
+  }
+
+  public void clear() {
+    adjacencies.clear();
+  }
+
+  public boolean isAnchoredTo(Anchorable anchorable, Anchorable otherAnchorable) {
+    return !anchorCounts(anchorable, otherAnchorable).isEmpty();
+  }
+
+  public int nOfAttachedAnchors(Anchorable anchorable, Anchorable otherAnchorable) {
+    return anchorCounts(anchorable, otherAnchorable).size();
+  }
+
+  private Map<Anchor, Integer> anchorCounts(Anchorable anchorable, Anchorable otherAnchorable) {
+    Map<Anchorable, Map<Anchor, Integer>> adjacency = adjacencies.get(anchorable);
+    if (adjacency == null) {
+      return Map.of();
+    }
+    return adjacency.getOrDefault(otherAnchorable, Map.of());
+  }
+
+  public void remove(Anchor.Link link) {
+    remove(link.source(), link.destination());
+    remove(link.destination(), link.source());
+  }
+
+  public void remove(Anchorable anchorable) {
+    Map<Anchorable, Map<Anchor, Integer>> adjacency = adjacencies.remove(anchorable);
+    if (adjacency != null) {
+      adjacency.keySet().forEach(other -> {
+        Map<Anchorable, Map<Anchor, Integer>> otherAdjacency = adjacencies.get(other);
+        if (otherAdjacency != null) {
+          otherAdjacency.remove(anchorable);
+          if (otherAdjacency.isEmpty()) {
+            adjacencies.remove(other);
+          }
+        }
+      });
+    }
+  }
+
+  private void remove(Anchor src, Anchor dst) {
+    Map<Anchorable, Map<Anchor, Integer>> adjacency = adjacencies.get(src.anchorable());
+    if (adjacency == null) {
+      return;
+    }
+    Map<Anchor, Integer> anchorCounts = adjacency.get(dst.anchorable());
+    if (anchorCounts == null) {
+      return;
+    }
+    anchorCounts.computeIfPresent(src, (a, n) -> n > 1 ? n - 1 : null);
+    if (anchorCounts.isEmpty()) {
+      adjacency.remove(dst.anchorable());
+      if (adjacency.isEmpty()) {
+        adjacencies.remove(src.anchorable());
+      }
+    }
+  }
+}
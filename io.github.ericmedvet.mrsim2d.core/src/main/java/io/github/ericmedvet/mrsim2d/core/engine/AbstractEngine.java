@@ -24,6 +24,9 @@ import io.github.ericmedvet.jnb.datastructure.Pair;
 import io.github.ericmedvet.mrsim2d.core.Action;
 import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
 import io.github.ericmedvet.mrsim2d.core.Agent;
+import io.github.ericmedvet.mrsim2d.core.Blueprintable;
+import io.github.ericmedvet.mrsim2d.core.BoundSensing;
+import io.github.ericmedvet.mrsim2d.core.BoundSensor;
 import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
 import io.github.ericmedvet.mrsim2d.core.EnergyConsumingAction;
 import io.github.ericmedvet.mrsim2d.core.NFCMessage;
@@ -36,17 +39,19 @@ import io.github.ericmedvet.mrsim2d.core.actions.AttractAndLinkAnchorable;
 import io.github.ericmedvet.mrsim2d.core.actions.AttractAndLinkClosestAnchorable;
 import io.github.ericmedvet.mrsim2d.core.actions.CreateLink;
 import io.github.ericmedvet.mrsim2d.core.actions.EmitNFCMessage;
+import io.github.ericmedvet.mrsim2d.core.actions.ExchangeNFC;
+import io.github.ericmedvet.mrsim2d.core.actions.Sense;
 import io.github.ericmedvet.mrsim2d.core.actions.SenseNFC;
 import io.github.ericmedvet.mrsim2d.core.actions.SenseSinusoidal;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.util.AtomicDouble;
-import io.github.ericmedvet.mrsim2d.core.util.HashSpatialMap;
 import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
 import io.github.ericmedvet.mrsim2d.core.util.Profiled;
-import io.github.ericmedvet.mrsim2d.core.util.SpatialMap;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -81,16 +86,22 @@ public abstract class AbstractEngine implements Engine, Profiled {
   protected final List<Body> bodies;
   protected final Map<Agent, List<ActionOutcome<?, ?>>> agentActionOutcomes;
   private final Map<Agent, Map<EnergyConsumingAction.Type, Double>> agentEnergyConsumptions;
+  private final Map<Agent, BoundingBox> agentBoundingBoxes;
   private final List<Agent> agents;
   private final Configuration configuration;
   private final Map<Class<? extends Action<?>>, ActionSolver<?, ?>> actionSolvers;
-  private final Instant startingInstant;
   private final EnumMap<EngineSnapshot.TimeType, AtomicDouble> times;
   private final EnumMap<EngineSnapshot.CounterType, AtomicInteger> counters;
   private final List<ActionOutcome<?, ?>> lastTickPerformedActions;
   private final Map<Agent, UnaryOperator<? extends Action<?>>> agentActionsFilters;
-  private SpatialMap<NFCMessage> lastNFCMessages;
-  private SpatialMap<NFCMessage> newNFCMessages;
+  private Instant startingInstant;
+  private NFCMessageIndex lastNFCMessages;
+  private NFCMessageIndex newNFCMessages;
+  private boolean agentBoundingBoxesUpToDate;
+  protected Blueprint.Cache blueprintCache;
+  private Blueprint.Recorder blueprintRecorder;
+  private int blueprintDepth;
+  private int performDepth;
 
   public AbstractEngine(Configuration configuration) {
     this.configuration = configuration;
@@ -98,10 +109,11 @@ public abstract class AbstractEngine implements Engine, Profiled {
     agents = new ArrayList<>();
     agentActionOutcomes = new IdentityHashMap<>();
     agentEnergyConsumptions = new IdentityHashMap<>();
+    agentBoundingBoxes = new IdentityHashMap<>();
     actionSolvers = new LinkedHashMap<>();
     t = new AtomicDouble(0d);
     lastTickPerformedActions = new ArrayList<>();
-    lastNFCMessages = new HashSpatialMap<>(configuration.nfcDistanceRange);
+    lastNFCMessages = new NFCMessageIndex(configuration.nfcDistanceRange, configuration.nfcChannels);
     times = new EnumMap<>(EngineSnapshot.TimeType.class);
     counters = new EnumMap<>(EngineSnapshot.CounterType.class);
     agentActionsFilters = new IdentityHashMap<>();
@@ -160,29 +172,157 @@ public abstract class AbstractEngine implements Engine, Profiled {
     return message;
   }
 
+  protected double[] exchangeNFC(ExchangeNFC action, Agent agent) throws ActionException {
+    int nOfChannels = action.nOfChannels();
+    if (nOfChannels > configuration.nfcChannels) {
+      throw new ActionException(
+          "Invalid channel: %d not in [0,%d]".formatted(
+              nOfChannels - 1,
+              configuration.nfcChannels - 1
+          )
+      );
+    }
+    // emit on all sides and channels
+    Voxel.Side[] sides = Voxel.Side.values();
+    Point center = action.body().poly().center();
+    Point[] sources = new Point[sides.length];
+    double[] directions = new double[sides.length];
+    for (int i = 0; i < sides.length; i = i + 1) {
+      Point displacement = action.body().side(sides[i]).center().diff(center);
+      sources[i] = center.sum(displacement);
+      directions[i] = displacement.direction();
+      for (int c = 0; c < nOfChannels; c = c + 1) {
+        newNFCMessages.add(
+            sources[i],
+            new NFCMessage(sources[i], directions[i], (short) c, action.values()[i * nOfChannels + c])
+        );
+      }
+    }
+    // sense on all sides and channels
+    double[] sensed = new double[action.values().length];
+    lastNFCMessages.sums(
+        sources,
+        directions,
+        nOfChannels,
+        configuration.nfcDistanceRange,
+        configuration.nfcAngleRange,
+        sensed
+    );
+    for (int i = 0; i < sensed.length; i = i + 1) {
+      sensed[i] = action.range().clip(sensed[i]);
+    }
+    return sensed;
+  }
+
+  protected Object blueprintKey() {
+    return null;
+  }
+
   protected abstract Collection<Body> getBodies();
 
+  protected abstract Object innerCheckpoint();
+
+  protected abstract Object innerCheckpointKey();
+
+  protected abstract void innerReset();
+
+  protected abstract void innerRestore(Object innerCheckpoint);
+
   protected abstract double innerTick();
 
   protected Agent addAgent(AddAgent action, Agent agent) throws ActionException {
-    if (action.agent() instanceof EmbodiedAgent embodiedAgent) {
+    Object blueprintKey = blueprintCache == null ? null : blueprintKey();
+    if (action.agent() instanceof Blueprintable blueprintable && blueprintKey != null && blueprintRecorder == null) {
+      // reuse the bodies and links of an already assembled agent with the same morphology
+      List<Object> key = List.of(getClass(), blueprintKey, blueprintable.morphology());
+      Optional<Blueprint> blueprint = blueprintCache.get(key);
+      if (blueprint.isPresent()) {
+        blueprintable.bindBodies(blueprint.get().instantiate(this, blueprintable));
+      } else {
+        // only the actions performed directly by assemble() are recorded, not the ones they are composed of
+        blueprintRecorder = new Blueprint.Recorder();
+        blueprintDepth = performDepth;
+        try {
+          blueprintable.assemble(this);
+          blueprintRecorder.blueprint().ifPresent(b -> blueprintCache.put(key, b));
+        } finally {
+          blueprintRecorder = null;
+        }
+      }
+    } else if (action.agent() instanceof EmbodiedAgent embodiedAgent) {
       embodiedAgent.assemble(this);
     }
     agents.add(action.agent());
     return action.agent();
   }
 
+  @Override
+  public BoundingBox boundingBox(EmbodiedAgent agent) {
+    if (!agentBoundingBoxesUpToDate) {
+      updateAgentBoundingBoxes();
+    }
+    BoundingBox boundingBox = agentBoundingBoxes.get(agent);
+    return boundingBox == null ? agent.boundingBox() : boundingBox;
+  }
+
+  @Override
+  public Checkpoint checkpoint() {
+    // only plain values: neither this engine nor its agents are referenced by the checkpoint
+    return new EngineCheckpoint(
+        checkpointKey(),
+        t.get(),
+        agents.size(),
+        lastNFCMessages,
+        counters.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get())),
+        innerCheckpoint()
+    );
+  }
+
+  @Override
+  public Object checkpointKey() {
+    return List.of(getClass(), configuration, innerCheckpointKey());
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public <A extends Action<O>, O> ActionOutcome<A, O> perform(A action, Agent agent) {
     Instant performStartingInstant = Instant.now();
     counters.get(EngineSnapshot.CounterType.ACTION).incrementAndGet();
+    // any action might move bodies
+    agentBoundingBoxesUpToDate = false;
+    A requestedAction = action;
     if (agent != null) {
       UnaryOperator<Action<?>> filter = (UnaryOperator<Action<?>>) agentActionsFilters.get(agent);
       if (filter != null) {
         action = (A) filter.apply(action);
       }
     }
+    O o;
+    performDepth = performDepth + 1;
+    try {
+      o = solve(action, agent);
+    } finally {
+      performDepth = performDepth - 1;
+    }
+    ActionOutcome<A, O> outcome = new ActionOutcome<>(
+        agent,
+        action,
+        o == null ? Optional.empty() : Optional.of(o)
+    );
+    lastTickPerformedActions.add(outcome);
+    if (blueprintRecorder != null && performDepth == blueprintDepth) {
+      // the unfiltered action, as replaying it goes through the filter again
+      blueprintRecorder.record(requestedAction, outcome);
+    }
+    times.get(EngineSnapshot.TimeType.PERFORM)
+        .add(Duration.between(performStartingInstant, Instant.now()).toNanos() / 1000000000d);
+    return outcome;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <A extends Action<O>, O> O solve(A action, Agent agent) {
     ActionSolver<A, O> actionSolver = (ActionSolver<A, O>) actionSolvers.get(action.getClass());
     O o = null;
     if (actionSolver == null) {
@@ -242,15 +382,7 @@ public abstract class AbstractEngine implements Engine, Profiled {
         counters.get(EngineSnapshot.CounterType.ILLEGAL_ACTION).incrementAndGet();
       }
     }
-    ActionOutcome<A, O> outcome = new ActionOutcome<>(
-        agent,
-        action,
-        o == null ? Optional.empty() : Optional.of(o)
-    );
-    lastTickPerformedActions.add(outcome);
-    times.get(EngineSnapshot.TimeType.PERFORM)
-        .add(Duration.between(performStartingInstant, Instant.now()).toNanos() / 1000000000d);
-    return outcome;
+    return o;
   }
 
   protected Map<Pair<Anchor, Anchor>, AttractAndLinkAnchor.Outcome> attractAndLinkClosestAnchorable(
@@ -307,6 +439,7 @@ public abstract class AbstractEngine implements Engine, Profiled {
     registerActionSolver(SenseSinusoidal.class, this::senseSinusoidal);
     registerActionSolver(EmitNFCMessage.class, this::emitNFCMessage);
     registerActionSolver(SenseNFC.class, this::senseNFC);
+    registerActionSolver(ExchangeNFC.class, this::exchangeNFC);
   }
 
   @Override
@@ -325,24 +458,39 @@ public abstract class AbstractEngine implements Engine, Profiled {
   }
 
   protected Double senseNFC(SenseNFC action, Agent agent) {
-    double sum = lastNFCMessages
-        .get(
-            action.body().poly().center().sum(action.displacement()),
-            configuration.nfcDistanceRange
-        )
-        .stream()
-        .filter(
-            m -> m.channel() == action.channel() && Math.abs(
-                m.direction() - action.direction()
-            ) >= configuration.nfcAngleRange
-        )
-        .mapToDouble(NFCMessage::value)
-        .sum();
+    double sum = lastNFCMessages.sum(
+        action.body().poly().center().sum(action.displacement()),
+        configuration.nfcDistanceRange,
+        action.channel(),
+        action.direction(),
+        configuration.nfcAngleRange
+    );
     return action.range().clip(sum);
   }
 
+  protected void sense(BoundSensor boundSensor, Agent agent) {
+    if (agentActionsFilters.containsKey(agent) || boundSensor.sense() instanceof EnergyConsumingAction<?>) {
+      // take the full path
+      ActionOutcome<? extends Sense<?>, Double> outcome = perform(boundSensor.sense(), agent);
+      if (outcome.action() instanceof Sense<?> sense) {
+        boundSensor.read(sense, outcome.outcome().orElse(0d));
+      }
+    } else {
+      // skip the outcome, but count and time as in perform()
+      Instant performStartingInstant = Instant.now();
+      counters.get(EngineSnapshot.CounterType.ACTION).incrementAndGet();
+      Double value = solve(boundSensor.sense(), agent);
+      boundSensor.read(boundSensor.sense(), value == null ? 0d : value);
+      times.get(EngineSnapshot.TimeType.PERFORM)
+          .add(Duration.between(performStartingInstant, Instant.now()).toNanos() / 1000000000d);
+    }
+  }
+
   @Override
   public Snapshot snapshot() {
+    if (!agentBoundingBoxesUpToDate) {
+      updateAgentBoundingBoxes();
+    }
     return new EngineSnapshot(
         t.get(),
         getBodies(),
@@ -362,6 +510,7 @@ public abstract class AbstractEngine implements Engine, Profiled {
                         )
                 )
             ),
+        new IdentityHashMap<>(agentBoundingBoxes),
         lastTickPerformedActions,
         lastNFCMessages.all(),
         times.entrySet()
@@ -377,45 +526,62 @@ public abstract class AbstractEngine implements Engine, Profiled {
 
   @Override
   public Snapshot tick() {
+    return tick(true);
+  }
+
+  @Override
+  public Snapshot passiveTick() {
+    return tick(false);
+  }
+
+  private Snapshot tick(boolean agentsActing) {
     Instant tickStartingInstant = Instant.now();
     lastTickPerformedActions.clear();
-    newNFCMessages = new HashSpatialMap<>(configuration.nfcDistanceRange);
+    newNFCMessages = new NFCMessageIndex(configuration.nfcDistanceRange, configuration.nfcChannels);
     counters.get(EngineSnapshot.CounterType.TICK).incrementAndGet();
-    for (Agent agent : agents) {
-      List<ActionOutcome<?, ?>> previousOutcomes = agentActionOutcomes.getOrDefault(
-          agent,
-          List.of()
-      );
-      List<? extends Action<?>> actions = agent.act(t.get(), previousOutcomes);
-      //noinspection unchecked,rawtypes
-      List<ActionOutcome<?, ?>> outcomes = (List) actions.stream()
-          .map(action -> perform(action, agent))
-          .toList();
-      Map<EnergyConsumingAction.Type, Double> agentEnergies = new EnumMap<>(
-          EnergyConsumingAction.Type.class
-      );
-      outcomes.forEach(outcome -> {
-        //noinspection rawtypes
-        if (outcome.action() instanceof EnergyConsumingAction ecAction) {
-          //noinspection unchecked
-          Map<EnergyConsumingAction.Type, Double> energies = ecAction.energy(
-              outcome.outcome()
-                  .orElseThrow(
-                      () -> new RuntimeException(
-                          "Energy consuming action wrongly returns an empty outcome"
-                      )
-                  )
-          );
-          energies.forEach(
-              (type, value) -> agentEnergies.compute(
-                  type,
-                  (t, oldV) -> oldV == null ? value : (oldV + value)
-              )
-          );
+    // in passive ticks, agents neither sense nor act
+    if (agentsActing) {
+      for (Agent agent : agents) {
+        List<ActionOutcome<?, ?>> previousOutcomes = agentActionOutcomes.getOrDefault(
+            agent,
+            List.of()
+        );
+        List<? extends Action<?>> actions = agent.act(t.get(), previousOutcomes);
+        if (agent instanceof BoundSensing boundSensing) {
+          for (BoundSensor boundSensor : boundSensing.boundSensors()) {
+            sense(boundSensor, agent);
+          }
         }
-      });
-      agentActionOutcomes.put(agent, outcomes);
-      agentEnergyConsumptions.put(agent, agentEnergies);
+        //noinspection unchecked,rawtypes
+        List<ActionOutcome<?, ?>> outcomes = (List) actions.stream()
+            .map(action -> perform(action, agent))
+            .toList();
+        Map<EnergyConsumingAction.Type, Double> agentEnergies = new EnumMap<>(
+            EnergyConsumingAction.Type.class
+        );
+        outcomes.forEach(outcome -> {
+          //noinspection rawtypes
+          if (outcome.action() instanceof EnergyConsumingAction ecAction) {
+            //noinspection unchecked
+            Map<EnergyConsumingAction.Type, Double> energies = ecAction.energy(
+                outcome.outcome()
+                    .orElseThrow(
+                        () -> new RuntimeException(
+                            "Energy consuming action wrongly returns an empty outcome"
+                        )
+                    )
+            );
+            energies.forEach(
+                (type, value) -> agentEnergies.compute(
+                    type,
+                    (t, oldV) -> oldV == null ? value : (oldV + value)
+                )
+            );
+          }
+        });
+        agentActionOutcomes.put(agent, outcomes);
+        agentEnergyConsumptions.put(agent, agentEnergies);
+      }
     }
     lastNFCMessages = newNFCMessages;
     Instant innerTickStartingInstant = Instant.now();
@@ -425,6 +591,8 @@ public abstract class AbstractEngine implements Engine, Profiled {
     t.set(newT);
     times.get(EngineSnapshot.TimeType.INNER_TICK)
         .add(Duration.between(innerTickStartingInstant, Instant.now()).toNanos() / 1000000000d);
+    // update bounding boxes
+    updateAgentBoundingBoxes();
     // update energies
     agentEnergyConsumptions
         .forEach(
@@ -445,6 +613,59 @@ public abstract class AbstractEngine implements Engine, Profiled {
     agentActionsFilters.remove(agent);
   }
 
+  @Override
+  public void reset() {
+    innerReset();
+    bodies.clear();
+    agents.clear();
+    agentActionOutcomes.clear();
+    agentEnergyConsumptions.clear();
+    agentActionsFilters.clear();
+    lastTickPerformedActions.clear();
+    lastNFCMessages = new NFCMessageIndex(configuration.nfcDistanceRange, configuration.nfcChannels);
+    agentBoundingBoxes.clear();
+    agentBoundingBoxesUpToDate = false;
+    t.set(0d);
+    times.values().forEach(time -> time.set(0d));
+    counters.values().forEach(counter -> counter.set(0));
+    startingInstant = Instant.now();
+  }
+
+  @Override
+  public void restore(Checkpoint checkpoint) {
+    if (!(checkpoint instanceof EngineCheckpoint engineCheckpoint)) {
+      throw new IllegalArgumentException(
+          "Unsupported checkpoint type: %s".formatted(checkpoint.getClass().getSimpleName())
+      );
+    }
+    if (!engineCheckpoint.engineKey().equals(checkpointKey())) {
+      throw new IllegalArgumentException(
+          "Cannot restore into %s a checkpoint of an engine of another type or configuration".formatted(
+              getClass().getSimpleName()
+          )
+      );
+    }
+    if (agents.size() != engineCheckpoint.nOfAgents()) {
+      throw new IllegalArgumentException(
+          "Incompatible checkpoint: %d agents instead of %d".formatted(
+              engineCheckpoint.nOfAgents(),
+              agents.size()
+          )
+      );
+    }
+    // the state goes on the bodies of the current agents, which have to be built and placed as the checkpointed ones
+    innerRestore(engineCheckpoint.innerCheckpoint());
+    t.set(engineCheckpoint.t());
+    engineCheckpoint.counters().forEach((type, value) -> counters.get(type).set(value));
+    lastNFCMessages = engineCheckpoint.lastNFCMessages();
+    // agents go on as if they were just added
+    lastTickPerformedActions.clear();
+    agentActionOutcomes.clear();
+    agentEnergyConsumptions.clear();
+    agentBoundingBoxes.clear();
+    agentBoundingBoxesUpToDate = false;
+  }
+
   @FunctionalInterface
   protected interface ActionSolver<A extends Action<O>, O> {
 
@@ -471,6 +692,15 @@ public abstract class AbstractEngine implements Engine, Profiled {
 
   }
 
+  private void updateAgentBoundingBoxes() {
+    for (Agent agent : agents) {
+      if (agent instanceof EmbodiedAgent embodiedAgent && !embodiedAgent.bodyParts().isEmpty()) {
+        agentBoundingBoxes.put(agent, embodiedAgent.boundingBox());
+      }
+    }
+    agentBoundingBoxesUpToDate = true;
+  }
+
   @Override
   public Map<String, Number> values() {
     return Stream.of(
@@ -0,0 +1,253 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.engine;
+
+import io.github.ericmedvet.mrsim2d.core.Action;
+import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
+import io.github.ericmedvet.mrsim2d.core.ActionPerformer;
+import io.github.ericmedvet.mrsim2d.core.Agent;
+import io.github.ericmedvet.mrsim2d.core.actions.AttachClosestAnchors;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateLink;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateRigidBody;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateRotationalJoint;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateUnmovableBody;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateVoxel;
+import io.github.ericmedvet.mrsim2d.core.actions.RotateBody;
+import io.github.ericmedvet.mrsim2d.core.actions.Sense;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateBody;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateBodyAt;
+import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
+import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
+import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class Blueprint {
+
+  private final List<Step> steps;
+  private final int nOfBodies;
+
+  private Blueprint(List<Step> steps, int nOfBodies) {
+    this.steps = steps;
+    this.nOfBodies = nOfBodies;
+  }
+
+  private sealed interface Step {
+    boolean byAgent();
+  }
+
+  private record Creation(Action<? extends Body> action, boolean byAgent) implements Step {}
+
+  private record Translation(int body, Point translation, boolean byAgent) implements Step {}
+
+  private record TranslationAt(int body, BoundingBox.Anchor anchor, Point destination, boolean byAgent)
+      implements Step {}
+
+  private record Rotation(int body, Point point, double angle, boolean byAgent) implements Step {}
+
+  private record Linking(
+      int sourceBody, int sourceAnchor, int destinationBody, int destinationAnchor, Anchor.Link.Type type,
+      boolean byAgent
+  ) implements Step {}
+
+  private record Attaching(
+      int nOfAnchors, int sourceBody, int targetBody, Anchor.Link.Type type, boolean byAgent
+  ) implements Step {}
+
+  public static class Cache {
+    private final Map<Object, Blueprint> blueprints;
+
+    public Cache(int capacity) {
+      blueprints = Collections.synchronizedMap(
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Blueprint> eldest) {
+              return size() > capacity;
+            }
+          }
+      );
+    }
+
+    Optional<Blueprint> get(Object key) {
+      return Optional.ofNullable(blueprints.get(key));
+    }
+
+    void put(Object key, Blueprint blueprint) {
+      blueprints.put(key, blueprint);
+    }
+  }
+
+  public static class Recorder {
+    private final List<Step> steps;
+    private final Map<Body, Integer> bodyIndexes;
+    private boolean replayable;
+
+    public Recorder() {
+      steps = new ArrayList<>();
+      bodyIndexes = new IdentityHashMap<>();
+      replayable = true;
+    }
+
+    private int anchorIndex(Anchor anchor) {
+      if (!(anchor.anchorable() instanceof Anchorable anchorable) || !bodyIndexes.containsKey(anchorable)) {
+        return -1;
+      }
+      // anchors are compared by identity, as different anchors of the same body may be equal
+      List<Anchor> anchors = anchorable.anchors();
+      for (int i = 0; i < anchors.size(); i = i + 1) {
+        if (anchors.get(i) == anchor) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    public Optional<Blueprint> blueprint() {
+      if (!replayable) {
+        return Optional.empty();
+      }
+      return Optional.of(new Blueprint(Collections.unmodifiableList(new ArrayList<>(steps)), bodyIndexes.size()));
+    }
+
+    private int bodyIndex(Object body) {
+      Integer index = body instanceof Body b ? bodyIndexes.get(b) : null;
+      if (index == null) {
+        replayable = false;
+        return -1;
+      }
+      return index;
+    }
+
+    public void record(Action<?> action, ActionOutcome<?, ?> outcome) {
+      // actions are recorded as requested by the agent, composite ones included, hence replayed as they are performed
+      if (!replayable) {
+        return;
+      }
+      boolean byAgent = outcome.agent() != null;
+      switch (action) {
+        case CreateVoxel a -> recordCreation(a, outcome, byAgent);
+        case CreateRigidBody a -> recordCreation(a, outcome, byAgent);
+        case CreateRotationalJoint a -> recordCreation(a, outcome, byAgent);
+        case CreateUnmovableBody a -> recordCreation(a, outcome, byAgent);
+        case TranslateBody a -> {
+          int body = bodyIndex(a.body());
+          if (replayable) {
+            steps.add(new Translation(body, a.translation(), byAgent));
+          }
+        }
+        case TranslateBodyAt a -> {
+          int body = bodyIndex(a.body());
+          if (replayable) {
+            steps.add(new TranslationAt(body, a.anchor(), a.destination(), byAgent));
+          }
+        }
+        case RotateBody a -> {
+          int body = bodyIndex(a.body());
+          if (replayable) {
+            steps.add(new Rotation(body, a.point(), a.angle(), byAgent));
+          }
+        }
+        case CreateLink a -> {
+          int sourceAnchor = anchorIndex(a.source());
+          int destinationAnchor = anchorIndex(a.destination());
+          if (sourceAnchor < 0 || destinationAnchor < 0) {
+            replayable = false;
+          } else {
+            steps.add(
+                new Linking(
+                    bodyIndexes.get(a.source().anchorable()),
+                    sourceAnchor,
+                    bodyIndexes.get(a.destination().anchorable()),
+                    destinationAnchor,
+                    a.type(),
+                    byAgent
+                )
+            );
+          }
+        }
+        case AttachClosestAnchors a -> {
+          int sourceBody = bodyIndex(a.sourceAnchorable());
+          int targetBody = bodyIndex(a.targetAnchorable());
+          if (replayable) {
+            steps.add(new Attaching(a.nOfAnchors(), sourceBody, targetBody, a.type(), byAgent));
+          }
+        }
+        // sensing does not change bodies
+        case Sense<?> a -> {}
+        default -> replayable = false;
+      }
+    }
+
+    private void recordCreation(Action<? extends Body> action, ActionOutcome<?, ?> outcome, boolean byAgent) {
+      if (outcome.outcome().isPresent() && outcome.outcome().get() instanceof Body body) {
+        bodyIndexes.put(body, bodyIndexes.size());
+        steps.add(new Creation(action, byAgent));
+      } else {
+        replayable = false;
+      }
+    }
+  }
+
+  public List<Body> instantiate(ActionPerformer performer, Agent agent) throws ActionException {
+    List<Body> bodies = new ArrayList<>(nOfBodies);
+    for (Step step : steps) {
+      Agent stepAgent = step.byAgent() ? agent : null;
+      switch (step) {
+        case Creation s -> bodies.add(
+            performer.perform(s.action(), stepAgent)
+                .outcome()
+                .orElseThrow(() -> new ActionException(s.action(), "Cannot create body"))
+        );
+        case Translation s -> performer.perform(new TranslateBody(bodies.get(s.body()), s.translation()), stepAgent);
+        case TranslationAt s -> performer.perform(
+            new TranslateBodyAt(bodies.get(s.body()), s.anchor(), s.destination()),
+            stepAgent
+        );
+        case Rotation s -> performer.perform(new RotateBody(bodies.get(s.body()), s.point(), s.angle()), stepAgent);
+        case Linking s -> performer.perform(
+            new CreateLink(
+                ((Anchorable) bodies.get(s.sourceBody())).anchors().get(s.sourceAnchor()),
+                ((Anchorable) bodies.get(s.destinationBody())).anchors().get(s.destinationAnchor()),
+                s.type()
+            ),
+            stepAgent
+        );
+        case Attaching s -> performer.perform(
+            new AttachClosestAnchors(
+                s.nOfAnchors(),
+                (Anchorable) bodies.get(s.sourceBody()),
+                (Anchorable) bodies.get(s.targetBody()),
+                s.type()
+            ),
+            stepAgent
+        );
+      }
+    }
+    return bodies;
+  }
+}
@@ -21,6 +21,8 @@ package io.github.ericmedvet.mrsim2d.core.engine;
 
 public interface ConfigurableEngine extends Engine {
 
+  ConfigurableEngine setBlueprintCache(Blueprint.Cache blueprintCache);
+
   ConfigurableEngine setTimeStep(double dT);
 
 }
@@ -22,12 +22,47 @@ package io.github.ericmedvet.mrsim2d.core.engine;
 
 import io.github.ericmedvet.mrsim2d.core.Action;
 import io.github.ericmedvet.mrsim2d.core.Agent;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
 import io.github.ericmedvet.mrsim2d.core.Environment;
+import io.github.ericmedvet.mrsim2d.core.Snapshot;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
 import java.util.function.UnaryOperator;
 
 public interface Engine extends Environment {
 
+  interface Checkpoint {
+    double t();
+  }
+
+  BoundingBox boundingBox(EmbodiedAgent agent);
+
+  default Checkpoint checkpoint() {
+    throw new UnsupportedOperationException(
+        "Checkpoints are not supported by %s".formatted(getClass().getSimpleName())
+    );
+  }
+
+  default Object checkpointKey() {
+    throw new UnsupportedOperationException(
+        "Checkpoints are not supported by %s".formatted(getClass().getSimpleName())
+    );
+  }
+
+  Snapshot passiveTick();
+
   <A extends Action<O>, O> void registerActionsFilter(Agent agent, UnaryOperator<A> operator);
 
   void removeActionsFilter(Agent agent);
+
+  default void reset() {
+    throw new UnsupportedOperationException(
+        "Reset is not supported by %s".formatted(getClass().getSimpleName())
+    );
+  }
+
+  default void restore(Checkpoint checkpoint) {
+    throw new UnsupportedOperationException(
+        "Checkpoints are not supported by %s".formatted(getClass().getSimpleName())
+    );
+  }
 }
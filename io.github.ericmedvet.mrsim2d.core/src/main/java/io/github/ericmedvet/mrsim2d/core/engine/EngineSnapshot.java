@@ -22,6 +22,7 @@ package io.github.ericmedvet.mrsim2d.core.engine;
 
 import io.github.ericmedvet.mrsim2d.core.*;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
 import java.util.Collection;
 import java.util.Map;
 
@@ -29,6 +30,7 @@ public record EngineSnapshot(
     double t,
     Collection<Body> bodies,
     Map<Agent, Map<EnergyConsumingAction.Type, Double>> agentEnergyConsumptions,
+    Map<Agent, BoundingBox> agentBoundingBoxes,
     Collection<ActionOutcome<?, ?>> actionOutcomes,
     Collection<NFCMessage> nfcMessages,
     Map<TimeType, Double> times,
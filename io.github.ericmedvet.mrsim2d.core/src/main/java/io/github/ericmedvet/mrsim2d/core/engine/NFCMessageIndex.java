@@ -0,0 +1,302 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.engine;
+
+import io.github.ericmedvet.mrsim2d.core.NFCMessage;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class NFCMessageIndex {
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int INITIAL_PARTITION_CAPACITY = 8;
+
+  private final double cellSize;
+  private final int nOfChannels;
+  private final List<Cell> cells;
+  private long[] keys;
+  private Cell[] table;
+
+  public NFCMessageIndex(double cellSize, int nOfChannels) {
+    this.cellSize = cellSize;
+    this.nOfChannels = nOfChannels;
+    cells = new ArrayList<>();
+    keys = new long[INITIAL_CAPACITY];
+    table = new Cell[INITIAL_CAPACITY];
+  }
+
+  private static final class Cell {
+    private final long key;
+    private final List<NFCMessage> messages;
+    private final Partition[] partitions;
+
+    private Cell(long key, int nOfChannels) {
+      this.key = key;
+      messages = new ArrayList<>();
+      partitions = new Partition[nOfChannels];
+    }
+  }
+
+  private static final class Partition {
+    private int size;
+    private double[] xs;
+    private double[] ys;
+    private double[] directions;
+    private double[] values;
+    private double minDirection;
+    private double maxDirection;
+
+    private Partition() {
+      xs = new double[INITIAL_PARTITION_CAPACITY];
+      ys = new double[INITIAL_PARTITION_CAPACITY];
+      directions = new double[INITIAL_PARTITION_CAPACITY];
+      values = new double[INITIAL_PARTITION_CAPACITY];
+      minDirection = Double.POSITIVE_INFINITY;
+      maxDirection = Double.NEGATIVE_INFINITY;
+    }
+
+    private void add(double x, double y, double direction, double value) {
+      if (size == xs.length) {
+        xs = Arrays.copyOf(xs, size * 2);
+        ys = Arrays.copyOf(ys, size * 2);
+        directions = Arrays.copyOf(directions, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      xs[size] = x;
+      ys[size] = y;
+      directions[size] = direction;
+      values[size] = value;
+      minDirection = Math.min(minDirection, direction);
+      maxDirection = Math.max(maxDirection, direction);
+      size = size + 1;
+    }
+  }
+
+  private static long key(int x, int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  private static int slot(long key, int mask) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  public void add(Point p, NFCMessage message) {
+    int channel = message.channel();
+    if (channel < 0 || channel >= nOfChannels) {
+      throw new IllegalArgumentException(
+          "Invalid channel: %d not in [0,%d]".formatted(channel, nOfChannels - 1)
+      );
+    }
+    long key = key((int) Math.floor(p.x() / cellSize), (int) Math.floor(p.y() / cellSize));
+    Cell cell = cell(key);
+    if (cell == null) {
+      cell = new Cell(key, nOfChannels);
+      put(cell);
+    }
+    cell.messages.add(message);
+    if (cell.partitions[channel] == null) {
+      cell.partitions[channel] = new Partition();
+    }
+    cell.partitions[channel].add(p.x(), p.y(), message.direction(), message.value());
+  }
+
+  public Collection<NFCMessage> all() {
+    List<NFCMessage> all = new ArrayList<>();
+    for (Cell cell : cells) {
+      all.addAll(cell.messages);
+    }
+    return all;
+  }
+
+  private Cell cell(long key) {
+    int mask = table.length - 1;
+    int i = slot(key, mask);
+    while (table[i] != null) {
+      if (keys[i] == key) {
+        return table[i];
+      }
+      i = (i + 1) & mask;
+    }
+    return null;
+  }
+
+  private void put(Cell cell) {
+    if ((cells.size() + 1) * 2 > table.length) {
+      keys = new long[table.length * 2];
+      table = new Cell[table.length * 2];
+      cells.forEach(this::insert);
+    }
+    insert(cell);
+    cells.add(cell);
+  }
+
+  private void insert(Cell cell) {
+    int mask = table.length - 1;
+    int i = slot(cell.key, mask);
+    while (table[i] != null) {
+      i = (i + 1) & mask;
+    }
+    keys[i] = cell.key;
+    table[i] = cell;
+  }
+
+  public double sum(Point p, double range, int channel, double direction, double angleRange) {
+    if (channel < 0 || channel >= nOfChannels || cells.isEmpty()) {
+      return 0d;
+    }
+    double x = p.x();
+    double y = p.y();
+    int cX = (int) Math.floor(x / cellSize);
+    int cY = (int) Math.floor(y / cellSize);
+    int keyRadius = (int) Math.ceil(range / cellSize);
+    // compensated sum, replicating DoubleStream.sum()
+    double sum = 0d;
+    double compensation = 0d;
+    double simpleSum = 0d;
+    for (int kX = cX - keyRadius; kX <= cX + keyRadius; kX = kX + 1) {
+      for (int kY = cY - keyRadius; kY <= cY + keyRadius; kY = kY + 1) {
+        Cell cell = cell(key(kX, kY));
+        if (cell == null) {
+          continue;
+        }
+        Partition partition = cell.partitions[channel];
+        if (partition == null) {
+          continue;
+        }
+        // skip partitions whose direction bounds are all within the angle range
+        double minDelta = partition.minDirection - direction;
+        double maxDelta = partition.maxDirection - direction;
+        if (Math.abs(minDelta) < angleRange && Math.abs(maxDelta) < angleRange) {
+          continue;
+        }
+        boolean allDirections = minDelta >= angleRange || maxDelta <= -angleRange;
+        for (int i = 0; i < partition.size; i = i + 1) {
+          double dX = partition.xs[i] - x;
+          double dY = partition.ys[i] - y;
+          if (!(Math.sqrt(dX * dX + dY * dY) <= range)) {
+            continue;
+          }
+          if (!allDirections && !(Math.abs(partition.directions[i] - direction) >= angleRange)) {
+            continue;
+          }
+          double value = partition.values[i];
+          double tmp = value - compensation;
+          double velvel = sum + tmp;
+          compensation = (velvel - sum) - tmp;
+          sum = velvel;
+          simpleSum = simpleSum + value;
+        }
+      }
+    }
+    double tmp = sum - compensation;
+    if (Double.isNaN(tmp) && Double.isInfinite(simpleSum)) {
+      return simpleSum;
+    }
+    return tmp;
+  }
+
+  public void sums(
+      Point[] points,
+      double[] directions,
+      int nOfChannels,
+      double range,
+      double angleRange,
+      double[] sums
+  ) {
+    int n = points.length;
+    Arrays.fill(sums, 0, n * nOfChannels, 0d);
+    int nOfValidChannels = Math.min(nOfChannels, this.nOfChannels);
+    if (nOfValidChannels <= 0 || cells.isEmpty()) {
+      return;
+    }
+    int keyRadius = (int) Math.ceil(range / cellSize);
+    int[] cXs = new int[n];
+    int[] cYs = new int[n];
+    int minCX = Integer.MAX_VALUE;
+    int maxCX = Integer.MIN_VALUE;
+    int minCY = Integer.MAX_VALUE;
+    int maxCY = Integer.MIN_VALUE;
+    for (int p = 0; p < n; p = p + 1) {
+      cXs[p] = (int) Math.floor(points[p].x() / cellSize);
+      cYs[p] = (int) Math.floor(points[p].y() / cellSize);
+      minCX = Math.min(minCX, cXs[p]);
+      maxCX = Math.max(maxCX, cXs[p]);
+      minCY = Math.min(minCY, cYs[p]);
+      maxCY = Math.max(maxCY, cYs[p]);
+    }
+    // compensated sums, replicating DoubleStream.sum(), visiting the cells of each point in the same order of sum()
+    double[] compensations = new double[n * nOfChannels];
+    double[] simpleSums = new double[n * nOfChannels];
+    for (int kX = minCX - keyRadius; kX <= maxCX + keyRadius; kX = kX + 1) {
+      for (int kY = minCY - keyRadius; kY <= maxCY + keyRadius; kY = kY + 1) {
+        Cell cell = cell(key(kX, kY));
+        if (cell == null) {
+          continue;
+        }
+        for (int p = 0; p < n; p = p + 1) {
+          if (Math.abs(kX - cXs[p]) > keyRadius || Math.abs(kY - cYs[p]) > keyRadius) {
+            continue;
+          }
+          double x = points[p].x();
+          double y = points[p].y();
+          double direction = directions[p];
+          for (int channel = 0; channel < nOfValidChannels; channel = channel + 1) {
+            Partition partition = cell.partitions[channel];
+            if (partition == null) {
+              continue;
+            }
+            double minDelta = partition.minDirection - direction;
+            double maxDelta = partition.maxDirection - direction;
+            if (Math.abs(minDelta) < angleRange && Math.abs(maxDelta) < angleRange) {
+              continue;
+            }
+            boolean allDirections = minDelta >= angleRange || maxDelta <= -angleRange;
+            int j = p * nOfChannels + channel;
+            for (int i = 0; i < partition.size; i = i + 1) {
+              double dX = partition.xs[i] - x;
+              double dY = partition.ys[i] - y;
+              if (!(Math.sqrt(dX * dX + dY * dY) <= range)) {
+                continue;
+              }
+              if (!allDirections && !(Math.abs(partition.directions[i] - direction) >= angleRange)) {
+                continue;
+              }
+              double value = partition.values[i];
+              double tmp = value - compensations[j];
+              double velvel = sums[j] + tmp;
+              compensations[j] = (velvel - sums[j]) - tmp;
+              sums[j] = velvel;
+              simpleSums[j] = simpleSums[j] + value;
+            }
+          }
+        }
+      }
+    }
+    for (int j = 0; j < n * nOfChannels; j = j + 1) {
+      double tmp = sums[j] - compensations[j];
+      sums[j] = Double.isNaN(tmp) && Double.isInfinite(simpleSums[j]) ? simpleSums[j] : tmp;
+    }
+  }
+}
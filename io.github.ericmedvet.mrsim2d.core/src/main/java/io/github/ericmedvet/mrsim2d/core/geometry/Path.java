@@ -41,11 +41,7 @@ public record Path(Point[] points) {
   }
 
   public Path add(Path other) {
-    Path path = this;
-    for (Point p : other.points) {
-      path = path.add(p);
-    }
-    return path;
+    return new PathBuilder().add(this).add(other).build();
   }
 
   public Path moveBy(double x, double y) {
@@ -57,11 +53,7 @@ public record Path(Point[] points) {
   }
 
   public Path moveBy(Path other) {
-    Path path = this;
-    for (Point p : other.points) {
-      path = path.add(p.sum(points[points.length - 1]));
-    }
-    return path;
+    return new PathBuilder().add(this).moveBy(other).build();
   }
 
   public Poly toPoly() {
@@ -0,0 +1,103 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.geometry;
+
+import java.util.Arrays;
+
+public class PathBuilder {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private Point[] points;
+  private int size;
+
+  public PathBuilder() {
+    points = new Point[INITIAL_CAPACITY];
+    size = 0;
+  }
+
+  public PathBuilder(Point point) {
+    this();
+    add(point);
+  }
+
+  public PathBuilder add(Point point) {
+    if (size == points.length) {
+      points = Arrays.copyOf(points, points.length * 2);
+    }
+    points[size] = point;
+    size = size + 1;
+    return this;
+  }
+
+  public PathBuilder add(double x, double y) {
+    return add(new Point(x, y));
+  }
+
+  public PathBuilder add(Path path) {
+    for (Point p : path.points()) {
+      add(p);
+    }
+    return this;
+  }
+
+  public Path build() {
+    return new Path(Arrays.copyOf(points, size));
+  }
+
+  public Point get(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("Index %d out of bounds for size %d".formatted(i, size));
+    }
+    return points[i];
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public Point last() {
+    if (size == 0) {
+      throw new IllegalStateException("Cannot get the last point of an empty path");
+    }
+    return points[size - 1];
+  }
+
+  public PathBuilder moveBy(double x, double y) {
+    return moveBy(new Point(x, y));
+  }
+
+  public PathBuilder moveBy(Point point) {
+    return add(last().sum(point));
+  }
+
+  public PathBuilder moveBy(Path path) {
+    Point last = last();
+    for (Point p : path.points()) {
+      add(p.sum(last));
+    }
+    return this;
+  }
+
+  public int size() {
+    return size;
+  }
+}
@@ -25,21 +25,65 @@ import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
-public record Terrain(Poly poly, DoubleRange withinBordersXRange) {
+public record Terrain(
+    Poly poly, DoubleRange withinBordersXRange, double[] xBreakpoints, List<Poly> convexParts
+) {
 
-  public double maxHeightAt(DoubleRange xRange) {
-    List<Double> xs = new ArrayList<>(
-        Arrays.stream(poly().vertexes())
-            .filter(v -> v.x() >= xRange.min() && v.x() <= xRange.max())
-            .map(Point::x)
-            .toList()
+  public Terrain(Poly poly, DoubleRange withinBordersXRange) {
+    this(poly, withinBordersXRange, new double[0], List.of());
+  }
+
+  public static Terrain fromPath(Path partialPath, double terrainH, double borderW, double borderH) {
+    return new TerrainBuilder(terrainH, borderW, borderH).add(partialPath).build();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Terrain terrain)) {
+      return false;
+    }
+    // polys and breakpoints are arrays, hence compared by content
+    return Arrays.equals(poly.vertexes(), terrain.poly.vertexes())
+        && withinBordersXRange.equals(terrain.withinBordersXRange)
+        && Arrays.equals(xBreakpoints, terrain.xBreakpoints)
+        && vertexes(convexParts).equals(vertexes(terrain.convexParts));
+  }
+
+  private static List<List<Point>> vertexes(List<Poly> polies) {
+    return polies.stream().map(p -> Arrays.asList(p.vertexes())).toList();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(Arrays.hashCode(poly.vertexes()), withinBordersXRange, Arrays.hashCode(xBreakpoints));
+  }
+
+  @Override
+  public String toString() {
+    return "Terrain[poly=%s, withinBordersXRange=%s, xBreakpoints=%s, convexParts=%s]".formatted(
+        poly,
+        withinBordersXRange,
+        Arrays.toString(xBreakpoints),
+        convexParts
     );
+  }
+
+  public double maxHeightAt(DoubleRange xRange) {
+    double[] vertexXs = xBreakpoints.length > 0 ? breakpointsWithin(xRange) : Arrays.stream(poly().vertexes())
+        .mapToDouble(Point::x)
+        .filter(x -> x >= xRange.min() && x <= xRange.max())
+        .toArray();
+    List<Double> xs = new ArrayList<>(Arrays.stream(vertexXs).boxed().toList());
     xs.add(xRange.min());
     xs.add(xRange.max());
     return xs.stream()
         .distinct()
-        .mapToDouble(x -> PolyUtils.maxYAtX(poly, x))
+        .mapToDouble(this::maxYAtX)
         .filter(d -> !Double.isNaN(d))
         .max()
         .orElseThrow(
@@ -49,18 +93,47 @@ public record Terrain(Poly poly, DoubleRange withinBordersXRange) {
         );
   }
 
-  public static Terrain fromPath(Path partialPath, double terrainH, double borderW, double borderH) {
-    Path path = new Path(Point.ORIGIN)
-        .moveBy(0, borderH)
-        .moveBy(borderW, 0)
-        .moveBy(0, -borderH)
-        .moveBy(partialPath)
-        .moveBy(0, borderH)
-        .moveBy(borderW, 0)
-        .moveBy(0, -borderH);
-    double maxX = Arrays.stream(path.points()).mapToDouble(Point::x).max().orElse(borderW);
-    double minY = Arrays.stream(path.points()).mapToDouble(Point::y).min().orElse(borderW);
-    path = path.add(maxX, minY - terrainH).moveBy(-maxX, 0);
-    return new Terrain(path.toPoly(), new DoubleRange(borderW, maxX - borderW));
+  public double maxYAtX(double x) {
+    if (xBreakpoints.length == 0) {
+      return PolyUtils.maxYAtX(poly, x);
+    }
+    // bottom side, then top sides whose x-range contains x
+    Point[] vertexes = poly.vertexes();
+    double maxY = PolyUtils.yAtX(
+        new Segment(vertexes[vertexes.length - 2], vertexes[vertexes.length - 1]),
+        x
+    );
+    for (int i = Math.max(0, lowerBound(x) - 1); i < xBreakpoints.length - 1 && xBreakpoints[i] <= x; i = i + 1) {
+      if (xBreakpoints[i + 1] >= x && xBreakpoints[i + 1] != xBreakpoints[i]) {
+        double y = PolyUtils.yAtX(new Segment(vertexes[i], vertexes[i + 1]), x);
+        if (!Double.isNaN(y)) {
+          maxY = Double.isNaN(maxY) ? y : Math.max(maxY, y);
+        }
+      }
+    }
+    return maxY;
+  }
+
+  private double[] breakpointsWithin(DoubleRange xRange) {
+    int from = lowerBound(xRange.min());
+    int to = from;
+    while (to < xBreakpoints.length && xBreakpoints[to] <= xRange.max()) {
+      to = to + 1;
+    }
+    return Arrays.copyOfRange(xBreakpoints, from, to);
+  }
+
+  private int lowerBound(double x) {
+    int lo = 0;
+    int hi = xBreakpoints.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (xBreakpoints[mid] < x) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
   }
 }
@@ -0,0 +1,128 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.geometry;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TerrainBuilder {
+
+  private final double terrainH;
+  private final double borderW;
+  private final double borderH;
+  private final PathBuilder partialPathBuilder;
+
+  public TerrainBuilder(double terrainH, double borderW, double borderH) {
+    this.terrainH = terrainH;
+    this.borderW = borderW;
+    this.borderH = borderH;
+    partialPathBuilder = new PathBuilder();
+  }
+
+  public TerrainBuilder add(Point point) {
+    partialPathBuilder.add(point);
+    return this;
+  }
+
+  public TerrainBuilder add(double x, double y) {
+    return add(new Point(x, y));
+  }
+
+  public TerrainBuilder add(Path path) {
+    partialPathBuilder.add(path);
+    return this;
+  }
+
+  public Terrain build() {
+    // build path with borders
+    PathBuilder pathBuilder = new PathBuilder(Point.ORIGIN)
+        .moveBy(0, borderH)
+        .moveBy(borderW, 0)
+        .moveBy(0, -borderH);
+    Point partialPathOrigin = pathBuilder.last();
+    for (int i = 0; i < partialPathBuilder.size(); i = i + 1) {
+      pathBuilder.add(partialPathBuilder.get(i).sum(partialPathOrigin));
+    }
+    pathBuilder
+        .moveBy(0, borderH)
+        .moveBy(borderW, 0)
+        .moveBy(0, -borderH);
+    int nOfTopPoints = pathBuilder.size();
+    double maxX = Double.NEGATIVE_INFINITY;
+    double minY = Double.POSITIVE_INFINITY;
+    boolean xMonotone = true;
+    for (int i = 0; i < nOfTopPoints; i = i + 1) {
+      Point p = pathBuilder.get(i);
+      maxX = Math.max(maxX, p.x());
+      minY = Math.min(minY, p.y());
+      if (i > 0 && p.x() < pathBuilder.get(i - 1).x()) {
+        xMonotone = false;
+      }
+    }
+    double bottomY = minY - terrainH;
+    pathBuilder.add(maxX, bottomY).moveBy(-maxX, 0);
+    Path path = pathBuilder.build();
+    // compute breakpoints and convex parts, if top is a x-monotone function above bottom
+    if (!xMonotone || pathBuilder.get(nOfTopPoints - 1).x() != maxX || !(bottomY < minY)) {
+      return new Terrain(path.toPoly(), new DoubleRange(borderW, maxX - borderW));
+    }
+    double[] xBreakpoints = new double[nOfTopPoints];
+    List<Poly> convexParts = new ArrayList<>();
+    for (int i = 0; i < nOfTopPoints; i = i + 1) {
+      Point p = pathBuilder.get(i);
+      xBreakpoints[i] = p.x();
+      if (i > 0) {
+        Point prevP = pathBuilder.get(i - 1);
+        if (prevP.x() < p.x()) {
+          convexParts.add(
+              new Poly(
+                  new Point(prevP.x(), bottomY),
+                  new Point(p.x(), bottomY),
+                  p,
+                  prevP
+              )
+          );
+        }
+      }
+    }
+    return new Terrain(
+        path.toPoly(),
+        new DoubleRange(borderW, maxX - borderW),
+        xBreakpoints,
+        convexParts
+    );
+  }
+
+  public TerrainBuilder moveBy(double x, double y) {
+    return moveBy(new Point(x, y));
+  }
+
+  public TerrainBuilder moveBy(Point point) {
+    partialPathBuilder.moveBy(point);
+    return this;
+  }
+
+  public TerrainBuilder moveBy(Path path) {
+    partialPathBuilder.moveBy(path);
+    return this;
+  }
+}
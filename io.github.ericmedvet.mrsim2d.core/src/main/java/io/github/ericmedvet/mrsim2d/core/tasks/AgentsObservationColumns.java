@@ -0,0 +1,330 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import java.util.*;
+
+class AgentsObservationColumns {
+
+  private final AgentsObservation[] observations;
+  private final double[] ts;
+  private final int[] agentOffsets;
+  private final Map<AgentsOutcome.Key, double[]> metricColumns;
+  private double[] centerXs;
+  private double[] centerYs;
+  private double[] terrainHeights;
+  private double[] minXs;
+  private double[] minYs;
+  private double[] maxXs;
+  private double[] maxYs;
+  private double[] energyConsumptions;
+
+  AgentsObservationColumns(SortedMap<Double, ? extends AgentsObservation> observations) {
+    this.observations = observations.values().toArray(AgentsObservation[]::new);
+    ts = observations.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+    // agents of the i-th observation are at [agentOffsets[i], agentOffsets[i+1]) in the agent columns
+    agentOffsets = new int[this.observations.length + 1];
+    for (int i = 0; i < this.observations.length; i = i + 1) {
+      agentOffsets[i + 1] = agentOffsets[i] + this.observations[i].getAgents().size();
+    }
+    metricColumns = new HashMap<>();
+  }
+
+  private static final class CompensatedSum {
+    private double sum;
+    private double compensation;
+    private double simpleSum;
+    private int count;
+
+    // replicating DoubleStream.sum() and DoubleStream.average()
+    private void add(double value) {
+      double tmp = value - compensation;
+      double velvel = sum + tmp;
+      compensation = (velvel - sum) - tmp;
+      sum = velvel;
+      simpleSum = simpleSum + value;
+      count = count + 1;
+    }
+
+    private double average() {
+      return count > 0 ? sum() / (double) count : 0d;
+    }
+
+    private double sum() {
+      double tmp = sum - compensation;
+      if (Double.isNaN(tmp) && Double.isInfinite(simpleSum)) {
+        return simpleSum;
+      }
+      return tmp;
+    }
+  }
+
+  private static double area(double minX, double minY, double maxX, double maxY) {
+    // replicating BoundingBox.area()
+    return (maxX - minX) * (maxY) - minY;
+  }
+
+  private static AgentsOutcome.Key pair(AgentsOutcome.Metric metric, AgentsOutcome.Subject subject) {
+    return new AgentsOutcome.Key(metric, AgentsOutcome.Aggregate.INITIAL, subject);
+  }
+
+  private static double average(double v1, double v2) {
+    CompensatedSum sum = new CompensatedSum();
+    sum.add(v1);
+    sum.add(v2);
+    return sum.average();
+  }
+
+  static boolean needsAgents(AgentsOutcome.Metric metric, AgentsOutcome.Subject subject) {
+    return subject.equals(AgentsOutcome.Subject.FIRST) || !(metric.equals(AgentsOutcome.Metric.AVG_X) || metric
+        .equals(AgentsOutcome.Metric.TERRAIN_H) || metric.equals(AgentsOutcome.Metric.ENERGY_CONSUMPTION));
+  }
+
+  double aggregate(
+      AgentsOutcome.Aggregate aggregate,
+      AgentsOutcome.Metric metric,
+      AgentsOutcome.Subject subject,
+      int from,
+      int to
+  ) {
+    AgentsOutcome.Key key = new AgentsOutcome.Key(metric, aggregate, subject);
+    Double value = aggregates(List.of(key), from, to).get(key);
+    if (value == null) {
+      int i = from;
+      while (!Double.isNaN(column(metric, subject)[i])) {
+        i = i + 1;
+      }
+      throw new IllegalStateException(
+          "Cannot compute %s of %s: no agents at t=%f".formatted(aggregate, metric, ts[i])
+      );
+    }
+    return value;
+  }
+
+  Map<AgentsOutcome.Key, Double> aggregates(Collection<AgentsOutcome.Key> keys, int from, int to) {
+    List<AgentsOutcome.Key> pairs = keys.stream().map(k -> pair(k.metric(), k.subject())).distinct().toList();
+    double[][] columns = columns(pairs);
+    CompensatedSum[] sums = new CompensatedSum[pairs.size()];
+    double[] mins = new double[pairs.size()];
+    double[] maxs = new double[pairs.size()];
+    boolean[] undefined = new boolean[pairs.size()];
+    for (int j = 0; j < pairs.size(); j = j + 1) {
+      sums[j] = new CompensatedSum();
+    }
+    // one pass over observations for all the pairs
+    for (int i = from; i < to; i = i + 1) {
+      for (int j = 0; j < columns.length; j = j + 1) {
+        double value = columns[j][i];
+        // undefined values are marked as NaN, since actual NaN values are mapped to -infinity
+        if (Double.isNaN(value)) {
+          undefined[j] = true;
+          continue;
+        }
+        sums[j].add(value);
+        mins[j] = i == from ? value : Math.min(mins[j], value);
+        maxs[j] = i == from ? value : Math.max(maxs[j], value);
+      }
+    }
+    Map<AgentsOutcome.Key, Double> values = new HashMap<>();
+    for (AgentsOutcome.Key key : keys) {
+      int j = pairs.indexOf(pair(key.metric(), key.subject()));
+      if (!undefined[j]) {
+        values.put(
+            key,
+            switch (key.aggregate()) {
+              case AVERAGE -> sums[j].average();
+              case SUM -> sums[j].sum();
+              case MIN -> mins[j];
+              case MAX -> maxs[j];
+              default -> throw new IllegalArgumentException("Unexpected aggregate %s".formatted(key.aggregate()));
+            }
+        );
+      }
+    }
+    return values;
+  }
+
+  private double[] column(AgentsOutcome.Metric metric, AgentsOutcome.Subject subject) {
+    return columns(List.of(pair(metric, subject)))[0];
+  }
+
+  private double[][] columns(List<AgentsOutcome.Key> pairs) {
+    List<AgentsOutcome.Key> missingPairs = pairs.stream().filter(p -> !metricColumns.containsKey(p)).toList();
+    if (!missingPairs.isEmpty()) {
+      // missing columns are computed in one pass over observations
+      double[][] missingColumns = new double[missingPairs.size()][ts.length];
+      for (int i = 0; i < ts.length; i = i + 1) {
+        for (int j = 0; j < missingColumns.length; j = j + 1) {
+          missingColumns[j][i] = value(
+              missingPairs.get(j).metric(),
+              missingPairs.get(j).subject(),
+              agentOffsets[i],
+              agentOffsets[i + 1]
+          );
+        }
+      }
+      for (int j = 0; j < missingColumns.length; j = j + 1) {
+        metricColumns.put(missingPairs.get(j), missingColumns[j]);
+      }
+    }
+    return pairs.stream().map(metricColumns::get).toArray(double[][]::new);
+  }
+
+  private void fillBoundingBoxes() {
+    if (minXs == null) {
+      minXs = new double[agentOffsets[ts.length]];
+      minYs = new double[minXs.length];
+      maxXs = new double[minXs.length];
+      maxYs = new double[minXs.length];
+      for (int i = 0; i < observations.length; i = i + 1) {
+        List<BoundingBox> boundingBoxes = observations[i].getBoundingBoxes();
+        for (int j = 0; j < boundingBoxes.size(); j = j + 1) {
+          minXs[agentOffsets[i] + j] = boundingBoxes.get(j).min().x();
+          minYs[agentOffsets[i] + j] = boundingBoxes.get(j).min().y();
+          maxXs[agentOffsets[i] + j] = boundingBoxes.get(j).max().x();
+          maxYs[agentOffsets[i] + j] = boundingBoxes.get(j).max().y();
+        }
+      }
+    }
+  }
+
+  private void fillCenters() {
+    if (centerXs == null) {
+      centerXs = new double[agentOffsets[ts.length]];
+      centerYs = new double[centerXs.length];
+      terrainHeights = new double[centerXs.length];
+      for (int i = 0; i < observations.length; i = i + 1) {
+        List<Point> centers = observations[i].getCenters();
+        List<AgentsObservation.Agent> agents = observations[i].getAgents();
+        for (int j = 0; j < centers.size(); j = j + 1) {
+          centerXs[agentOffsets[i] + j] = centers.get(j).x();
+          centerYs[agentOffsets[i] + j] = centers.get(j).y();
+          terrainHeights[agentOffsets[i] + j] = agents.get(j).terrainHeight();
+        }
+      }
+    }
+  }
+
+  private void fillEnergyConsumptions() {
+    if (energyConsumptions == null) {
+      energyConsumptions = new double[agentOffsets[ts.length]];
+      for (int i = 0; i < observations.length; i = i + 1) {
+        List<Double> agentEnergyConsumptions = observations[i].getEnergyConsumptions();
+        for (int j = 0; j < agentEnergyConsumptions.size(); j = j + 1) {
+          energyConsumptions[agentOffsets[i] + j] = agentEnergyConsumptions.get(j);
+        }
+      }
+    }
+  }
+
+  int indexOf(double t, int from, int to) {
+    int index = Arrays.binarySearch(ts, from, to, t);
+    return index >= 0 ? index : (-index - 1);
+  }
+
+  int size() {
+    return ts.length;
+  }
+
+  private double value(AgentsOutcome.Metric metric, AgentsOutcome.Subject subject, int from, int to) {
+    if (from == to && needsAgents(metric, subject)) {
+      return Double.NaN;
+    }
+    double value;
+    if (subject.equals(AgentsOutcome.Subject.FIRST)) {
+      switch (metric) {
+        case X, Y, AVG_X, TERRAIN_H -> fillCenters();
+        case ENERGY_CONSUMPTION -> fillEnergyConsumptions();
+        default -> fillBoundingBoxes();
+      }
+      value = switch (metric) {
+        case X, AVG_X -> centerXs[from];
+        case Y -> centerYs[from];
+        case TERRAIN_H -> centerYs[from] - terrainHeights[from];
+        case BB_AREA -> area(minXs[from], minYs[from], maxXs[from], maxYs[from]);
+        case BB_W -> maxXs[from] - minXs[from];
+        case BB_H -> maxYs[from] - minYs[from];
+        case BB_MIN_X -> minXs[from];
+        case BB_MIN_Y -> minYs[from];
+        case BB_MAX_X -> maxXs[from];
+        case BB_MAX_Y -> maxYs[from];
+        case ENERGY_CONSUMPTION -> energyConsumptions[from];
+      };
+    } else {
+      value = switch (metric) {
+        case AVG_X -> {
+          fillCenters();
+          CompensatedSum sum = new CompensatedSum();
+          for (int j = from; j < to; j = j + 1) {
+            sum.add(centerXs[j]);
+          }
+          yield sum.average();
+        }
+        case TERRAIN_H -> {
+          fillCenters();
+          CompensatedSum sum = new CompensatedSum();
+          for (int j = from; j < to; j = j + 1) {
+            sum.add(centerYs[j] - terrainHeights[j]);
+          }
+          yield sum.average();
+        }
+        case ENERGY_CONSUMPTION -> {
+          fillEnergyConsumptions();
+          // replicating reduce(Double::sum)
+          double sum = from < to ? energyConsumptions[from] : 0d;
+          for (int j = from + 1; j < to; j = j + 1) {
+            sum = sum + energyConsumptions[j];
+          }
+          yield sum;
+        }
+        default -> {
+          fillBoundingBoxes();
+          // enclosing bounding box, replicating BoundingBox.enclosing()
+          double minX = minXs[from];
+          double minY = minYs[from];
+          double maxX = maxXs[from];
+          double maxY = maxYs[from];
+          for (int j = from + 1; j < to; j = j + 1) {
+            minX = Math.min(minX, minXs[j]);
+            minY = Math.min(minY, minYs[j]);
+            maxX = Math.max(maxX, maxXs[j]);
+            maxY = Math.max(maxY, maxYs[j]);
+          }
+          yield switch (metric) {
+            case X -> average(minX, maxX);
+            case Y -> average(minY, maxY);
+            case BB_AREA -> area(minX, minY, maxX, maxY);
+            case BB_W -> maxX - minX;
+            case BB_H -> maxY - minY;
+            case BB_MIN_X -> minX;
+            case BB_MIN_Y -> minY;
+            case BB_MAX_X -> maxX;
+            case BB_MAX_Y -> maxY;
+            default -> throw new IllegalArgumentException("Unexpected metric %s".formatted(metric));
+          };
+        }
+      };
+    }
+    return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+  }
+}
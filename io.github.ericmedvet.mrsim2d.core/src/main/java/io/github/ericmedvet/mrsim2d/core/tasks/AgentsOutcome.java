@@ -23,9 +23,7 @@ import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.jsdynsym.control.Simulation;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.SortedMap;
+import java.util.*;
 
 public class AgentsOutcome<O extends AgentsObservation> implements Simulation.Outcome<O> {
 
@@ -33,26 +31,93 @@ public class AgentsOutcome<O extends AgentsObservation> implements Simulation.Ou
   protected final SortedMap<Double, O> observations;
   private final Map<Key, Double> metricMap;
   private final Map<DoubleRange, AgentsOutcome<O>> subOutcomes;
+  private final boolean accumulated;
+  private final boolean truncated;
+  private final Map<Double, AgentsOutcome<O>> transientSubOutcomes;
+  private Set<Key> declaredKeys;
+  private AgentsObservationColumns columns;
+  private int fromIndex;
+  private int toIndex;
 
   public AgentsOutcome(SortedMap<Double, O> observations) {
+    this(observations, false, false, Map.of(), Map.of());
+  }
+
+  protected AgentsOutcome(AgentsOutcome<O> outcome) {
+    this(
+        outcome.observations,
+        outcome.accumulated,
+        outcome.truncated,
+        outcome.metricMap,
+        outcome.transientSubOutcomes,
+        outcome.columns,
+        outcome.fromIndex,
+        outcome.toIndex
+    );
+    declaredKeys = outcome.declaredKeys;
+  }
+
+  AgentsOutcome(
+      SortedMap<Double, O> observations,
+      boolean accumulated,
+      boolean truncated,
+      Map<Key, Double> metricValues,
+      Map<Double, AgentsOutcome<O>> transientSubOutcomes
+  ) {
+    this(observations, accumulated, truncated, metricValues, transientSubOutcomes, null, 0, 0);
+  }
+
+  private AgentsOutcome(
+      SortedMap<Double, O> observations,
+      boolean accumulated,
+      boolean truncated,
+      Map<Key, Double> metricValues,
+      Map<Double, AgentsOutcome<O>> transientSubOutcomes,
+      AgentsObservationColumns columns,
+      int fromIndex,
+      int toIndex
+  ) {
     this.observations = observations;
-    metricMap = new HashMap<>();
+    this.accumulated = accumulated;
+    this.truncated = truncated;
+    this.transientSubOutcomes = transientSubOutcomes;
+    this.columns = columns;
+    this.fromIndex = fromIndex;
+    this.toIndex = toIndex;
+    declaredKeys = Set.of();
+    metricMap = new HashMap<>(metricValues);
     subOutcomes = new HashMap<>();
   }
 
-  private enum Aggregate {
+  public enum Aggregate {
     INITIAL, FINAL, AVERAGE, MIN, MAX, SUM
   }
 
-  private enum Metric {
+  public enum Metric {
     X, Y, AVG_X, TERRAIN_H, BB_W, BB_H, BB_AREA, BB_MAX_X, BB_MAX_Y, BB_MIN_X, BB_MIN_Y, ENERGY_CONSUMPTION
   }
 
-  private enum Subject {
+  public enum Subject {
     FIRST, ALL
   }
 
-  private record Key(Metric metric, Aggregate aggregate, Subject subject) {}
+  public record Key(Metric metric, Aggregate aggregate, Subject subject) {}
+
+  public static List<Key> keys(
+      Collection<Metric> metrics,
+      Collection<Aggregate> aggregates,
+      Collection<Subject> subjects
+  ) {
+    List<Key> keys = new ArrayList<>();
+    for (Metric metric : metrics) {
+      for (Aggregate aggregate : aggregates) {
+        for (Subject subject : subjects) {
+          keys.add(new Key(metric, aggregate, subject));
+        }
+      }
+    }
+    return keys;
+  }
 
   public double allAgentsAverageHeight() {
     return get(Aggregate.AVERAGE, Metric.BB_H, Subject.ALL);
@@ -118,6 +183,36 @@ public class AgentsOutcome<O extends AgentsObservation> implements Simulation.Ou
     return get(Aggregate.MAX, Metric.BB_W, Subject.ALL);
   }
 
+  private AgentsObservationColumns columns() {
+    if (columns == null) {
+      columns = new AgentsObservationColumns(observations);
+      fromIndex = 0;
+      toIndex = columns.size();
+    }
+    return columns;
+  }
+
+  private void compute(Collection<Key> keys) {
+    if (accumulated) {
+      return;
+    }
+    List<Key> missingKeys = keys.stream()
+        .filter(k -> !k.aggregate().equals(Aggregate.INITIAL) && !k.aggregate().equals(Aggregate.FINAL))
+        .filter(k -> !metricMap.containsKey(k))
+        .distinct()
+        .toList();
+    if (!missingKeys.isEmpty()) {
+      metricMap.putAll(columns().aggregates(missingKeys, fromIndex, toIndex));
+    }
+  }
+
+  public AgentsOutcome<O> declare(Collection<Key> keys) {
+    Set<Key> allKeys = new HashSet<>(declaredKeys);
+    allKeys.addAll(keys);
+    declaredKeys = Collections.unmodifiableSet(allKeys);
+    return this;
+  }
+
   public double duration() {
     return observations.lastKey() - observations.firstKey();
   }
@@ -165,35 +260,37 @@ public class AgentsOutcome<O extends AgentsObservation> implements Simulation.Ou
   private double get(Aggregate aggregate, Metric metric, Subject subject) {
     Double value = metricMap.get(new Key(metric, aggregate, subject));
     if (value == null) {
+      if (accumulated && !aggregate.equals(Aggregate.INITIAL) && !aggregate.equals(Aggregate.FINAL)) {
+        throw new IllegalStateException(
+            "Metric %s has not been accumulated".formatted(new Key(metric, aggregate, subject))
+        );
+      }
       value = switch (aggregate) {
         case FINAL -> get(metric, subject, observations.get(observations.lastKey()));
         case INITIAL -> get(metric, subject, observations.get(observations.firstKey()));
-        case AVERAGE -> observations.values()
-            .stream()
-            .mapToDouble(o -> get(metric, subject, o))
-            .average()
-            .orElse(0d);
-        case MIN -> observations.values()
-            .stream()
-            .mapToDouble(o -> get(metric, subject, o))
-            .min()
-            .orElse(0d);
-        case MAX -> observations.values()
-            .stream()
-            .mapToDouble(o -> get(metric, subject, o))
-            .max()
-            .orElse(0d);
-        case SUM -> observations.values()
-            .stream()
-            .mapToDouble(o -> get(metric, subject, o))
-            .sum();
+        case AVERAGE, MIN, MAX, SUM -> {
+          // declared metrics are computed all together, in one pass, on the first miss
+          compute(declaredKeys);
+          Double declaredValue = metricMap.get(new Key(metric, aggregate, subject));
+          yield declaredValue != null ? declaredValue : columns()
+              .aggregate(aggregate, metric, subject, fromIndex, toIndex);
+        }
       };
       metricMap.put(new Key(metric, aggregate, subject), value);
     }
     return value;
   }
 
-  private double get(Metric metric, Subject subject, AgentsObservation observation) {
+  public Map<Key, Double> get(Collection<Key> keys) {
+    compute(keys);
+    Map<Key, Double> values = new LinkedHashMap<>();
+    for (Key key : keys) {
+      values.put(key, get(key.aggregate(), key.metric(), key.subject()));
+    }
+    return values;
+  }
+
+  static double get(Metric metric, Subject subject, AgentsObservation observation) {
     double value = switch (metric) {
       case X -> switch (subject) {
         case FIRST -> observation.getFirstAgentCenter().x();
@@ -271,15 +368,48 @@ public class AgentsOutcome<O extends AgentsObservation> implements Simulation.Ou
     return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
   }
 
+  public boolean isAccumulated() {
+    return accumulated;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
+  }
+
   @Override
   public SortedMap<Double, O> snapshots() {
     return observations;
   }
 
   public AgentsOutcome<O> subOutcome(DoubleRange tRange) {
+    if (accumulated) {
+      // only the [transientTime, duration) windows declared before running are available
+      AgentsOutcome<O> subOutcome = transientSubOutcomes.get(tRange.min());
+      if (subOutcome == null || tRange.max() != duration()) {
+        throw new IllegalArgumentException(
+            "Sub-outcome on %s has not been accumulated: available transient times are %s".formatted(
+                tRange,
+                new TreeSet<>(transientSubOutcomes.keySet())
+            )
+        );
+      }
+      return subOutcome;
+    }
     AgentsOutcome<O> subOutcome = subOutcomes.get(tRange);
     if (subOutcome == null) {
-      subOutcome = new AgentsOutcome<>(observations.subMap(tRange.min(), tRange.max()));
+      // the sub-outcome shares the columns, on the index range found by binary search
+      AgentsObservationColumns columns = columns();
+      subOutcome = new AgentsOutcome<>(
+          observations.subMap(tRange.min(), tRange.max()),
+          false,
+          truncated,
+          Map.of(),
+          Map.of(),
+          columns,
+          columns.indexOf(tRange.min(), fromIndex, toIndex),
+          columns.indexOf(tRange.max(), fromIndex, toIndex)
+      );
+      subOutcome.declaredKeys = declaredKeys;
       if (subOutcomes.size() >= N_OF_CACHED_SUB_OUTCOMES) {
         // remove one
         subOutcomes.remove(subOutcomes.keySet().iterator().next());
@@ -0,0 +1,127 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.mrsim2d.core.engine.ConfigurableEngine;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+public class EvaluationService implements AutoCloseable {
+
+  private final Supplier<? extends Engine> engineSupplier;
+  private final ExecutorService executor;
+  private final ThreadLocal<Engine> pooledEngines;
+
+  public EvaluationService(int nOfThreads, Supplier<? extends Engine> engineSupplier) {
+    this.engineSupplier = engineSupplier;
+    executor = Executors.newWorkStealingPool(nOfThreads);
+    pooledEngines = new ThreadLocal<>();
+  }
+
+  public EvaluationService(int nOfThreads, double dT) {
+    this(nOfThreads, () -> {
+      Engine engine = ServiceLoader.load(Engine.class).findFirst().orElseThrow();
+      if (engine instanceof ConfigurableEngine configurableEngine) {
+        return configurableEngine.setTimeStep(dT);
+      }
+      throw new UnsupportedOperationException(
+          "Engine %s does not support setting the time step".formatted(engine.getClass().getSimpleName())
+      );
+    });
+  }
+
+  public EvaluationService(int nOfThreads) {
+    this(nOfThreads, () -> ServiceLoader.load(Engine.class).findFirst().orElseThrow());
+  }
+
+  public record Job<A, S extends AgentsObservation, O extends AgentsOutcome<S>>(
+      Task<A, S, O> task,
+      A agent,
+      double duration
+  ) {}
+
+  public record Result<O>(O outcome, double waitingTime, double wallTime) {}
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private Engine engine() {
+    Engine pooledEngine = pooledEngines.get();
+    if (pooledEngine != null) {
+      // bring the engine of this thread back to when it was empty
+      pooledEngine.reset();
+      return pooledEngine;
+    }
+    Engine engine = engineSupplier.get();
+    try {
+      // check if the engine can be brought back to empty
+      engine.reset();
+      pooledEngines.set(engine);
+    } catch (UnsupportedOperationException e) {
+      // engines which cannot be brought back to empty are not reused
+    }
+    return engine;
+  }
+
+  public <A, S extends AgentsObservation, O extends AgentsOutcome<S>> List<Result<O>> evaluate(
+      List<Job<A, S, O>> jobs
+  ) {
+    List<Future<Result<O>>> futures = jobs.stream().map(this::submit).toList();
+    List<Result<O>> results = new ArrayList<>(futures.size());
+    for (int i = 0; i < futures.size(); i = i + 1) {
+      try {
+        results.add(futures.get(i).get());
+      } catch (InterruptedException e) {
+        futures.forEach(future -> future.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for evaluations", e);
+      } catch (ExecutionException e) {
+        futures.forEach(future -> future.cancel(true));
+        throw new IllegalStateException("Evaluation of job %d failed".formatted(i), e.getCause());
+      }
+    }
+    return results;
+  }
+
+  public <A, S extends AgentsObservation, O extends AgentsOutcome<S>> Future<Result<O>> submit(Job<A, S, O> job) {
+    Instant submissionInstant = Instant.now();
+    return executor.submit(() -> {
+      Instant startingInstant = Instant.now();
+      O outcome = job.task().run(job.agent(), job.duration(), engine());
+      return new Result<>(
+          outcome,
+          Duration.between(submissionInstant, startingInstant).toNanos() / 1000000000d,
+          Duration.between(startingInstant, Instant.now()).toNanos() / 1000000000d
+      );
+    });
+  }
+}
@@ -0,0 +1,150 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
+import io.github.ericmedvet.jsdynsym.core.numerical.NumericalStatelessSystem;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.LockstepNumBrained;
+import io.github.ericmedvet.mrsim2d.core.engine.ConfigurableEngine;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetworkBatch;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LockstepEvaluator<S extends AgentsObservation, O extends AgentsOutcome<S>> {
+
+  private final SteppableTask<Supplier<EmbodiedAgent>, S, O> task;
+  private final double duration;
+  private final Supplier<? extends Engine> engineSupplier;
+
+  public LockstepEvaluator(
+      SteppableTask<Supplier<EmbodiedAgent>, S, O> task,
+      double duration,
+      Supplier<? extends Engine> engineSupplier
+  ) {
+    this.task = task;
+    this.duration = duration;
+    this.engineSupplier = engineSupplier;
+  }
+
+  public LockstepEvaluator(SteppableTask<Supplier<EmbodiedAgent>, S, O> task, double dT, double duration) {
+    this(task, duration, () -> {
+      Engine engine = ServiceLoader.load(Engine.class).findFirst().orElseThrow();
+      if (engine instanceof ConfigurableEngine configurableEngine) {
+        return configurableEngine.setTimeStep(dT);
+      }
+      throw new UnsupportedOperationException(
+          "Engine %s does not support setting the time step".formatted(engine.getClass().getSimpleName())
+      );
+    });
+  }
+
+  private static class Slot implements NumericalStatelessSystem {
+    private final int nOfInputs;
+    private final int nOfOutputs;
+    private double[] inputs;
+    private double[] outputs;
+
+    private Slot(int nOfInputs, int nOfOutputs) {
+      this.nOfInputs = nOfInputs;
+      this.nOfOutputs = nOfOutputs;
+    }
+
+    @Override
+    public int nOfInputs() {
+      return nOfInputs;
+    }
+
+    @Override
+    public int nOfOutputs() {
+      return nOfOutputs;
+    }
+
+    @Override
+    public double[] step(double t, double[] input) {
+      // the batch already computed the outputs for the inputs gathered before the tick
+      if (outputs == null) {
+        throw new IllegalStateException("No outputs computed for this tick");
+      }
+      if (!Arrays.equals(input, inputs)) {
+        throw new IllegalStateException("Inputs differ from the ones gathered before the tick");
+      }
+      double[] stepOutputs = outputs;
+      outputs = null;
+      return stepOutputs;
+    }
+  }
+
+  public List<O> evaluate(
+      List<DenseNetwork> brains,
+      Function<? super NumericalDynamicalSystem<?>, ? extends EmbodiedAgent> agentBuilder
+  ) {
+    DenseNetworkBatch batch = DenseNetworkBatch.of(brains)
+        .orElseThrow(() -> new IllegalArgumentException("Brains do not share the same architecture"));
+    int n = brains.size();
+    Slot[] slots = new Slot[n];
+    LockstepNumBrained[] agents = new LockstepNumBrained[n];
+    List<SteppableTask.Run<O>> runs = new ArrayList<>(n);
+    for (int i = 0; i < n; i = i + 1) {
+      Slot slot = new Slot(brains.get(i).nOfInputs(), brains.get(i).nOfOutputs());
+      EmbodiedAgent agent = agentBuilder.apply(slot);
+      if (!(agent instanceof LockstepNumBrained lockstepNumBrained)) {
+        throw new IllegalArgumentException(
+            "Agent %s does not expose its next brain inputs".formatted(agent.getClass().getSimpleName())
+        );
+      }
+      // bound sensors make the inputs of the next act() known between ticks
+      lockstepNumBrained.bindSensors();
+      slots[i] = slot;
+      agents[i] = lockstepNumBrained;
+      runs.add(task.start(() -> agent, duration, engineSupplier.get(), s -> {}));
+    }
+    // agents which already completed their run keep their last inputs
+    double[][] inputs = brains.stream().map(b -> new double[b.nOfInputs()]).toArray(double[][]::new);
+    boolean running = true;
+    while (running) {
+      // gather the inputs of all the running agents, then do one batch step for all of them
+      for (int i = 0; i < n; i = i + 1) {
+        if (!runs.get(i).isOver()) {
+          inputs[i] = agents[i].nextBrainInputs();
+        }
+      }
+      double[][] outputs = batch.step(inputs);
+      // actuate and advance every running agent by one tick
+      running = false;
+      for (int i = 0; i < n; i = i + 1) {
+        if (!runs.get(i).isOver()) {
+          slots[i].inputs = inputs[i];
+          slots[i].outputs = Arrays.copyOf(outputs[i], slots[i].nOfOutputs);
+          runs.get(i).tick();
+          running = running || !runs.get(i).isOver();
+        }
+      }
+    }
+    return runs.stream().map(SteppableTask.Run::outcome).toList();
+  }
+}
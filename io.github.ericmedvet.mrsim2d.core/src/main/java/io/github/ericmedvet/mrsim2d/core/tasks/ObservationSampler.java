@@ -0,0 +1,75 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.mrsim2d.core.Agent;
+import io.github.ericmedvet.mrsim2d.core.EnergyConsumingAction;
+import io.github.ericmedvet.mrsim2d.core.Snapshot;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class ObservationSampler {
+
+  private final double interval;
+  private Map<Agent, Map<EnergyConsumingAction.Type, Double>> energyConsumptions;
+  private Snapshot snapshot;
+  private double lastSampledT;
+  private boolean sampled;
+
+  public ObservationSampler(double interval) {
+    this.interval = interval;
+    energyConsumptions = new IdentityHashMap<>();
+    lastSampledT = Double.NEGATIVE_INFINITY;
+  }
+
+  public Map<EnergyConsumingAction.Type, Double> energyConsumptions(Agent agent) {
+    // agents which did not perform any energy consuming action have an empty map
+    if (interval <= 0) {
+      return snapshot.agentEnergyConsumptions().getOrDefault(agent, Map.of());
+    }
+    return energyConsumptions.getOrDefault(agent, Map.of());
+  }
+
+  public boolean sample(Snapshot snapshot, boolean last) {
+    this.snapshot = snapshot;
+    if (interval <= 0) {
+      return true;
+    }
+    // energies of the ticks between two samples are summed up, for not missing their consumption
+    if (sampled) {
+      energyConsumptions = new IdentityHashMap<>();
+    }
+    snapshot.agentEnergyConsumptions().forEach((agent, energies) -> {
+      Map<EnergyConsumingAction.Type, Double> agentEnergies = energyConsumptions.computeIfAbsent(
+          agent,
+          a -> new HashMap<>()
+      );
+      energies.forEach((type, energy) -> agentEnergies.merge(type, energy, Double::sum));
+    });
+    // samples are taken on a grid of step interval, for not drifting with the ticks
+    sampled = last || Math.floor(snapshot.t() / interval) > Math.floor(lastSampledT / interval);
+    if (sampled) {
+      lastSampledT = snapshot.t();
+    }
+    return sampled;
+  }
+}
@@ -0,0 +1,231 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import java.util.*;
+
+public class OutcomeAccumulator<O extends AgentsObservation> {
+
+  private final Streaming streaming;
+  private final SortedMap<Double, O> observations;
+  private final List<AgentsOutcome.Key> pairs;
+  private final Window<O> window;
+  private final SortedMap<Double, Window<O>> transientWindows;
+  private double firstT;
+
+  public OutcomeAccumulator(Streaming streaming) {
+    this.streaming = streaming;
+    observations = new TreeMap<>();
+    // per-observation values are computed once for each (metric, subject) pair
+    pairs = streaming.keys()
+        .stream()
+        .map(k -> pair(k.metric(), k.subject()))
+        .distinct()
+        .toList();
+    window = new Window<>(Double.NEGATIVE_INFINITY, pairs.size());
+    transientWindows = new TreeMap<>();
+    streaming.transientTimes().forEach(t -> transientWindows.put(t, new Window<>(t, pairs.size())));
+  }
+
+  public record Streaming(Set<AgentsOutcome.Key> keys, Set<Double> transientTimes) {
+    public static final Streaming NONE = new Streaming(Set.of(), Set.of());
+
+    public Streaming {
+      keys = Set.copyOf(keys);
+      transientTimes = Set.copyOf(transientTimes);
+    }
+
+    public static Streaming all(Collection<Double> transientTimes) {
+      return new Streaming(
+          new LinkedHashSet<>(
+              AgentsOutcome.keys(
+                  List.of(AgentsOutcome.Metric.values()),
+                  List.of(AgentsOutcome.Aggregate.values()),
+                  List.of(AgentsOutcome.Subject.values())
+              )
+          ),
+          new LinkedHashSet<>(transientTimes)
+      );
+    }
+
+    public boolean isEnabled() {
+      return !keys.isEmpty();
+    }
+  }
+
+  private record Sample<O>(double t, O observation, double[] values) {}
+
+  private static class Window<O> {
+    private final double from;
+    private final Deque<Sample<O>> pendingSamples;
+    private final double[] sums;
+    private final double[] compensations;
+    private final double[] simpleSums;
+    private final double[] mins;
+    private final double[] maxs;
+    private final boolean[] undefined;
+    private int count;
+    private Sample<O> firstSample;
+    private Sample<O> lastSample;
+
+    private Window(double from, int n) {
+      this.from = from;
+      pendingSamples = new ArrayDeque<>();
+      sums = new double[n];
+      compensations = new double[n];
+      simpleSums = new double[n];
+      mins = new double[n];
+      maxs = new double[n];
+      undefined = new boolean[n];
+    }
+
+    private void accumulate(Sample<O> sample) {
+      double[] values = sample.values();
+      for (int i = 0; i < values.length; i = i + 1) {
+        double value = values[i];
+        // metrics of agents are undefined when there are no agents: they are marked as NaN
+        if (Double.isNaN(value)) {
+          undefined[i] = true;
+          continue;
+        }
+        // compensated sum, replicating DoubleStream.sum() and DoubleStream.average()
+        double tmp = value - compensations[i];
+        double velvel = sums[i] + tmp;
+        compensations[i] = (velvel - sums[i]) - tmp;
+        sums[i] = velvel;
+        simpleSums[i] = simpleSums[i] + value;
+        // min and max, replicating DoubleStream.min() and DoubleStream.max()
+        mins[i] = count == 0 ? value : Math.min(mins[i], value);
+        maxs[i] = count == 0 ? value : Math.max(maxs[i], value);
+      }
+      if (firstSample == null) {
+        firstSample = sample;
+      }
+      lastSample = sample;
+      count = count + 1;
+    }
+
+    private void accumulatePendingSamplesBefore(double t) {
+      while (!pendingSamples.isEmpty() && pendingSamples.getFirst().t() < t) {
+        accumulate(pendingSamples.removeFirst());
+      }
+    }
+
+    private double sum(int i) {
+      double tmp = sums[i] - compensations[i];
+      if (Double.isNaN(tmp) && Double.isInfinite(simpleSums[i])) {
+        return simpleSums[i];
+      }
+      return tmp;
+    }
+
+    private double value(AgentsOutcome.Aggregate aggregate, int i) {
+      return switch (aggregate) {
+        case AVERAGE -> count > 0 ? sum(i) / (double) count : 0d;
+        case MIN -> count > 0 ? mins[i] : 0d;
+        case MAX -> count > 0 ? maxs[i] : 0d;
+        case SUM -> sum(i);
+        default -> throw new IllegalArgumentException("Unexpected aggregate %s".formatted(aggregate));
+      };
+    }
+  }
+
+  private static AgentsOutcome.Key pair(AgentsOutcome.Metric metric, AgentsOutcome.Subject subject) {
+    return new AgentsOutcome.Key(metric, AgentsOutcome.Aggregate.INITIAL, subject);
+  }
+
+  public void add(double t, O observation) {
+    if (!streaming.isEnabled()) {
+      observations.put(t, observation);
+      return;
+    }
+    if (!observations.isEmpty() && t <= observations.lastKey()) {
+      throw new IllegalArgumentException(
+          "Observation time %f is not after last observation time %f".formatted(t, observations.lastKey())
+      );
+    }
+    // keep only first and last observations
+    if (observations.isEmpty()) {
+      firstT = t;
+    } else if (observations.size() > 1) {
+      observations.remove(observations.lastKey());
+    }
+    observations.put(t, observation);
+    // compute values once for all windows
+    double[] values = new double[pairs.size()];
+    for (int i = 0; i < values.length; i = i + 1) {
+      AgentsOutcome.Key pair = pairs.get(i);
+      if (observation.getAgents().isEmpty() && AgentsObservationColumns.needsAgents(pair.metric(), pair.subject())) {
+        values[i] = Double.NaN;
+      } else {
+        values[i] = AgentsOutcome.get(pair.metric(), pair.subject(), observation);
+      }
+    }
+    Sample<O> sample = new Sample<>(t, observation, values);
+    window.accumulate(sample);
+    // transient windows end at duration(), hence samples are accumulated only once they are certainly before it
+    for (Window<O> transientWindow : transientWindows.values()) {
+      if (t >= transientWindow.from) {
+        transientWindow.pendingSamples.addLast(sample);
+      }
+      transientWindow.accumulatePendingSamplesBefore(t - firstT);
+    }
+  }
+
+  private AgentsOutcome<O> outcome(Window<O> window, SortedMap<Double, O> observations, boolean truncated) {
+    Map<AgentsOutcome.Key, Double> values = new HashMap<>();
+    for (AgentsOutcome.Key key : streaming.keys()) {
+      if (!key.aggregate().equals(AgentsOutcome.Aggregate.INITIAL) && !key.aggregate()
+          .equals(AgentsOutcome.Aggregate.FINAL)) {
+        int i = pairs.indexOf(pair(key.metric(), key.subject()));
+        if (!window.undefined[i]) {
+          values.put(key, window.value(key.aggregate(), i));
+        }
+      }
+    }
+    Map<Double, AgentsOutcome<O>> transientSubOutcomes = new HashMap<>();
+    if (window == this.window) {
+      double duration = observations.isEmpty() ? 0d : (observations.lastKey() - observations.firstKey());
+      for (Window<O> transientWindow : transientWindows.values()) {
+        transientWindow.accumulatePendingSamplesBefore(duration);
+        transientWindow.pendingSamples.clear();
+        SortedMap<Double, O> windowObservations = new TreeMap<>();
+        if (transientWindow.firstSample != null) {
+          windowObservations.put(transientWindow.firstSample.t(), transientWindow.firstSample.observation());
+          windowObservations.put(transientWindow.lastSample.t(), transientWindow.lastSample.observation());
+        }
+        transientSubOutcomes.put(transientWindow.from, outcome(transientWindow, windowObservations, truncated));
+      }
+    }
+    return new AgentsOutcome<>(observations, true, truncated, values, transientSubOutcomes);
+  }
+
+  public AgentsOutcome<O> outcome() {
+    return outcome(false);
+  }
+
+  public AgentsOutcome<O> outcome(boolean truncated) {
+    if (!streaming.isEnabled()) {
+      return new AgentsOutcome<>(observations, false, truncated, Map.of(), Map.of());
+    }
+    return outcome(window, observations, truncated);
+  }
+}
@@ -0,0 +1,43 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+public interface RandomizedTask<A, S extends AgentsObservation, O extends AgentsOutcome<S>> extends Task<A, S, O> {
+
+  RandomGenerator randomGenerator();
+
+  default List<RandomizedTask<A, S, O>> repetitions(int n) {
+    // seeds are drawn in order before any repetition is run, hence repetitions do not depend on how they are scheduled
+    long[] seeds;
+    RandomGenerator randomGenerator = randomGenerator();
+    synchronized (randomGenerator) {
+      seeds = randomGenerator.longs(n).toArray();
+    }
+    return Arrays.stream(seeds).mapToObj(seed -> withRandomGenerator(new Random(seed))).toList();
+  }
+
+  RandomizedTask<A, S, O> withRandomGenerator(RandomGenerator randomGenerator);
+}
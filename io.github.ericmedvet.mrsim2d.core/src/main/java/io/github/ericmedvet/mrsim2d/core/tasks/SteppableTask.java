@@ -0,0 +1,47 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.mrsim2d.core.Snapshot;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import java.util.function.Consumer;
+
+public interface SteppableTask<A, S extends AgentsObservation, O extends AgentsOutcome<S>> extends Task<A, S, O> {
+
+  interface Run<O> {
+    boolean isOver();
+
+    O outcome();
+
+    void tick();
+  }
+
+  Run<O> start(A a, double duration, Engine engine, Consumer<Snapshot> snapshotConsumer);
+
+  @Override
+  default O run(A a, double duration, Engine engine, Consumer<Snapshot> snapshotConsumer) {
+    Run<O> run = start(a, duration, engine, snapshotConsumer);
+    while (!run.isOver()) {
+      run.tick();
+    }
+    return run.outcome();
+  }
+}
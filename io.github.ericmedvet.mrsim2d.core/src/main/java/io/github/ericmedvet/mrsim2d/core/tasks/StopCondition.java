@@ -0,0 +1,105 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+@FunctionalInterface
+public interface StopCondition {
+
+  StopCondition NEVER = () -> (t, observation) -> false;
+
+  @FunctionalInterface
+  interface Checker {
+    boolean test(double t, AgentsObservation observation);
+  }
+
+  Checker checker();
+
+  static StopCondition any(List<StopCondition> stopConditions) {
+    return () -> {
+      List<Checker> checkers = stopConditions.stream().map(StopCondition::checker).toList();
+      return (t, observation) -> {
+        for (Checker checker : checkers) {
+          if (checker.test(t, observation)) {
+            return true;
+          }
+        }
+        return false;
+      };
+    };
+  }
+
+  static StopCondition fallen(double h) {
+    return () -> (t, observation) -> {
+      List<BoundingBox> boundingBoxes = observation.getBoundingBoxes();
+      for (int i = 0; i < boundingBoxes.size(); i = i + 1) {
+        if (boundingBoxes.get(i).max().y() < observation.getAgents().get(i).terrainHeight() - h) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  static StopCondition outOfBounds(DoubleRange xRange, DoubleRange yRange) {
+    return () -> (t, observation) -> observation.getCenters()
+        .stream()
+        .anyMatch(c -> !xRange.contains(c.x()) || !yRange.contains(c.y()));
+  }
+
+  static StopCondition stalled(double time, double minDistance) {
+    return () -> new Checker() {
+      private final List<Point> referenceCenters = new ArrayList<>();
+      private final List<Double> referenceTs = new ArrayList<>();
+
+      @Override
+      public boolean test(double t, AgentsObservation observation) {
+        List<Point> centers = observation.getCenters();
+        if (centers.isEmpty()) {
+          return false;
+        }
+        // agents may be added during the run: new agents start being observed when they appear
+        for (int i = referenceCenters.size(); i < centers.size(); i = i + 1) {
+          referenceCenters.add(centers.get(i));
+          referenceTs.add(t);
+        }
+        boolean allStalled = true;
+        for (int i = 0; i < centers.size(); i = i + 1) {
+          if (centers.get(i).distance(referenceCenters.get(i)) > minDistance) {
+            referenceCenters.set(i, centers.get(i));
+            referenceTs.set(i, t);
+          }
+          allStalled = allStalled && (t - referenceTs.get(i) >= time);
+        }
+        return allStalled;
+      }
+    };
+  }
+
+  default StopCondition or(StopCondition other) {
+    return any(List.of(this, other));
+  }
+}
@@ -0,0 +1,95 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.tasks;
+
+import io.github.ericmedvet.mrsim2d.core.Blueprintable;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.Snapshot;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class WarmStart {
+
+  public static final WarmStart NONE = new WarmStart(0d);
+  private static final int CHECKPOINTS_CACHE_SIZE = 100;
+  private final double duration;
+  private final Map<List<Object>, Engine.Checkpoint> checkpoints;
+
+  public WarmStart(double duration) {
+    this.duration = duration;
+    checkpoints = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<List<Object>, Engine.Checkpoint> eldest) {
+            return size() > CHECKPOINTS_CACHE_SIZE;
+          }
+        }
+    );
+  }
+
+  public double duration() {
+    return duration;
+  }
+
+  public boolean isEnabled() {
+    return duration > 0;
+  }
+
+  private List<Object> key(Engine engine, EmbodiedAgent agent) {
+    if (!(agent instanceof Blueprintable blueprintable)) {
+      return null;
+    }
+    try {
+      return List.of(engine.checkpointKey(), blueprintable.morphology());
+    } catch (UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  public double settle(Engine engine, EmbodiedAgent agent, Consumer<Snapshot> snapshotConsumer) {
+    if (!isEnabled()) {
+      return engine.t();
+    }
+    // the prefix does not depend on the controller, hence it can be shared among agents with the same morphology
+    List<Object> key = key(engine, agent);
+    Engine.Checkpoint checkpoint = key == null ? null : checkpoints.get(key);
+    if (checkpoint != null) {
+      engine.restore(checkpoint);
+      return engine.t();
+    }
+    double startingT = engine.t();
+    while (engine.t() - startingT < duration) {
+      snapshotConsumer.accept(engine.passiveTick());
+    }
+    if (key != null) {
+      // also the first run goes on from a restore, for being identical to the next ones
+      Engine.Checkpoint newCheckpoint = engine.checkpoint();
+      engine.restore(newCheckpoint);
+      checkpoints.put(key, newCheckpoint);
+    }
+    // the prefix is not part of the run: tasks measure their duration from here
+    return engine.t();
+  }
+}
@@ -27,8 +27,11 @@ import io.github.ericmedvet.mrsim2d.core.bodies.*;
 import io.github.ericmedvet.mrsim2d.core.engine.Engine;
 import io.github.ericmedvet.mrsim2d.core.geometry.*;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import io.github.ericmedvet.mrsim2d.core.tasks.Task;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -47,19 +50,51 @@ public class Balancing implements Task<Supplier<EmbodiedAgent>, BalancingObserva
   private final double swingDensity;
   private final double supportHeight;
   private final double initialXGap;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
+  private final WarmStart warmStart;
 
   public Balancing(
       double swingLength,
       double swingDensity,
       double supportHeight,
       double initialXGap,
-      double initialYGap
+      double initialYGap,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition,
+      WarmStart warmStart
   ) {
     this.swingLength = swingLength;
     this.swingDensity = swingDensity;
     this.supportHeight = supportHeight;
     this.initialXGap = initialXGap;
     this.initialYGap = initialYGap;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+    this.warmStart = warmStart;
+  }
+
+  public Balancing(
+      double swingLength,
+      double swingDensity,
+      double supportHeight,
+      double initialXGap,
+      double initialYGap
+  ) {
+    this(
+        swingLength,
+        swingDensity,
+        supportHeight,
+        initialXGap,
+        initialYGap,
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER,
+        WarmStart.NONE
+    );
   }
 
   public Balancing(
@@ -87,7 +122,7 @@ public class Balancing implements Task<Supplier<EmbodiedAgent>, BalancingObserva
         TERRAIN_BORDER_W,
         TERRAIN_BORDER_H
     );
-    UnmovableBody ground = engine.perform(new CreateUnmovableBody(terrain.poly()))
+    UnmovableBody ground = engine.perform(new CreateUnmovableBody(terrain))
         .outcome()
         .orElseThrow();
     // create swing
@@ -143,35 +178,43 @@ public class Balancing implements Task<Supplier<EmbodiedAgent>, BalancingObserva
             swing.poly().boundingBox().anchor(BoundingBox.Anchor.CU).sum(new Point(initialXGap, initialYGap))
         )
     );
+    // let the agent settle
+    double startingT = warmStart.settle(engine, embodiedAgent, snapshotConsumer);
     // run for defined time
-    Map<Double, BalancingObservation> observations = new HashMap<>();
-    while (engine.t() < duration) {
+    OutcomeAccumulator<BalancingObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
+    while (engine.t() - startingT < duration && !stopped) {
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-      Collection<Body> swingInContactBodies = engine.perform(new FindInContactBodies(swing)).outcome().orElseThrow();
-      observations.put(
-          engine.t(),
-          new BalancingObservation(
-              List.of(
-                  new AgentsObservation.Agent(
-                      embodiedAgent.bodyParts()
-                          .stream()
-                          .map(Body::poly)
-                          .toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          embodiedAgent.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(embodiedAgent)
-                  )
-              ),
-              swing.angle(),
-              swingInContactBodies.contains(ground),
-              swing.poly().boundingBox()
-          )
-      );
+      double t = engine.t() - startingT;
+      if (sampler.sample(snapshot, t >= duration)) {
+        Collection<Body> swingInContactBodies = engine.perform(new FindInContactBodies(swing))
+            .outcome()
+            .orElseThrow();
+        BalancingObservation observation = new BalancingObservation(
+            List.of(
+                new AgentsObservation.Agent(
+                    embodiedAgent.bodyParts()
+                        .stream()
+                        .map(Body::poly)
+                        .toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(embodiedAgent).center().x()
+                    ),
+                    sampler.energyConsumptions(embodiedAgent)
+                )
+            ),
+            swing.angle(),
+            swingInContactBodies.contains(ground),
+            swing.poly().boundingBox()
+        );
+        accumulator.add(t, observation);
+        stopped = stopChecker.test(t, observation);
+      }
     }
     // return
-    return new BalancingAgentsOutcome(new TreeMap<>(observations));
+    return new BalancingAgentsOutcome(accumulator.outcome(stopped));
   }
 }
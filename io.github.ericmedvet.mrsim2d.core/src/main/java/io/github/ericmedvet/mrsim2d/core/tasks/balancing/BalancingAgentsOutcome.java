@@ -28,7 +28,12 @@ public class BalancingAgentsOutcome extends AgentsOutcome<BalancingObservation>
     super(observations);
   }
 
+  public BalancingAgentsOutcome(AgentsOutcome<BalancingObservation> outcome) {
+    super(outcome);
+  }
+
   public double avgSwingAngle() {
+    checkHistory();
     return snapshots().values()
         .stream()
         .mapToDouble(bo -> Math.abs(bo.getSwingAngle()))
@@ -37,6 +42,7 @@ public class BalancingAgentsOutcome extends AgentsOutcome<BalancingObservation>
   }
 
   public double avgSwingAngleWithMalus(double malus) {
+    checkHistory();
     return snapshots().values()
         .stream()
         .mapToDouble(bo -> Math.abs(bo.getSwingAngle()) + (bo.areAllAgentsOnSwing() ? 0 : malus))
@@ -44,8 +50,14 @@ public class BalancingAgentsOutcome extends AgentsOutcome<BalancingObservation>
         .orElseThrow(() -> new IllegalArgumentException("No observations: cannot compute average angle"));
   }
 
+  private void checkHistory() {
+    if (isAccumulated()) {
+      throw new IllegalStateException("Cannot compute swing angle: observations have not been stored");
+    }
+  }
+
   @Override
   public BalancingAgentsOutcome subOutcome(DoubleRange tRange) {
-    return new BalancingAgentsOutcome(super.subOutcome(tRange).snapshots());
+    return new BalancingAgentsOutcome(super.subOutcome(tRange));
   }
 }
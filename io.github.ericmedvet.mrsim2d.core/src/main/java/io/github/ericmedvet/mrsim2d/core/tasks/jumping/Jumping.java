@@ -33,12 +33,12 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import io.github.ericmedvet.mrsim2d.core.tasks.Task;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
-import java.util.HashMap;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -50,9 +50,27 @@ public class Jumping implements Task<Supplier<EmbodiedAgent>, AgentsObservation,
   public static final double TERRAIN_H = 25d;
   private static final double INITIAL_Y_GAP = 0.25;
   private final double initialYGap;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
+  private final WarmStart warmStart;
 
-  public Jumping(double initialYGap) {
+  public Jumping(
+      double initialYGap,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition,
+      WarmStart warmStart
+  ) {
     this.initialYGap = initialYGap;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+    this.warmStart = warmStart;
+  }
+
+  public Jumping(double initialYGap) {
+    this(initialYGap, 0d, OutcomeAccumulator.Streaming.NONE, StopCondition.NEVER, WarmStart.NONE);
   }
 
   public Jumping() {
@@ -75,7 +93,7 @@ public class Jumping implements Task<Supplier<EmbodiedAgent>, AgentsObservation,
         TERRAIN_BORDER_W,
         TERRAIN_BORDER_H
     );
-    engine.perform(new CreateUnmovableBody(terrain.poly()));
+    engine.perform(new CreateUnmovableBody(terrain));
     // place agent
     engine.perform(new AddAgent(embodiedAgent));
     BoundingBox agentBB = embodiedAgent.boundingBox();
@@ -97,29 +115,35 @@ public class Jumping implements Task<Supplier<EmbodiedAgent>, AgentsObservation,
             new Point(0, maxY + initialYGap - agentBB.min().y())
         )
     );
+    // let the agent settle
+    double startingT = warmStart.settle(engine, embodiedAgent, snapshotConsumer);
     // run for defined time
     snapshotConsumer.accept(engine.snapshot());
-    Map<Double, AgentsObservation> observations = new HashMap<>();
-    while (engine.t() < duration) {
+    OutcomeAccumulator<AgentsObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
+    while (engine.t() - startingT < duration && !stopped) {
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-      observations.put(
-          engine.t(),
-          new AgentsObservation(
-              List.of(
-                  new AgentsObservation.Agent(
-                      embodiedAgent.bodyParts().stream().map(Body::poly).toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          embodiedAgent.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(embodiedAgent)
-                  )
-              )
-          )
-      );
+      double t = engine.t() - startingT;
+      if (sampler.sample(snapshot, t >= duration)) {
+        AgentsObservation observation = new AgentsObservation(
+            List.of(
+                new AgentsObservation.Agent(
+                    embodiedAgent.bodyParts().stream().map(Body::poly).toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(embodiedAgent).center().x()
+                    ),
+                    sampler.energyConsumptions(embodiedAgent)
+                )
+            )
+        );
+        accumulator.add(t, observation);
+        stopped = stopChecker.test(t, observation);
+      }
     }
     // return
-    return new AgentsOutcome<>(new TreeMap<>(observations));
+    return accumulator.outcome(stopped);
   }
 }
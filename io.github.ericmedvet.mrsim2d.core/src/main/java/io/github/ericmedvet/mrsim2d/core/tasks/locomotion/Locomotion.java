@@ -32,16 +32,17 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
-import io.github.ericmedvet.mrsim2d.core.tasks.Task;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
-import java.util.HashMap;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.SteppableTask;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-public class Locomotion implements Task<Supplier<EmbodiedAgent>, AgentsObservation, AgentsOutcome<AgentsObservation>> {
+public class Locomotion
+    implements SteppableTask<Supplier<EmbodiedAgent>, AgentsObservation, AgentsOutcome<AgentsObservation>> {
 
   private static final double INITIAL_X_GAP = 1;
   private static final double INITIAL_Y_GAP = 0.25;
@@ -49,25 +50,116 @@ public class Locomotion implements Task<Supplier<EmbodiedAgent>, AgentsObservati
   private final double terrainAttachableDistance;
   private final double initialXGap;
   private final double initialYGap;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
+  private final WarmStart warmStart;
 
   public Locomotion(
       Terrain terrain,
       double terrainAttachableDistance,
       double initialXGap,
-      double initialYGap
+      double initialYGap,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition,
+      WarmStart warmStart
   ) {
     this.terrain = terrain;
     this.terrainAttachableDistance = terrainAttachableDistance;
     this.initialXGap = initialXGap;
     this.initialYGap = initialYGap;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+    this.warmStart = warmStart;
+  }
+
+  public Locomotion(
+      Terrain terrain,
+      double terrainAttachableDistance,
+      double initialXGap,
+      double initialYGap
+  ) {
+    this(
+        terrain,
+        terrainAttachableDistance,
+        initialXGap,
+        initialYGap,
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER,
+        WarmStart.NONE
+    );
   }
 
   public Locomotion(Terrain terrain) {
     this(terrain, Double.POSITIVE_INFINITY, INITIAL_X_GAP, INITIAL_Y_GAP);
   }
 
+  private class LocomotionRun implements Run<AgentsOutcome<AgentsObservation>> {
+    private final EmbodiedAgent embodiedAgent;
+    private final double duration;
+    private final Engine engine;
+    private final Consumer<Snapshot> snapshotConsumer;
+    private final double startingT;
+    private final OutcomeAccumulator<AgentsObservation> accumulator;
+    private final ObservationSampler sampler;
+    private final StopCondition.Checker stopChecker;
+    private boolean stopped;
+
+    private LocomotionRun(
+        EmbodiedAgent embodiedAgent,
+        double duration,
+        Engine engine,
+        Consumer<Snapshot> snapshotConsumer,
+        double startingT
+    ) {
+      this.embodiedAgent = embodiedAgent;
+      this.duration = duration;
+      this.engine = engine;
+      this.snapshotConsumer = snapshotConsumer;
+      this.startingT = startingT;
+      accumulator = new OutcomeAccumulator<>(streaming);
+      sampler = new ObservationSampler(samplingInterval);
+      stopChecker = stopCondition.checker();
+    }
+
+    @Override
+    public boolean isOver() {
+      return engine.t() - startingT >= duration || stopped;
+    }
+
+    @Override
+    public AgentsOutcome<AgentsObservation> outcome() {
+      return accumulator.outcome(stopped);
+    }
+
+    @Override
+    public void tick() {
+      Snapshot snapshot = engine.tick();
+      snapshotConsumer.accept(snapshot);
+      double t = engine.t() - startingT;
+      if (sampler.sample(snapshot, t >= duration)) {
+        AgentsObservation observation = new AgentsObservation(
+            List.of(
+                new AgentsObservation.Agent(
+                    embodiedAgent.bodyParts().stream().map(Body::poly).toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(embodiedAgent).center().x()
+                    ),
+                    sampler.energyConsumptions(embodiedAgent)
+                )
+            )
+        );
+        accumulator.add(t, observation);
+        stopped = stopChecker.test(t, observation);
+      }
+    }
+  }
+
   @Override
-  public AgentsOutcome<AgentsObservation> run(
+  public Run<AgentsOutcome<AgentsObservation>> start(
       Supplier<EmbodiedAgent> embodiedAgentSupplier,
       double duration,
       Engine engine,
@@ -77,7 +169,7 @@ public class Locomotion implements Task<Supplier<EmbodiedAgent>, AgentsObservati
     EmbodiedAgent embodiedAgent = embodiedAgentSupplier.get();
     // build world
     engine.perform(
-        new CreateUnmovableBody(terrain.poly(), terrainAttachableDistance)
+        new CreateUnmovableBody(terrain, terrainAttachableDistance)
     );
     engine.perform(new AddAgent(embodiedAgent));
     // place agent
@@ -99,29 +191,10 @@ public class Locomotion implements Task<Supplier<EmbodiedAgent>, AgentsObservati
             new Point(0, maxY + initialYGap - agentBB.min().y())
         )
     );
-    // run for defined time
+    // let the agent settle
+    double startingT = warmStart.settle(engine, embodiedAgent, snapshotConsumer);
+    // run for defined time, one tick at a time
     snapshotConsumer.accept(engine.snapshot());
-    Map<Double, AgentsObservation> observations = new HashMap<>();
-    while (engine.t() < duration) {
-      Snapshot snapshot = engine.tick();
-      snapshotConsumer.accept(snapshot);
-      observations.put(
-          engine.t(),
-          new AgentsObservation(
-              List.of(
-                  new AgentsObservation.Agent(
-                      embodiedAgent.bodyParts().stream().map(Body::poly).toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          embodiedAgent.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(embodiedAgent)
-                  )
-              )
-          )
-      );
-    }
-    // return
-    return new AgentsOutcome<>(new TreeMap<>(observations));
+    return new LocomotionRun(embodiedAgent, duration, engine, snapshotConsumer, startingT);
   }
 }
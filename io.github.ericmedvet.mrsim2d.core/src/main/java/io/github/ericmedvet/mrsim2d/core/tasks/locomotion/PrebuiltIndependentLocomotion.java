@@ -37,8 +37,10 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import io.github.ericmedvet.mrsim2d.core.tasks.Task;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -52,6 +54,9 @@ public class PrebuiltIndependentLocomotion implements Task<Supplier<AbstractInde
   private final double xGapRatio;
   private final double yGapRatio;
   private final Grid<VoxelType> shape;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
 
   public PrebuiltIndependentLocomotion(
       Terrain terrain,
@@ -60,7 +65,10 @@ public class PrebuiltIndependentLocomotion implements Task<Supplier<AbstractInde
       double initialYGap,
       double xGapRatio,
       double yGapRatio,
-      Grid<GridBody.VoxelType> shape
+      Grid<GridBody.VoxelType> shape,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition
   ) {
     this.terrain = terrain;
     this.terrainAttachableDistance = terrainAttachableDistance;
@@ -69,6 +77,32 @@ public class PrebuiltIndependentLocomotion implements Task<Supplier<AbstractInde
     this.xGapRatio = xGapRatio;
     this.yGapRatio = yGapRatio;
     this.shape = shape;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+  }
+
+  public PrebuiltIndependentLocomotion(
+      Terrain terrain,
+      double terrainAttachableDistance,
+      double initialXGap,
+      double initialYGap,
+      double xGapRatio,
+      double yGapRatio,
+      Grid<GridBody.VoxelType> shape
+  ) {
+    this(
+        terrain,
+        terrainAttachableDistance,
+        initialXGap,
+        initialYGap,
+        xGapRatio,
+        yGapRatio,
+        shape,
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER
+    );
   }
 
   @Override
@@ -79,7 +113,7 @@ public class PrebuiltIndependentLocomotion implements Task<Supplier<AbstractInde
       Consumer<Snapshot> snapshotConsumer
   ) {
     // build world
-    engine.perform(new CreateUnmovableBody(terrain.poly(), terrainAttachableDistance));
+    engine.perform(new CreateUnmovableBody(terrain, terrainAttachableDistance));
     // place agents
     Grid<AbstractIndependentVoxel> agents = shape.map(t -> switch (t) {
       case NONE, RIGID -> null;
@@ -167,31 +201,34 @@ public class PrebuiltIndependentLocomotion implements Task<Supplier<AbstractInde
     }
     // run for defined time
     snapshotConsumer.accept(engine.snapshot());
-    Map<Double, AgentsObservation> observations = new HashMap<>();
-    while (engine.t() < duration) {
+    OutcomeAccumulator<AgentsObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
+    while (engine.t() < duration && !stopped) {
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-      observations.put(
-          engine.t(),
-          new AgentsObservation(
-              agents.values()
-                  .stream()
-                  .filter(Objects::nonNull)
-                  .map(
-                      a -> new AgentsObservation.Agent(
-                          a.bodyParts().stream().map(Body::poly).toList(),
-                          PolyUtils.maxYAtX(
-                              terrain.poly(),
-                              a.boundingBox().center().x()
-                          ),
-                          snapshot.agentEnergyConsumptions().get(a)
-                      )
-                  )
-                  .toList()
-          )
-      );
+      if (sampler.sample(snapshot, engine.t() >= duration)) {
+        AgentsObservation observation = new AgentsObservation(
+            agents.values()
+                .stream()
+                .filter(Objects::nonNull)
+                .map(
+                    a -> new AgentsObservation.Agent(
+                        a.bodyParts().stream().map(Body::poly).toList(),
+                        terrain.maxYAtX(
+                            snapshot.agentBoundingBoxes().get(a).center().x()
+                        ),
+                        sampler.energyConsumptions(a)
+                    )
+                )
+                .toList()
+        );
+        accumulator.add(engine.t(), observation);
+        stopped = stopChecker.test(engine.t(), observation);
+      }
     }
     // return
-    return new AgentsOutcome<>(new TreeMap<>(observations));
+    return accumulator.outcome(stopped);
   }
 }
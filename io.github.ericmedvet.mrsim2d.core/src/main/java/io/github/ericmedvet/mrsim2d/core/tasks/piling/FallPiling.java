@@ -33,14 +33,17 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
-import io.github.ericmedvet.mrsim2d.core.tasks.Task;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.RandomizedTask;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.random.RandomGenerator;
 
-public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservation, AgentsOutcome<AgentsObservation>> {
+public class FallPiling
+    implements RandomizedTask<Supplier<EmbodiedAgent>, AgentsObservation, AgentsOutcome<AgentsObservation>> {
 
   private static final double X_GAP = 10;
 
@@ -52,6 +55,9 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
   private final double terrainAttachableDistance;
   private final double yGapRatio;
   private final double xGap;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
 
   public FallPiling(
       double fallInterval,
@@ -61,7 +67,10 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
       Terrain terrain,
       double terrainAttachableDistance,
       double yGapRatio,
-      double xGap
+      double xGap,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition
   ) {
     this.fallInterval = fallInterval;
     this.nOfAgents = nOfAgents;
@@ -71,6 +80,34 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
     this.terrainAttachableDistance = terrainAttachableDistance;
     this.xGap = xGap;
     this.yGapRatio = yGapRatio;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+  }
+
+  public FallPiling(
+      double fallInterval,
+      int nOfAgents,
+      double xSigmaRatio,
+      RandomGenerator randomGenerator,
+      Terrain terrain,
+      double terrainAttachableDistance,
+      double yGapRatio,
+      double xGap
+  ) {
+    this(
+        fallInterval,
+        nOfAgents,
+        xSigmaRatio,
+        randomGenerator,
+        terrain,
+        terrainAttachableDistance,
+        yGapRatio,
+        xGap,
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER
+    );
   }
 
   public FallPiling(
@@ -94,7 +131,7 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
   }
 
   private void placeAgent(Engine engine, EmbodiedAgent agent, List<EmbodiedAgent> agents) {
-    BoundingBox agentBB = agent.boundingBox();
+    BoundingBox agentBB = engine.boundingBox(agent);
     DoubleRange xRange = new DoubleRange(-agentBB.width() / 2d, agentBB.width() / 2d)
         .delta(terrain.withinBordersXRange().min() + xGap);
     double baseY;
@@ -102,7 +139,7 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
       baseY = terrain.maxHeightAt(xRange);
     } else {
       baseY = agents.stream()
-          .map(EmbodiedAgent::boundingBox)
+          .map(engine::boundingBox)
           .filter(b -> xRange.overlaps(new DoubleRange(b.min().x(), b.max().x())))
           .mapToDouble(b -> b.max().y())
           .max()
@@ -123,6 +160,11 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
     );
   }
 
+  @Override
+  public RandomGenerator randomGenerator() {
+    return randomGenerator;
+  }
+
   @Override
   public AgentsOutcome<AgentsObservation> run(
       Supplier<EmbodiedAgent> embodiedAgentSupplier,
@@ -131,11 +173,14 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
       Consumer<Snapshot> snapshotConsumer
   ) {
     // build world
-    engine.perform(new CreateUnmovableBody(terrain.poly(), terrainAttachableDistance));
+    engine.perform(new CreateUnmovableBody(terrain, terrainAttachableDistance));
     // run for defined time
-    Map<Double, AgentsObservation> observations = new HashMap<>();
+    OutcomeAccumulator<AgentsObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
     List<EmbodiedAgent> agents = new ArrayList<>(nOfAgents);
-    while (engine.t() < duration) {
+    while (engine.t() < duration && !stopped) {
       // check if new agent needed
       if (agents.size() < Math.ceil(engine.t() / fallInterval) && agents.size() < nOfAgents) {
         EmbodiedAgent agent = embodiedAgentSupplier.get();
@@ -146,24 +191,41 @@ public class FallPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservati
       // tick
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-      observations.put(
-          engine.t(),
-          new AgentsObservation(
-              agents.stream()
-                  .map(
-                      a -> new AgentsObservation.Agent(
-                          a.bodyParts().stream().map(Body::poly).toList(),
-                          PolyUtils.maxYAtX(
-                              terrain.poly(),
-                              a.boundingBox().center().x()
-                          ),
-                          snapshot.agentEnergyConsumptions().get(a)
-                      )
-                  )
-                  .toList()
-          )
-      );
+      if (sampler.sample(snapshot, engine.t() >= duration)) {
+        AgentsObservation observation = new AgentsObservation(
+            agents.stream()
+                .map(
+                    a -> new AgentsObservation.Agent(
+                        a.bodyParts().stream().map(Body::poly).toList(),
+                        terrain.maxYAtX(
+                            snapshot.agentBoundingBoxes().get(a).center().x()
+                        ),
+                        sampler.energyConsumptions(a)
+                    )
+                )
+                .toList()
+        );
+        accumulator.add(engine.t(), observation);
+        stopped = stopChecker.test(engine.t(), observation);
+      }
     }
-    return new AgentsOutcome<>(new TreeMap<>(observations));
+    return accumulator.outcome(stopped);
+  }
+
+  @Override
+  public FallPiling withRandomGenerator(RandomGenerator randomGenerator) {
+    return new FallPiling(
+        fallInterval,
+        nOfAgents,
+        xSigmaRatio,
+        randomGenerator,
+        terrain,
+        terrainAttachableDistance,
+        yGapRatio,
+        xGap,
+        samplingInterval,
+        streaming,
+        stopCondition
+    );
   }
 }
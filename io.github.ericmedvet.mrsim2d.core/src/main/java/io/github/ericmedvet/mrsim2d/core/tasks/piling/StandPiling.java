@@ -33,8 +33,10 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import io.github.ericmedvet.mrsim2d.core.tasks.Task;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -49,6 +51,9 @@ public class StandPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservat
   private final double terrainAttachableDistance;
   private final double firstXGap;
   private final double initialYGap;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
 
   public StandPiling(
       int nOfAgents,
@@ -56,7 +61,10 @@ public class StandPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservat
       Terrain terrain,
       double terrainAttachableDistance,
       double firstXGap,
-      double initialYGap
+      double initialYGap,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition
   ) {
     this.nOfAgents = nOfAgents;
     this.xGapRatio = xGapRatio;
@@ -64,6 +72,30 @@ public class StandPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservat
     this.terrainAttachableDistance = terrainAttachableDistance;
     this.firstXGap = firstXGap;
     this.initialYGap = initialYGap;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+  }
+
+  public StandPiling(
+      int nOfAgents,
+      double xGapRatio,
+      Terrain terrain,
+      double terrainAttachableDistance,
+      double firstXGap,
+      double initialYGap
+  ) {
+    this(
+        nOfAgents,
+        xGapRatio,
+        terrain,
+        terrainAttachableDistance,
+        firstXGap,
+        initialYGap,
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER
+    );
   }
 
   public StandPiling(int nOfAgents, double xGapRatio, Terrain terrain) {
@@ -97,7 +129,7 @@ public class StandPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservat
       Consumer<Snapshot> snapshotConsumer
   ) {
     // build world
-    engine.perform(new CreateUnmovableBody(terrain.poly(), terrainAttachableDistance));
+    engine.perform(new CreateUnmovableBody(terrain, terrainAttachableDistance));
     // place agents
     List<EmbodiedAgent> agents = new ArrayList<>(nOfAgents);
     while (agents.size() < nOfAgents) {
@@ -108,29 +140,32 @@ public class StandPiling implements Task<Supplier<EmbodiedAgent>, AgentsObservat
     }
     // run for defined time
     snapshotConsumer.accept(engine.snapshot());
-    Map<Double, AgentsObservation> observations = new HashMap<>();
-    while (engine.t() < duration) {
+    OutcomeAccumulator<AgentsObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
+    while (engine.t() < duration && !stopped) {
       // tick
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-      observations.put(
-          engine.t(),
-          new AgentsObservation(
-              agents.stream()
-                  .map(
-                      a -> new AgentsObservation.Agent(
-                          a.bodyParts().stream().map(Body::poly).toList(),
-                          PolyUtils.maxYAtX(
-                              terrain.poly(),
-                              a.boundingBox().center().x()
-                          ),
-                          snapshot.agentEnergyConsumptions().get(a)
-                      )
-                  )
-                  .toList()
-          )
-      );
+      if (sampler.sample(snapshot, engine.t() >= duration)) {
+        AgentsObservation observation = new AgentsObservation(
+            agents.stream()
+                .map(
+                    a -> new AgentsObservation.Agent(
+                        a.bodyParts().stream().map(Body::poly).toList(),
+                        terrain.maxYAtX(
+                            snapshot.agentBoundingBoxes().get(a).center().x()
+                        ),
+                        sampler.energyConsumptions(a)
+                    )
+                )
+                .toList()
+        );
+        accumulator.add(engine.t(), observation);
+        stopped = stopChecker.test(engine.t(), observation);
+      }
     }
-    return new AgentsOutcome<>(new TreeMap<>(observations));
+    return accumulator.outcome(stopped);
   }
 }
@@ -26,14 +26,20 @@ import io.github.ericmedvet.mrsim2d.core.bodies.Body;
 import io.github.ericmedvet.mrsim2d.core.engine.Engine;
 import io.github.ericmedvet.mrsim2d.core.geometry.*;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
 import io.github.ericmedvet.mrsim2d.core.tasks.HomogeneousBiTask;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class Sumo implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoAgentsObservation, SumoAgentsOutcome> {
   private final Configuration configuration;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
 
   public record Configuration(
       boolean stopIfFallen,
@@ -54,13 +60,18 @@ public class Sumo implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoAgen
   }
 
   public Sumo(double initialXGap, double initialYGap) {
-    this.configuration = new Configuration(
-        Configuration.DEFAULT.stopIfFallen(),
-        Configuration.DEFAULT.wHole(),
-        Configuration.DEFAULT.hHole(),
-        Configuration.DEFAULT.wFlat(),
-        initialXGap,
-        initialYGap
+    this(
+        new Configuration(
+            Configuration.DEFAULT.stopIfFallen(),
+            Configuration.DEFAULT.wHole(),
+            Configuration.DEFAULT.hHole(),
+            Configuration.DEFAULT.wFlat(),
+            initialXGap,
+            initialYGap
+        ),
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER
     );
   }
 
@@ -68,8 +79,34 @@ public class Sumo implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoAgen
     this(Configuration.DEFAULT.initialXGap, Configuration.DEFAULT.initialYGap);
   }
 
-  public Sumo(Configuration configuration) {
+  public Sumo(
+      Configuration configuration,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition
+  ) {
     this.configuration = configuration;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+  }
+
+  public Sumo(Configuration configuration) {
+    this(configuration, 0d, OutcomeAccumulator.Streaming.NONE, StopCondition.NEVER);
+  }
+
+  private boolean isRunning(
+      Engine engine,
+      double duration,
+      EmbodiedAgent agent1,
+      EmbodiedAgent agent2,
+      double groundH
+  ) {
+    return (engine.t() < duration) && (!configuration.stopIfFallen() || engine.boundingBox(agent1)
+        .max()
+        .y() > groundH) && (!configuration.stopIfFallen() || engine.boundingBox(agent2)
+            .max()
+            .y() > groundH);
   }
 
   @Override
@@ -93,7 +130,7 @@ public class Sumo implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoAgen
         new DoubleRange(configuration.wHole(), configuration.wHole() + configuration.wFlat())
     );
     double groundH = configuration.hHole();
-    engine.perform(new CreateUnmovableBody(terrain.poly()));
+    engine.perform(new CreateUnmovableBody(terrain));
     // put agent 1 on left
     EmbodiedAgent agent1 = embodiedAgentSupplier1.get();
     engine.perform(new AddAgent(agent1));
@@ -126,39 +163,41 @@ public class Sumo implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoAgen
         )
     );
     snapshotConsumer.accept(engine.snapshot());
-    Map<Double, SumoAgentsObservation> observations = new HashMap<>();
-    while ((engine.t() < duration) && (!configuration.stopIfFallen() || agent1.boundingBox()
-        .max()
-        .y() > groundH) && (!configuration.stopIfFallen() || agent2.boundingBox()
-            .max()
-            .y() > groundH)) {
+    OutcomeAccumulator<SumoAgentsObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
+    double maxYTerrain = Double.NEGATIVE_INFINITY;
+    while (isRunning(engine, duration, agent1, agent2, groundH) && !stopped) {
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-
-      observations.put(
-          engine.t(),
-          new SumoAgentsObservation(
-              List.of(
-                  new AgentsObservation.Agent(
-                      agent1.bodyParts().stream().map(Body::poly).toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          agent1.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(agent1)
-                  ),
-                  new AgentsObservation.Agent(
-                      agent2.bodyParts().stream().map(Body::poly).toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          agent2.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(agent2)
-                  )
-              )
-          )
-      );
+      if (sampler.sample(snapshot, !isRunning(engine, duration, agent1, agent2, groundH))) {
+        SumoAgentsObservation observation = new SumoAgentsObservation(
+            List.of(
+                new AgentsObservation.Agent(
+                    agent1.bodyParts().stream().map(Body::poly).toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(agent1).center().x()
+                    ),
+                    sampler.energyConsumptions(agent1)
+                ),
+                new AgentsObservation.Agent(
+                    agent2.bodyParts().stream().map(Body::poly).toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(agent2).center().x()
+                    ),
+                    sampler.energyConsumptions(agent2)
+                )
+            )
+        );
+        accumulator.add(engine.t(), observation);
+        for (AgentsObservation.Agent agent : observation.getAgents()) {
+          maxYTerrain = Math.max(maxYTerrain, agent.terrainHeight());
+        }
+        stopped = stopChecker.test(engine.t(), observation);
+      }
     }
-    return new SumoAgentsOutcome(new TreeMap<>(observations));
+    AgentsOutcome<SumoAgentsObservation> outcome = accumulator.outcome(stopped);
+    return new SumoAgentsOutcome(outcome, outcome.snapshots().isEmpty() ? Double.NaN : maxYTerrain);
   }
 }
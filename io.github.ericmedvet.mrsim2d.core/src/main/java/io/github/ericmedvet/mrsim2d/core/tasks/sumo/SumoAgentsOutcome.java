@@ -27,11 +27,30 @@ import java.util.SortedMap;
 
 public class SumoAgentsOutcome extends AgentsOutcome<SumoAgentsObservation> {
 
+  private final Double maxYTerrain;
+
   public SumoAgentsOutcome(SortedMap<Double, SumoAgentsObservation> observations) {
     super(observations);
+    maxYTerrain = null;
+  }
+
+  public SumoAgentsOutcome(AgentsOutcome<SumoAgentsObservation> outcome, double maxYTerrain) {
+    super(outcome);
+    this.maxYTerrain = maxYTerrain;
+  }
+
+  private SumoAgentsOutcome(AgentsOutcome<SumoAgentsObservation> outcome) {
+    super(outcome);
+    maxYTerrain = null;
   }
 
   public double getMaxYTerrain() {
+    if (maxYTerrain != null) {
+      return maxYTerrain;
+    }
+    if (isAccumulated()) {
+      throw new IllegalStateException("Cannot compute max terrain height: observations have not been stored");
+    }
     return observations.values()
         .stream()
         .flatMap(obs -> obs.getAgents().stream())
@@ -106,6 +125,6 @@ public class SumoAgentsOutcome extends AgentsOutcome<SumoAgentsObservation> {
 
   @Override
   public SumoAgentsOutcome subOutcome(DoubleRange tRange) {
-    return new SumoAgentsOutcome(super.subOutcome(tRange).snapshots());
+    return new SumoAgentsOutcome(super.subOutcome(tRange));
   }
 }
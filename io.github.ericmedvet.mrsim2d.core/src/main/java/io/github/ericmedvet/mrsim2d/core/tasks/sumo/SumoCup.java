@@ -33,17 +33,20 @@ import io.github.ericmedvet.mrsim2d.core.geometry.Path;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
 import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
 import io.github.ericmedvet.mrsim2d.core.tasks.HomogeneousBiTask;
-import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
-import java.util.HashMap;
+import io.github.ericmedvet.mrsim2d.core.tasks.ObservationSampler;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public class SumoCup implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoAgentsObservation, SumoAgentsOutcome> {
   private final Configuration configuration;
+  private final double samplingInterval;
+  private final OutcomeAccumulator.Streaming streaming;
+  private final StopCondition stopCondition;
 
   public record Configuration(
       double wCup,
@@ -62,12 +65,17 @@ public class SumoCup implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoA
   }
 
   public SumoCup(double initialXGap, double initialYGap) {
-    this.configuration = new Configuration(
-        Configuration.DEFAULT.wCup(),
-        Configuration.DEFAULT.hCup(),
-        Configuration.DEFAULT.tCup(),
-        initialXGap,
-        initialYGap
+    this(
+        new Configuration(
+            Configuration.DEFAULT.wCup(),
+            Configuration.DEFAULT.hCup(),
+            Configuration.DEFAULT.tCup(),
+            initialXGap,
+            initialYGap
+        ),
+        0d,
+        OutcomeAccumulator.Streaming.NONE,
+        StopCondition.NEVER
     );
   }
 
@@ -75,8 +83,20 @@ public class SumoCup implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoA
     this(Configuration.DEFAULT.initialXGap, Configuration.DEFAULT.initialYGap);
   }
 
-  public SumoCup(Configuration configuration) {
+  public SumoCup(
+      Configuration configuration,
+      double samplingInterval,
+      OutcomeAccumulator.Streaming streaming,
+      StopCondition stopCondition
+  ) {
     this.configuration = configuration;
+    this.samplingInterval = samplingInterval;
+    this.streaming = streaming;
+    this.stopCondition = stopCondition;
+  }
+
+  public SumoCup(Configuration configuration) {
+    this(configuration, 0d, OutcomeAccumulator.Streaming.NONE, StopCondition.NEVER);
   }
 
   @Override
@@ -100,7 +120,7 @@ public class SumoCup implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoA
         new DoubleRange(0, configuration.wCup())
     );
     double groundH = configuration.tCup();
-    engine.perform(new CreateUnmovableBody(terrain.poly()));
+    engine.perform(new CreateUnmovableBody(terrain));
     // put agent 1 on left
     EmbodiedAgent agent1 = embodiedAgentSupplier1.get();
     engine.perform(new AddAgent(agent1));
@@ -133,35 +153,41 @@ public class SumoCup implements HomogeneousBiTask<Supplier<EmbodiedAgent>, SumoA
             )
         )
     );
-    Map<Double, SumoAgentsObservation> observations = new HashMap<>();
-    while (engine.t() < duration) {
+    OutcomeAccumulator<SumoAgentsObservation> accumulator = new OutcomeAccumulator<>(streaming);
+    ObservationSampler sampler = new ObservationSampler(samplingInterval);
+    StopCondition.Checker stopChecker = stopCondition.checker();
+    boolean stopped = false;
+    double maxYTerrain = Double.NEGATIVE_INFINITY;
+    while (engine.t() < duration && !stopped) {
       Snapshot snapshot = engine.tick();
       snapshotConsumer.accept(snapshot);
-
-      observations.put(
-          engine.t(),
-          new SumoAgentsObservation(
-              List.of(
-                  new AgentsObservation.Agent(
-                      agent1.bodyParts().stream().map(Body::poly).toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          agent1.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(agent1)
-                  ),
-                  new AgentsObservation.Agent(
-                      agent2.bodyParts().stream().map(Body::poly).toList(),
-                      PolyUtils.maxYAtX(
-                          terrain.poly(),
-                          agent2.boundingBox().center().x()
-                      ),
-                      snapshot.agentEnergyConsumptions().get(agent2)
-                  )
-              )
-          )
-      );
+      if (sampler.sample(snapshot, engine.t() >= duration)) {
+        SumoAgentsObservation observation = new SumoAgentsObservation(
+            List.of(
+                new AgentsObservation.Agent(
+                    agent1.bodyParts().stream().map(Body::poly).toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(agent1).center().x()
+                    ),
+                    sampler.energyConsumptions(agent1)
+                ),
+                new AgentsObservation.Agent(
+                    agent2.bodyParts().stream().map(Body::poly).toList(),
+                    terrain.maxYAtX(
+                        snapshot.agentBoundingBoxes().get(agent2).center().x()
+                    ),
+                    sampler.energyConsumptions(agent2)
+                )
+            )
+        );
+        accumulator.add(engine.t(), observation);
+        for (AgentsObservation.Agent agent : observation.getAgents()) {
+          maxYTerrain = Math.max(maxYTerrain, agent.terrainHeight());
+        }
+        stopped = stopChecker.test(engine.t(), observation);
+      }
     }
-    return new SumoAgentsOutcome(new TreeMap<>(observations));
+    AgentsOutcome<SumoAgentsObservation> outcome = accumulator.outcome(stopped);
+    return new SumoAgentsOutcome(outcome, outcome.snapshots().isEmpty() ? Double.NaN : maxYTerrain);
   }
 }
@@ -0,0 +1,176 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.util;
+
+import io.github.ericmedvet.jnb.datastructure.NumericalParametrized;
+import io.github.ericmedvet.jsdynsym.core.numerical.NumericalStatelessSystem;
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+public class DenseNetwork implements NumericalStatelessSystem, NumericalParametrized<DenseNetwork> {
+
+  private final Activation activation;
+  private final int[] neurons;
+  private final double[][] weights;
+  private int version;
+
+  public DenseNetwork(Activation activation, int[] neurons, double[][] weights) {
+    if (neurons.length < 2) {
+      throw new IllegalArgumentException(
+          "Wrong number of layers: at least 2 expected, %d found".formatted(neurons.length)
+      );
+    }
+    if (weights.length != neurons.length - 1) {
+      throw new IllegalArgumentException(
+          "Wrong number of weight layers: %d expected, %d found".formatted(neurons.length - 1, weights.length)
+      );
+    }
+    for (int l = 0; l < weights.length; l = l + 1) {
+      if (weights[l].length != (neurons[l] + 1) * neurons[l + 1]) {
+        throw new IllegalArgumentException(
+            "Wrong number of weights in layer %d: %d expected, %d found"
+                .formatted(l, (neurons[l] + 1) * neurons[l + 1], weights[l].length)
+        );
+      }
+    }
+    this.activation = activation;
+    this.neurons = neurons.clone();
+    this.weights = weights;
+  }
+
+  public DenseNetwork(Activation activation, int nOfInputs, int[] innerNeurons, int nOfOutputs) {
+    this(activation, neurons(nOfInputs, innerNeurons, nOfOutputs));
+  }
+
+  private DenseNetwork(Activation activation, int[] neurons) {
+    this(
+        activation,
+        neurons,
+        IntStream.range(0, neurons.length - 1)
+            .mapToObj(l -> new double[(neurons[l] + 1) * neurons[l + 1]])
+            .toArray(double[][]::new)
+    );
+  }
+
+  public enum Activation implements DoubleUnaryOperator {
+    IDENTITY(x -> x), RELU(x -> Math.max(0d, x)), SIGMOID(x -> 1d / (1d + Math.exp(-x))), TANH(Math::tanh);
+    private final DoubleUnaryOperator f;
+
+    Activation(DoubleUnaryOperator f) {
+      this.f = f;
+    }
+
+    @Override
+    public double applyAsDouble(double x) {
+      return f.applyAsDouble(x);
+    }
+  }
+
+  private static int[] neurons(int nOfInputs, int[] innerNeurons, int nOfOutputs) {
+    int[] neurons = new int[innerNeurons.length + 2];
+    neurons[0] = nOfInputs;
+    System.arraycopy(innerNeurons, 0, neurons, 1, innerNeurons.length);
+    neurons[neurons.length - 1] = nOfOutputs;
+    return neurons;
+  }
+
+  static double neuron(double[] w, int wOffset, double[] x, int xOffset, int nOfInputs) {
+    double s = w[wOffset + nOfInputs];
+    for (int k = 0; k < nOfInputs; k = k + 1) {
+      s = s + w[wOffset + k] * x[xOffset + k];
+    }
+    return s;
+  }
+
+  public Activation activation() {
+    return activation;
+  }
+
+  public double[] compute(double[] input) {
+    if (input.length != neurons[0]) {
+      throw new IllegalArgumentException(
+          "Wrong number of inputs: %d expected, %d found".formatted(neurons[0], input.length)
+      );
+    }
+    double[] x = input;
+    for (int l = 0; l < weights.length; l = l + 1) {
+      double[] y = new double[neurons[l + 1]];
+      for (int j = 0; j < y.length; j = j + 1) {
+        y[j] = activation.applyAsDouble(neuron(weights[l], j * (neurons[l] + 1), x, 0, neurons[l]));
+      }
+      x = y;
+    }
+    return x;
+  }
+
+  @Override
+  public double[] getParams() {
+    double[] params = new double[Arrays.stream(weights).mapToInt(w -> w.length).sum()];
+    int c = 0;
+    for (double[] w : weights) {
+      System.arraycopy(w, 0, params, c, w.length);
+      c = c + w.length;
+    }
+    return params;
+  }
+
+  @Override
+  public void setParams(double[] params) {
+    int n = Arrays.stream(weights).mapToInt(w -> w.length).sum();
+    if (params.length != n) {
+      throw new IllegalArgumentException("Wrong number of params: %d expected, %d found".formatted(n, params.length));
+    }
+    int c = 0;
+    for (double[] w : weights) {
+      System.arraycopy(params, c, w, 0, w.length);
+      c = c + w.length;
+    }
+    version = version + 1;
+  }
+
+  @Override
+  public int nOfInputs() {
+    return neurons[0];
+  }
+
+  @Override
+  public int nOfOutputs() {
+    return neurons[neurons.length - 1];
+  }
+
+  @Override
+  public double[] step(double t, double[] input) {
+    return compute(input);
+  }
+
+  public int[] neurons() {
+    return Arrays.copyOf(neurons, neurons.length);
+  }
+
+  int version() {
+    return version;
+  }
+
+  double[][] weights() {
+    return weights;
+  }
+}
@@ -0,0 +1,255 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.util;
+
+import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
+import io.github.ericmedvet.jsdynsym.core.numerical.ann.MultiLayerPerceptron;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.DoubleUnaryOperator;
+
+// steps many dense networks, or many jsdynsym perceptrons, with the same layout and activation at once; only networks
+// sharing all their weights are computed as a blocked matrix product, which is where the speedup is: with distinct
+// weights each network still does its own matrix-vector products and the batch is about as fast as stepping them one
+// by one, just without per-step allocations; perceptron weights are read at every step and never considered shared
+public class DenseNetworkBatch {
+
+  private final static int ROWS_BLOCK_SIZE = 16;
+  private final static int NEURONS_BLOCK_SIZE = 16;
+
+  private final DenseNetwork[] networks;
+  private final MultiLayerPerceptron[] perceptrons;
+  private final DoubleUnaryOperator activation;
+  private final int[] neurons;
+  private final double[][] layerValues;
+  private final double[][] outputs;
+  private final int[] versions;
+  private final double[][][][] perceptronWeights;
+  private boolean sharedWeights;
+
+  private DenseNetworkBatch(
+      DenseNetwork[] networks,
+      MultiLayerPerceptron[] perceptrons,
+      DoubleUnaryOperator activation,
+      int[] neurons
+  ) {
+    this.networks = networks;
+    this.perceptrons = perceptrons;
+    this.activation = activation;
+    this.neurons = neurons;
+    int n = networks == null ? perceptrons.length : networks.length;
+    layerValues = Arrays.stream(neurons).mapToObj(nOfNeurons -> new double[n * nOfNeurons]).toArray(double[][]::new);
+    outputs = new double[n][neurons[neurons.length - 1]];
+    versions = new int[n];
+    Arrays.fill(versions, -1);
+    perceptronWeights = new double[n][][][];
+  }
+
+  public static Optional<DenseNetworkBatch> of(List<? extends NumericalDynamicalSystem<?>> systems) {
+    if (systems.isEmpty()) {
+      return Optional.empty();
+    }
+    if (systems.getFirst() instanceof DenseNetwork first) {
+      DenseNetwork[] networks = new DenseNetwork[systems.size()];
+      for (int i = 0; i < networks.length; i = i + 1) {
+        if (!(systems.get(i) instanceof DenseNetwork network) || !network.activation()
+            .equals(first.activation()) || !Arrays.equals(network.neurons(), first.neurons())) {
+          return Optional.empty();
+        }
+        networks[i] = network;
+      }
+      return Optional.of(new DenseNetworkBatch(networks, null, first.activation(), first.neurons()));
+    }
+    // only bare perceptrons, as wrapping systems might change inputs or outputs
+    if (systems.getFirst() instanceof MultiLayerPerceptron first) {
+      MultiLayerPerceptron[] perceptrons = new MultiLayerPerceptron[systems.size()];
+      for (int i = 0; i < perceptrons.length; i = i + 1) {
+        if (!(systems.get(i) instanceof MultiLayerPerceptron perceptron) || !perceptron.getActivationFunction()
+            .equals(first.getActivationFunction()) || !Arrays.equals(perceptron.getNeurons(), first.getNeurons())) {
+          return Optional.empty();
+        }
+        perceptrons[i] = perceptron;
+      }
+      return Optional.of(
+          new DenseNetworkBatch(null, perceptrons, first.getActivationFunction(), first.getNeurons().clone())
+      );
+    }
+    return Optional.empty();
+  }
+
+  private static boolean sameWeights(double[][] weights1, double[][] weights2) {
+    if (weights1 == weights2) {
+      return true;
+    }
+    for (int l = 0; l < weights1.length; l = l + 1) {
+      if (!Arrays.equals(weights1[l], weights2[l])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int size() {
+    return outputs.length;
+  }
+
+  public double[][] step(double[][] inputs) {
+    if (inputs.length != outputs.length) {
+      throw new IllegalArgumentException(
+          "Wrong number of inputs: %d expected, %d found".formatted(outputs.length, inputs.length)
+      );
+    }
+    if (networks != null) {
+      // check if weights changed since last step
+      boolean changed = false;
+      for (int i = 0; i < networks.length; i = i + 1) {
+        if (networks[i].version() != versions[i]) {
+          versions[i] = networks[i].version();
+          changed = true;
+        }
+      }
+      if (changed) {
+        sharedWeights = true;
+        for (int i = 1; i < networks.length && sharedWeights; i = i + 1) {
+          sharedWeights = sameWeights(networks[0].weights(), networks[i].weights());
+        }
+      }
+    } else {
+      // perceptrons do not tell when their weights change
+      for (int i = 0; i < perceptrons.length; i = i + 1) {
+        perceptronWeights[i] = perceptrons[i].getWeights();
+      }
+    }
+    // stack inputs
+    for (int i = 0; i < outputs.length; i = i + 1) {
+      if (inputs[i].length != neurons[0]) {
+        throw new IllegalArgumentException(
+            "Wrong number of inputs for network %d: %d expected, %d found".formatted(i, neurons[0], inputs[i].length)
+        );
+      }
+      if (perceptrons != null) {
+        // perceptrons apply the activation also to their inputs
+        for (int k = 0; k < neurons[0]; k = k + 1) {
+          layerValues[0][i * neurons[0] + k] = activation.applyAsDouble(inputs[i][k]);
+        }
+      } else {
+        System.arraycopy(inputs[i], 0, layerValues[0], i * neurons[0], neurons[0]);
+      }
+    }
+    // propagate
+    for (int l = 0; l < neurons.length - 1; l = l + 1) {
+      if (perceptrons != null) {
+        propagatePerceptrons(l);
+      } else if (sharedWeights) {
+        propagateShared(l);
+      } else {
+        propagate(l);
+      }
+    }
+    // scatter outputs
+    int nOfOutputs = neurons[neurons.length - 1];
+    for (int i = 0; i < outputs.length; i = i + 1) {
+      System.arraycopy(layerValues[neurons.length - 1], i * nOfOutputs, outputs[i], 0, nOfOutputs);
+    }
+    return outputs;
+  }
+
+  private void propagate(int l) {
+    int nIn = neurons[l];
+    int nOut = neurons[l + 1];
+    double[] x = layerValues[l];
+    double[] y = layerValues[l + 1];
+    for (int i = 0; i < networks.length; i = i + 1) {
+      double[] w = networks[i].weights()[l];
+      for (int j = 0; j < nOut; j = j + 1) {
+        y[i * nOut + j] = activation.applyAsDouble(DenseNetwork.neuron(w, j * (nIn + 1), x, i * nIn, nIn));
+      }
+    }
+  }
+
+  private void propagatePerceptrons(int l) {
+    int nIn = neurons[l];
+    int nOut = neurons[l + 1];
+    double[] x = layerValues[l];
+    double[] y = layerValues[l + 1];
+    for (int i = 0; i < perceptrons.length; i = i + 1) {
+      double[][] w = perceptronWeights[i][l];
+      int xOffset = i * nIn;
+      for (int j = 0; j < nOut; j = j + 1) {
+        // bias first, then inputs in order, as in the perceptron
+        double[] wj = w[j];
+        double s = wj[0];
+        for (int k = 0; k < nIn; k = k + 1) {
+          s = s + x[xOffset + k] * wj[k + 1];
+        }
+        y[i * nOut + j] = activation.applyAsDouble(s);
+      }
+    }
+  }
+
+  private void propagateShared(int l) {
+    int nIn = neurons[l];
+    int nOut = neurons[l + 1];
+    double[] x = layerValues[l];
+    double[] y = layerValues[l + 1];
+    double[] w = networks[0].weights()[l];
+    for (int iBlock = 0; iBlock < networks.length; iBlock = iBlock + ROWS_BLOCK_SIZE) {
+      int iEnd = Math.min(iBlock + ROWS_BLOCK_SIZE, networks.length);
+      for (int jBlock = 0; jBlock < nOut; jBlock = jBlock + NEURONS_BLOCK_SIZE) {
+        int jEnd = Math.min(jBlock + NEURONS_BLOCK_SIZE, nOut);
+        for (int j = jBlock; j < jEnd; j = j + 1) {
+          int i = iBlock;
+          for (; i + 4 <= iEnd; i = i + 4) {
+            rows4(w, j * (nIn + 1), nIn, x, i, y, nOut, j);
+          }
+          for (; i < iEnd; i = i + 1) {
+            y[i * nOut + j] = activation.applyAsDouble(DenseNetwork.neuron(w, j * (nIn + 1), x, i * nIn, nIn));
+          }
+        }
+      }
+    }
+  }
+
+  private void rows4(double[] w, int wOffset, int nIn, double[] x, int i, double[] y, int nOut, int j) {
+    // four independent accumulators, each one summing in the same order of DenseNetwork.neuron()
+    int x0 = i * nIn;
+    int x1 = x0 + nIn;
+    int x2 = x1 + nIn;
+    int x3 = x2 + nIn;
+    double b = w[wOffset + nIn];
+    double s0 = b;
+    double s1 = b;
+    double s2 = b;
+    double s3 = b;
+    for (int k = 0; k < nIn; k = k + 1) {
+      double wk = w[wOffset + k];
+      s0 = s0 + wk * x[x0 + k];
+      s1 = s1 + wk * x[x1 + k];
+      s2 = s2 + wk * x[x2 + k];
+      s3 = s3 + wk * x[x3 + k];
+    }
+    y[i * nOut + j] = activation.applyAsDouble(s0);
+    y[(i + 1) * nOut + j] = activation.applyAsDouble(s1);
+    y[(i + 2) * nOut + j] = activation.applyAsDouble(s2);
+    y[(i + 3) * nOut + j] = activation.applyAsDouble(s3);
+  }
+}
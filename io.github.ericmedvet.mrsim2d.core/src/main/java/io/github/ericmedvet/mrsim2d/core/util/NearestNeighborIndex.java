@@ -0,0 +1,127 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+package io.github.ericmedvet.mrsim2d.core.util;
+
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+public class NearestNeighborIndex<T> {
+
+  private final List<T> ts;
+  private final double[] xs;
+  private final double[] ys;
+  private final int[] sortedIndexes;
+  private final double[] sortedXs;
+  private final boolean[] removed;
+  private int size;
+
+  public NearestNeighborIndex(Collection<T> ts, Function<T, Point> pointFunction) {
+    this.ts = List.copyOf(ts);
+    int n = this.ts.size();
+    xs = new double[n];
+    ys = new double[n];
+    for (int i = 0; i < n; i = i + 1) {
+      Point p = pointFunction.apply(this.ts.get(i));
+      xs[i] = p.x();
+      ys[i] = p.y();
+    }
+    sortedIndexes = IntStream.range(0, n)
+        .boxed()
+        .sorted((i1, i2) -> Double.compare(xs[i1], xs[i2]))
+        .mapToInt(i -> i)
+        .toArray();
+    sortedXs = Arrays.stream(sortedIndexes).mapToDouble(i -> xs[i]).toArray();
+    removed = new boolean[n];
+    size = n;
+  }
+
+  public double distance(int i, Point p) {
+    double dX = xs[i] - p.x();
+    double dY = ys[i] - p.y();
+    return Math.sqrt(dX * dX + dY * dY);
+  }
+
+  public T get(int i) {
+    return ts.get(i);
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int nearest(Point p) {
+    // start from the position of p along x and move outwards until x-distance exceeds the best distance
+    int bestI = -1;
+    double bestD = Double.POSITIVE_INFINITY;
+    int right = Arrays.binarySearch(sortedXs, p.x());
+    if (right < 0) {
+      right = -right - 1;
+    }
+    int left = right - 1;
+    while (left >= 0 || right < sortedXs.length) {
+      if (right < sortedXs.length) {
+        if (sortedXs[right] - p.x() > bestD) {
+          right = sortedXs.length;
+        } else {
+          int i = sortedIndexes[right];
+          if (!removed[i]) {
+            double d = distance(i, p);
+            if (d < bestD || (d == bestD && i < bestI)) {
+              bestD = d;
+              bestI = i;
+            }
+          }
+          right = right + 1;
+        }
+      }
+      if (left >= 0) {
+        if (p.x() - sortedXs[left] > bestD) {
+          left = -1;
+        } else {
+          int i = sortedIndexes[left];
+          if (!removed[i]) {
+            double d = distance(i, p);
+            if (d < bestD || (d == bestD && i < bestI)) {
+              bestD = d;
+              bestI = i;
+            }
+          }
+          left = left - 1;
+        }
+      }
+    }
+    return bestI;
+  }
+
+  public void remove(int i) {
+    if (!removed[i]) {
+      removed[i] = true;
+      size = size - 1;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+}
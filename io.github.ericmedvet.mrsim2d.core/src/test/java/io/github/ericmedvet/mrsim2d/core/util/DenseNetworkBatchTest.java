@@ -0,0 +1,167 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-core
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.ericmedvet.jsdynsym.core.numerical.NumericalDynamicalSystem;
+import io.github.ericmedvet.jsdynsym.core.numerical.ann.MultiLayerPerceptron;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DenseNetworkBatchTest {
+
+  private static final int N_OF_INPUTS = 7;
+  private static final int[] INNER_NEURONS = {5, 3};
+  private static final int N_OF_OUTPUTS = 4;
+  private static final int N_OF_STEPS = 10;
+
+  private static DenseNetwork network(Random random) {
+    DenseNetwork network = new DenseNetwork(DenseNetwork.Activation.TANH, N_OF_INPUTS, INNER_NEURONS, N_OF_OUTPUTS);
+    network.setParams(random.doubles(network.getParams().length, -1, 1).toArray());
+    return network;
+  }
+
+  private static MultiLayerPerceptron perceptron(Random random) {
+    MultiLayerPerceptron perceptron = new MultiLayerPerceptron(
+        MultiLayerPerceptron.ActivationFunction.TANH,
+        N_OF_INPUTS,
+        INNER_NEURONS,
+        N_OF_OUTPUTS
+    );
+    perceptron.setParams(random.doubles(perceptron.getParams().length, -1, 1).toArray());
+    return perceptron;
+  }
+
+  private static void assertSameOutputs(
+      List<? extends NumericalDynamicalSystem<?>> networks,
+      DenseNetworkBatch batch,
+      Random random
+  ) {
+    double[][] inputs = IntStream.range(0, networks.size())
+        .mapToObj(i -> random.doubles(N_OF_INPUTS, -1, 1).toArray())
+        .toArray(double[][]::new);
+    double[][] batchOutputs = batch.step(inputs);
+    for (int i = 0; i < networks.size(); i = i + 1) {
+      assertArrayEquals(networks.get(i).step(0, inputs[i]), batchOutputs[i], "network %d".formatted(i));
+    }
+  }
+
+  @Test
+  void batchWithDistinctWeightsMatchesNetworks() {
+    Random random = new Random(1);
+    List<DenseNetwork> networks = IntStream.range(0, 9).mapToObj(i -> network(random)).toList();
+    DenseNetworkBatch batch = DenseNetworkBatch.of(networks).orElseThrow();
+    for (int k = 0; k < N_OF_STEPS; k = k + 1) {
+      assertSameOutputs(networks, batch, random);
+    }
+  }
+
+  @Test
+  void batchWithSharedWeightsMatchesNetworks() {
+    Random random = new Random(2);
+    double[] params = network(random).getParams();
+    // a number of networks not multiple of the blocks size, to cover also remainder rows
+    List<DenseNetwork> networks = IntStream.range(0, 19).mapToObj(i -> {
+      DenseNetwork network = network(random);
+      network.setParams(params);
+      return network;
+    }).toList();
+    DenseNetworkBatch batch = DenseNetworkBatch.of(networks).orElseThrow();
+    for (int k = 0; k < N_OF_STEPS; k = k + 1) {
+      assertSameOutputs(networks, batch, random);
+    }
+  }
+
+  @Test
+  void batchFollowsParamsChanges() {
+    Random random = new Random(3);
+    double[] params = network(random).getParams();
+    List<DenseNetwork> networks = IntStream.range(0, 6).mapToObj(i -> {
+      DenseNetwork network = network(random);
+      network.setParams(params);
+      return network;
+    }).toList();
+    DenseNetworkBatch batch = DenseNetworkBatch.of(networks).orElseThrow();
+    assertSameOutputs(networks, batch, random);
+    networks.get(4).setParams(random.doubles(params.length, -1, 1).toArray());
+    assertSameOutputs(networks, batch, random);
+    networks.get(4).setParams(params);
+    assertSameOutputs(networks, batch, random);
+  }
+
+  @Test
+  void heterogeneousNetworksAreNotBatched() {
+    Random random = new Random(4);
+    assertTrue(
+        DenseNetworkBatch.of(
+            List.of(
+                network(random),
+                new DenseNetwork(DenseNetwork.Activation.TANH, N_OF_INPUTS, new int[]{5}, N_OF_OUTPUTS)
+            )
+        ).isEmpty()
+    );
+    assertTrue(
+        DenseNetworkBatch.of(
+            List.of(
+                network(random),
+                new DenseNetwork(DenseNetwork.Activation.RELU, N_OF_INPUTS, INNER_NEURONS, N_OF_OUTPUTS)
+            )
+        ).isEmpty()
+    );
+  }
+
+  @Test
+  void batchOfPerceptronsMatchesPerceptrons() {
+    Random random = new Random(5);
+    List<MultiLayerPerceptron> perceptrons = IntStream.range(0, 9).mapToObj(i -> perceptron(random)).toList();
+    DenseNetworkBatch batch = DenseNetworkBatch.of(perceptrons).orElseThrow();
+    for (int k = 0; k < N_OF_STEPS; k = k + 1) {
+      assertSameOutputs(perceptrons, batch, random);
+    }
+    // params set through the perceptron are used at the next step
+    perceptrons.get(2).setParams(random.doubles(perceptrons.get(2).getParams().length, -1, 1).toArray());
+    assertSameOutputs(perceptrons, batch, random);
+  }
+
+  @Test
+  void mixedNetworksAndPerceptronsAreNotBatched() {
+    Random random = new Random(6);
+    assertTrue(DenseNetworkBatch.of(List.of(perceptron(random), network(random))).isEmpty());
+    assertTrue(DenseNetworkBatch.of(List.of(network(random), perceptron(random))).isEmpty());
+  }
+
+  @Test
+  void networkKeepsItsOwnLayout() {
+    int[] neurons = {N_OF_INPUTS, 5, N_OF_OUTPUTS};
+    DenseNetwork network = new DenseNetwork(
+        DenseNetwork.Activation.TANH,
+        neurons,
+        new double[][]{new double[(N_OF_INPUTS + 1) * 5], new double[(5 + 1) * N_OF_OUTPUTS]}
+    );
+    neurons[2] = 1;
+    assertEquals(N_OF_OUTPUTS, network.nOfOutputs());
+  }
+}
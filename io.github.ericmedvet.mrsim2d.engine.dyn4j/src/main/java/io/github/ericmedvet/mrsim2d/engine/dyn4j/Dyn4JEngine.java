@@ -26,22 +26,32 @@ import io.github.ericmedvet.mrsim2d.core.actions.*;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.bodies.LinkGraph;
 import io.github.ericmedvet.mrsim2d.core.engine.AbstractEngine;
+import io.github.ericmedvet.mrsim2d.core.engine.Blueprint;
 import io.github.ericmedvet.mrsim2d.core.engine.ConfigurableEngine;
 import io.github.ericmedvet.mrsim2d.core.engine.IllegalActionException;
 import io.github.ericmedvet.mrsim2d.core.util.PolyUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.dyn4j.dynamics.BodyFixture;
 import org.dyn4j.dynamics.ContinuousDetectionMode;
 import org.dyn4j.dynamics.Settings;
 import org.dyn4j.dynamics.joint.DistanceJoint;
 import org.dyn4j.dynamics.joint.Joint;
+import org.dyn4j.dynamics.joint.RevoluteJoint;
 import org.dyn4j.dynamics.joint.WeldJoint;
 import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 import org.dyn4j.world.DetectFilter;
 import org.dyn4j.world.World;
@@ -71,10 +81,13 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
   );
   private final Configuration configuration;
   private final World<org.dyn4j.dynamics.Body> world;
+  private final LinkGraph linkGraph;
+  private boolean coldStep;
 
   public Dyn4JEngine(Configuration configuration) {
     this.configuration = configuration;
     world = new World<>();
+    linkGraph = new LinkGraph();
     world.setSettings(configuration.innerSettings());
   }
 
@@ -103,6 +116,99 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
       double anchorSideDistance
   ) {}
 
+  private record BodyState(
+      Transform transform,
+      Transform previousTransform,
+      Vector2 linearVelocity,
+      double angularVelocity,
+      boolean atRest
+  ) {}
+
+  private record BodyKey(Class<? extends Body> type, int nOfParts, int nOfJoints) {}
+
+  private record BoundLink(Anchor.Link link, Joint<org.dyn4j.dynamics.Body> joint) {}
+
+  private record LinkKey(
+      int srcBodyIndex,
+      int srcAnchorIndex,
+      int dstBodyIndex,
+      int dstAnchorIndex,
+      Anchor.Link.Type type
+  ) {}
+
+  private record WorldCheckpoint(
+      List<BodyKey> bodyKeys,
+      List<LinkKey> linkKeys,
+      List<Vector2> linkAnchors,
+      List<BodyState> bodyStates,
+      double[] jointValues,
+      List<double[]> controlStates
+  ) {}
+
+  private static BodyKey bodyKey(Body body) {
+    if (body instanceof MultipartBody multipartBody) {
+      return new BodyKey(body.getClass(), multipartBody.getBodies().size(), multipartBody.getJoints().size());
+    }
+    return new BodyKey(body.getClass(), 0, 0);
+  }
+
+  private static List<BoundLink> boundLinks(List<Body> bodies) {
+    // each link is taken once, from the anchor of the first body it is attached to
+    Set<Joint<org.dyn4j.dynamics.Body>> joints = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<BoundLink> boundLinks = new ArrayList<>();
+    for (Body body : bodies) {
+      if (body instanceof Anchorable anchorable) {
+        for (Anchor anchor : anchorable.anchors()) {
+          if (anchor instanceof BodyAnchor bodyAnchor) {
+            bodyAnchor.getJointMap().forEach((link, joint) -> {
+              if (joints.add(joint)) {
+                boundLinks.add(new BoundLink(link, joint));
+              }
+            });
+          }
+        }
+      }
+    }
+    return boundLinks;
+  }
+
+  private static int identityIndexOf(List<?> list, Object o) {
+    for (int i = 0; i < list.size(); i = i + 1) {
+      if (list.get(i) == o) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static List<org.dyn4j.dynamics.Body> innerBodies(List<Body> bodies) {
+    return bodies.stream()
+        .filter(b -> b instanceof MultipartBody)
+        .flatMap(b -> ((MultipartBody) b).getBodies().stream())
+        .toList();
+  }
+
+  private static List<Joint<org.dyn4j.dynamics.Body>> innerJoints(List<Body> bodies, List<BoundLink> links) {
+    List<Joint<org.dyn4j.dynamics.Body>> joints = new ArrayList<>();
+    bodies.forEach(b -> {
+      if (b instanceof MultipartBody multipartBody) {
+        joints.addAll(multipartBody.getJoints());
+      }
+    });
+    links.forEach(l -> joints.add(l.joint()));
+    return joints;
+  }
+
+  private static LinkKey linkKey(Anchor.Link link, List<Body> bodies) {
+    return new LinkKey(
+        identityIndexOf(bodies, link.source().anchorable()),
+        identityIndexOf(link.source().anchorable().anchors(), link.source()),
+        identityIndexOf(bodies, link.destination().anchorable()),
+        identityIndexOf(link.destination().anchorable().anchors(), link.destination()),
+        link.type()
+    );
+  }
+
   private static Settings getDefaultSettings() {
     Settings settings = new Settings();
     settings.setContinuousDetectionMode(ContinuousDetectionMode.ALL);
@@ -111,11 +217,16 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
     return settings;
   }
 
+  @Override
+  public ConfigurableEngine setBlueprintCache(Blueprint.Cache blueprintCache) {
+    this.blueprintCache = blueprintCache;
+    return this;
+  }
+
   @Override
   public ConfigurableEngine setTimeStep(double dT) {
-    Settings settings = configuration.innerSettings;
-    settings.setStepFrequency(dT);
-    world.setSettings(settings);
+    // the world has its own copy of the settings, while the ones of the configuration might be shared among engines
+    world.getSettings().setStepFrequency(dT);
     return this;
   }
 
@@ -192,6 +303,35 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
     );
   }
 
+  private void bind(Anchor.Link link, Joint<org.dyn4j.dynamics.Body> joint) {
+    ((BodyAnchor) link.source()).getJointMap().put(link, joint);
+    ((BodyAnchor) link.destination()).getJointMap().put(link.reversed(), joint);
+  }
+
+  @Override
+  protected Object blueprintKey() {
+    // inner settings do not affect how bodies are created and placed
+    return List.of(
+        configuration.rigidBodyFriction,
+        configuration.rigidBodyRestitution,
+        configuration.rigidBodyLinearDamping,
+        configuration.rigidBodyAngularDamping,
+        configuration.unmovableBodyFriction,
+        configuration.unmovableBodyRestitution,
+        configuration.voxelFriction,
+        configuration.voxelRestitution,
+        configuration.voxelLinearDamping,
+        configuration.voxelAngularDamping,
+        configuration.voxelVertexMassSideLengthRatio,
+        configuration.voxelSpringScaffoldings,
+        configuration.softLinkSpringF,
+        configuration.softLinkSpringD,
+        configuration.softLinkRestDistanceRatio,
+        configuration.attractionMaxMagnitude,
+        configuration.anchorSideDistance
+    );
+  }
+
   private Anchor.Link createLink(CreateLink action, Agent agent) throws IllegalActionException {
     if (action.source()
         .links()
@@ -232,6 +372,7 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
         Anchor.Link link = new Anchor.Link(src, dst, action.type());
         src.getJointMap().put(link, joint);
         dst.getJointMap().put(link.reversed(), joint);
+        linkGraph.add(link);
         return new Anchor.Link(src, dst, action.type());
       }
     }
@@ -254,7 +395,8 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
         configuration.rigidBodyRestitution,
         configuration.rigidBodyLinearDamping,
         configuration.rigidBodyAngularDamping,
-        configuration.anchorSideDistance
+        configuration.anchorSideDistance,
+        linkGraph
     );
     rigidBody.getBodies().forEach(world::addBody);
     bodies.add(rigidBody);
@@ -272,7 +414,8 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
         configuration.rigidBodyRestitution,
         configuration.rigidBodyLinearDamping,
         configuration.rigidBodyAngularDamping,
-        configuration.anchorSideDistance
+        configuration.anchorSideDistance,
+        linkGraph
     );
     rotationalJoint.getBodies().forEach(world::addBody);
     rotationalJoint.getJoints().forEach(world::addJoint);
@@ -283,10 +426,12 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
   private UnmovableBody createUnmovableBody(CreateUnmovableBody action, Agent agent) {
     UnmovableBody unmovableBody = new UnmovableBody(
         action.poly(),
+        action.convexParts(),
         action.anchorsDensity(),
         configuration.unmovableBodyFriction,
         configuration.unmovableBodyRestitution,
-        configuration.anchorSideDistance
+        configuration.anchorSideDistance,
+        linkGraph
     );
     unmovableBody.getBodies().forEach(world::addBody);
     bodies.add(unmovableBody);
@@ -304,7 +449,8 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
         configuration.voxelAngularDamping,
         configuration.voxelVertexMassSideLengthRatio,
         action.material().areaRatioRange(),
-        configuration.voxelSpringScaffoldings
+        configuration.voxelSpringScaffoldings,
+        linkGraph
     );
     voxel.getBodies().forEach(world::addBody);
     voxel.getJoints().forEach(world::addJoint);
@@ -338,17 +484,192 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
     return bodies;
   }
 
+  @Override
+  protected Object innerCheckpoint() {
+    List<Body> checkpointBodies = List.copyOf(bodies);
+    List<BoundLink> links = boundLinks(checkpointBodies);
+    return new WorldCheckpoint(
+        checkpointBodies.stream().map(Dyn4JEngine::bodyKey).toList(),
+        links.stream().map(l -> linkKey(l.link(), checkpointBodies)).toList(),
+        links.stream().map(l -> l.joint().getAnchor1()).toList(),
+        innerBodies(checkpointBodies).stream()
+            .map(
+                b -> new BodyState(
+                    b.getTransform().copy(),
+                    b.getPreviousTransform().copy(),
+                    b.getLinearVelocity().copy(),
+                    b.getAngularVelocity(),
+                    b.isAtRest()
+                )
+            )
+            .toList(),
+        innerJoints(checkpointBodies, links).stream().mapToDouble(Dyn4JEngine::jointValue).toArray(),
+        checkpointBodies.stream()
+            .filter(b -> b instanceof RotationalJoint)
+            .map(b -> ((RotationalJoint) b).controlState())
+            .toList()
+    );
+  }
+
+  @Override
+  protected Object innerCheckpointKey() {
+    // unlike the blueprint, how the world evolves depends also on the inner settings, time step included
+    Settings settings = world.getSettings();
+    return List.of(
+        blueprintKey(),
+        settings.getStepFrequency(),
+        settings.getMaximumTranslation(),
+        settings.getMaximumRotation(),
+        settings.isAtRestDetectionEnabled(),
+        settings.getMaximumAtRestLinearVelocity(),
+        settings.getMaximumAtRestAngularVelocity(),
+        settings.getMinimumAtRestTime(),
+        settings.getVelocityConstraintSolverIterations(),
+        settings.getPositionConstraintSolverIterations(),
+        settings.getMaximumWarmStartDistance(),
+        settings.isWarmStartingEnabled(),
+        settings.getRestitutionVelocity(),
+        settings.getLinearTolerance(),
+        settings.getAngularTolerance(),
+        settings.getMaximumLinearCorrection(),
+        settings.getMaximumAngularCorrection(),
+        settings.getBaumgarte(),
+        settings.getContinuousDetectionMode()
+    );
+  }
+
+  @Override
+  protected void innerReset() {
+    world.removeAllBodiesAndJoints();
+    linkGraph.clear();
+    // a reused world keeps its last time step for warm starting the solver, which a fresh world does not have
+    world.setUpdateRequired(true);
+    coldStep = true;
+  }
+
+  @Override
+  protected void innerRestore(Object innerCheckpoint) {
+    WorldCheckpoint checkpoint = (WorldCheckpoint) innerCheckpoint;
+    // bodies and links of this engine must correspond to the ones of the checkpoint
+    List<Body> currentBodies = List.copyOf(bodies);
+    if (currentBodies.size() != checkpoint.bodyKeys().size()) {
+      throw new IllegalArgumentException(
+          "Incompatible checkpoint: %d bodies instead of %d".formatted(
+              checkpoint.bodyKeys().size(),
+              currentBodies.size()
+          )
+      );
+    }
+    for (int i = 0; i < currentBodies.size(); i = i + 1) {
+      Body body = currentBodies.get(i);
+      BodyKey checkpointBodyKey = checkpoint.bodyKeys().get(i);
+      if (!(body instanceof MultipartBody) || !bodyKey(body).equals(checkpointBodyKey)) {
+        throw new IllegalArgumentException(
+            "Incompatible checkpoint: body %d is %s instead of %s".formatted(
+                i,
+                checkpointBodyKey.type().getSimpleName(),
+                body.getClass().getSimpleName()
+            )
+        );
+      }
+    }
+    Map<LinkKey, BoundLink> currentLinks = boundLinks(currentBodies).stream()
+        .collect(Collectors.toMap(l -> linkKey(l.link(), currentBodies), Function.identity()));
+    if (!currentLinks.keySet().equals(Set.copyOf(checkpoint.linkKeys()))) {
+      throw new IllegalArgumentException(
+          "Incompatible checkpoint: %d links instead of %d, or differently placed".formatted(
+              checkpoint.linkKeys().size(),
+              currentLinks.size()
+          )
+      );
+    }
+    rebuild(currentBodies, checkpoint.linkKeys().stream().map(currentLinks::get).toList(), checkpoint);
+  }
+
   @Override
   protected double innerTick() {
     // control rotational joint
     bodies.forEach(b -> {
       if (b instanceof Actuable actuable) {
-        actuable.actuate(t(), t() - configuration.innerSettings().getStepFrequency());
+        actuable.actuate(t(), t() - world.getSettings().getStepFrequency());
       }
     });
     // tick
-    world.step(1);
-    return t() + configuration.innerSettings().getStepFrequency();
+    if (coldStep) {
+      // right after a restore, the solver is not warm started with the impulses of previous steps
+      Settings settings = world.getSettings();
+      boolean warmStarting = settings.isWarmStartingEnabled();
+      settings.setWarmStartingEnabled(false);
+      world.step(1);
+      settings.setWarmStartingEnabled(warmStarting);
+      coldStep = false;
+    } else {
+      world.step(1);
+    }
+    return t() + world.getSettings().getStepFrequency();
+  }
+
+  private static double jointValue(Joint<org.dyn4j.dynamics.Body> joint) {
+    if (joint instanceof DistanceJoint<org.dyn4j.dynamics.Body> distanceJoint) {
+      return distanceJoint.getRestDistance();
+    }
+    if (joint instanceof RevoluteJoint<org.dyn4j.dynamics.Body> revoluteJoint) {
+      return revoluteJoint.getMotorSpeed();
+    }
+    if (joint instanceof WeldJoint<org.dyn4j.dynamics.Body> weldJoint) {
+      return weldJoint.getReferenceAngle();
+    }
+    return 0d;
+  }
+
+  private void rebuild(List<Body> orderedBodies, List<BoundLink> links, WorldCheckpoint checkpoint) {
+    world.removeAllBodiesAndJoints();
+    // state is set before adding bodies, since the broad-phase depends on where bodies are when added
+    List<org.dyn4j.dynamics.Body> innerBodies = innerBodies(orderedBodies);
+    for (int i = 0; i < innerBodies.size(); i = i + 1) {
+      org.dyn4j.dynamics.Body body = innerBodies.get(i);
+      BodyState bodyState = checkpoint.bodyStates().get(i);
+      // going through rest clears pending forces and the time at rest
+      body.setAtRest(true);
+      body.setAtRest(false);
+      body.setTransform(bodyState.transform());
+      body.getPreviousTransform().set(bodyState.previousTransform());
+      body.setLinearVelocity(bodyState.linearVelocity());
+      body.setAngularVelocity(bodyState.angularVelocity());
+      body.setAtRest(bodyState.atRest());
+    }
+    // weld joints always warm start with their own impulse, which cannot be reset: they are replaced by new ones
+    List<BoundLink> rebuiltLinks = new ArrayList<>(links.size());
+    for (int i = 0; i < links.size(); i = i + 1) {
+      BoundLink boundLink = links.get(i);
+      if (boundLink.joint() instanceof WeldJoint<org.dyn4j.dynamics.Body> weldJoint) {
+        WeldJoint<org.dyn4j.dynamics.Body> newWeldJoint = new WeldJoint<>(
+            weldJoint.getBody1(),
+            weldJoint.getBody2(),
+            checkpoint.linkAnchors().get(i).copy()
+        );
+        bind(boundLink.link(), newWeldJoint);
+        rebuiltLinks.add(new BoundLink(boundLink.link(), newWeldJoint));
+      } else {
+        rebuiltLinks.add(boundLink);
+      }
+    }
+    List<Joint<org.dyn4j.dynamics.Body>> joints = innerJoints(orderedBodies, rebuiltLinks);
+    for (int i = 0; i < joints.size(); i = i + 1) {
+      setJointValue(joints.get(i), checkpoint.jointValues()[i]);
+    }
+    List<RotationalJoint> rotationalJoints = orderedBodies.stream()
+        .filter(b -> b instanceof RotationalJoint)
+        .map(b -> (RotationalJoint) b)
+        .toList();
+    for (int i = 0; i < rotationalJoints.size(); i = i + 1) {
+      rotationalJoints.get(i).setControlState(checkpoint.controlStates().get(i));
+    }
+    innerBodies.forEach(world::addBody);
+    joints.forEach(world::addJoint);
+    // contacts are detected again before the next step, as in a world which never stepped
+    world.setUpdateRequired(true);
+    coldStep = true;
   }
 
   @Override
@@ -380,6 +701,9 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
       multipartBody.getJoints().forEach(world::removeJoint);
       multipartBody.getBodies().forEach(world::removeBody);
       bodies.remove(action.body());
+      if (action.body() instanceof Anchorable anchorable) {
+        linkGraph.remove(anchorable);
+      }
       return action.body();
     }
     throw new IllegalActionException(
@@ -396,8 +720,10 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
       if (action.link().destination() instanceof BodyAnchor dstAnchor) {
         // remove joint from world
         world.removeJoint(srcAnchor.getJointMap().get(action.link()));
-        // remove link from maps
-        srcAnchor.getJointMap().remove(action.link());
+        // remove link from maps and graph
+        if (srcAnchor.getJointMap().remove(action.link()) != null) {
+          linkGraph.remove(action.link());
+        }
         dstAnchor.getJointMap().remove(action.link().reversed());
         return action.link();
       }
@@ -450,6 +776,16 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
         .orElse(action.distanceRange());
   }
 
+  private static void setJointValue(Joint<org.dyn4j.dynamics.Body> joint, double value) {
+    if (joint instanceof DistanceJoint<org.dyn4j.dynamics.Body> distanceJoint) {
+      distanceJoint.setRestDistance(value);
+    } else if (joint instanceof RevoluteJoint<org.dyn4j.dynamics.Body> revoluteJoint) {
+      revoluteJoint.setMotorSpeed(value);
+    } else if (joint instanceof WeldJoint<org.dyn4j.dynamics.Body> weldJoint) {
+      weldJoint.setReferenceAngle(value);
+    }
+  }
+
   private Body translateBody(TranslateBody action, Agent agent) throws IllegalActionException {
     double tx = action.translation().x();
     double ty = action.translation().y();
@@ -465,4 +801,9 @@ public class Dyn4JEngine extends AbstractEngine implements ConfigurableEngine {
         )
     );
   }
+
+  private void unbind(Anchor.Link link) {
+    ((BodyAnchor) link.source()).getJointMap().remove(link);
+    ((BodyAnchor) link.destination()).getJointMap().remove(link.reversed());
+  }
 }
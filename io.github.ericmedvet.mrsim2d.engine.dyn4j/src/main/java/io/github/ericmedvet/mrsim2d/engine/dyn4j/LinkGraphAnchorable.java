@@ -0,0 +1,45 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
+import io.github.ericmedvet.mrsim2d.core.bodies.Anchorable;
+import io.github.ericmedvet.mrsim2d.core.bodies.LinkGraph;
+import java.util.Collection;
+
+public interface LinkGraphAnchorable extends Anchorable {
+  LinkGraph linkGraph();
+
+  @Override
+  default Collection<Anchorable> attachedAnchorables() {
+    return linkGraph().attachedAnchorables(this);
+  }
+
+  @Override
+  default Collection<Anchor> attachedTo(Anchorable otherAnchorable) {
+    return linkGraph().attachedTo(this, otherAnchorable);
+  }
+
+  @Override
+  default boolean isAnchoredTo(Anchorable otherAnchorable) {
+    return linkGraph().isAnchoredTo(this, otherAnchorable);
+  }
+}
@@ -21,6 +21,7 @@
 package io.github.ericmedvet.mrsim2d.engine.dyn4j;
 
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
+import io.github.ericmedvet.mrsim2d.core.bodies.LinkGraph;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
 import io.github.ericmedvet.mrsim2d.core.geometry.Segment;
@@ -32,12 +33,13 @@ import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 
-public class RigidBody implements io.github.ericmedvet.mrsim2d.core.bodies.RigidBody, MultipartBody {
+public class RigidBody implements io.github.ericmedvet.mrsim2d.core.bodies.RigidBody, MultipartBody, LinkGraphAnchorable {
 
   private final Body body;
   private final double mass;
   private final Vector2 initialFirstSideDirection;
   private final List<Anchor> anchors;
+  private final LinkGraph linkGraph;
 
   public RigidBody(
       Poly convexPoly,
@@ -47,8 +49,10 @@ public class RigidBody implements io.github.ericmedvet.mrsim2d.core.bodies.Rigid
       double restitution,
       double linearDamping,
       double angularDamping,
-      double anchorSideDistance
+      double anchorSideDistance,
+      LinkGraph linkGraph
   ) {
+    this.linkGraph = linkGraph;
     this.mass = mass;
     body = new Body();
     body.addFixture(Utils.poly(convexPoly), mass / convexPoly.area(), friction, restitution);
@@ -118,6 +122,11 @@ public class RigidBody implements io.github.ericmedvet.mrsim2d.core.bodies.Rigid
     return List.of();
   }
 
+  @Override
+  public LinkGraph linkGraph() {
+    return linkGraph;
+  }
+
   private Vector2 getFirstSideDirection() {
     Poly poly = poly();
     return new Vector2(
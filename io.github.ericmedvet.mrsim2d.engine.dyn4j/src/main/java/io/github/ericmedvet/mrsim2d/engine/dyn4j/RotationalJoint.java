@@ -21,6 +21,7 @@ package io.github.ericmedvet.mrsim2d.engine.dyn4j;
 
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
+import io.github.ericmedvet.mrsim2d.core.bodies.LinkGraph;
 import io.github.ericmedvet.mrsim2d.core.geometry.Path;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
@@ -30,7 +31,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.dynamics.joint.RevoluteJoint;
@@ -39,7 +39,7 @@ import org.dyn4j.geometry.Polygon;
 import org.dyn4j.geometry.Transform;
 import org.dyn4j.geometry.Vector2;
 
-public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies.RotationalJoint, MultipartBody, Actuable {
+public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies.RotationalJoint, MultipartBody, LinkGraphAnchorable, Actuable {
   private static final DoubleRange JOINT_PASSIVE_ANGLE_RANGE = new DoubleRange(Math.toRadians(-90), Math.toRadians(90));
   private static final boolean SET_LIMITS = false;
 
@@ -51,15 +51,22 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
   private final Body body2;
   private final RevoluteJoint<Body> joint;
   private final double jointLength;
-  private final List<List<Integer>> polyIndexes;
+  private final Vector2 jointLocalPoint;
+  private final Vector2[] vertexes1;
+  private final Vector2[] vertexes2;
+  private final int[] polyIndexes1;
+  private final int[] polyIndexes2;
 
   private final List<Anchor> anchors;
-  private final Vector2 initialRefDirection;
+  private final LinkGraph linkGraph;
+  private final double initialRefDirectionAngle;
   private final DoubleRange jointActiveAngleRange;
 
   private double jointTargetAngle;
   private double angleErrorSummation;
   private double lastAngleError;
+  private final double[] polyTransforms;
+  private Poly poly;
 
   public RotationalJoint(
       double length,
@@ -71,8 +78,10 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
       double restitution,
       double linearDamping,
       double angularDamping,
-      double anchorSideDistance
+      double anchorSideDistance,
+      LinkGraph linkGraph
   ) {
+    this.linkGraph = linkGraph;
     // check length and with consistency
     if (length < width) {
       throw new IllegalArgumentException(
@@ -99,14 +108,22 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
         .toPoly();
     body1 = createBody(mass / 2d, friction, restitution, linearDamping, angularDamping, this, poly1);
     body2 = createBody(mass / 2d, friction, restitution, linearDamping, angularDamping, this, poly2);
+    vertexes1 = ((Polygon) body1.getFixture(0).getShape()).getVertices();
+    vertexes2 = ((Polygon) body2.getFixture(0).getShape()).getVertices();
     int jIndex1 = List.of(polyFromBody(body1).vertexes()).indexOf(new Point(length / 2d, width / 2d));
     int jIndex2 = List.of(polyFromBody(body2).vertexes()).indexOf(new Point(length / 2d, width / 2d));
-    polyIndexes = List.of(
-        IntStream.range(0, 5).map(i -> (i + jIndex1) % 5).boxed().toList(),
-        IntStream.range(0, 5).map(i -> (i + jIndex2) % 5).boxed().toList()
-    );
+    polyIndexes1 = new int[vertexes1.length];
+    polyIndexes2 = new int[vertexes2.length];
+    for (int i = 0; i < polyIndexes1.length; i = i + 1) {
+      polyIndexes1[i] = (i + jIndex1) % vertexes1.length;
+    }
+    for (int i = 0; i < polyIndexes2.length; i = i + 1) {
+      polyIndexes2[i] = (i + jIndex2) % vertexes2.length;
+    }
+    polyTransforms = new double[8];
     // create joint
     joint = new RevoluteJoint<>(body1, body2, new Vector2(length / 2d, width / 2d));
+    jointLocalPoint = body1.getLocalPoint(new Vector2(length / 2d, width / 2d));
     // joint.setReferenceAngle(0);
     if (SET_LIMITS) {
       joint.setLimits(JOINT_PASSIVE_ANGLE_RANGE.min(), JOINT_PASSIVE_ANGLE_RANGE.max());
@@ -140,7 +157,7 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
         );
     anchors = Collections.unmodifiableList(localAnchors);
     // set initial first direction
-    initialRefDirection = getRefDirection();
+    initialRefDirectionAngle = refDirectionAngle();
     // set control vars
     jointTargetAngle = 0;
     angleErrorSummation = 0;
@@ -207,15 +224,56 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
     return anchors;
   }
 
+  protected double[] controlState() {
+    return new double[]{jointTargetAngle, angleErrorSummation, lastAngleError};
+  }
+
+  private static double average(double v1, double v2) {
+    // compensated sum, replicating DoubleStream.average()
+    double sum = 0d + v1;
+    double compensation = (sum - 0d) - v1;
+    double tmp = v2 - compensation;
+    double velvel = sum + tmp;
+    compensation = (velvel - sum) - tmp;
+    sum = velvel;
+    double finalSum = sum - compensation;
+    if (Double.isNaN(finalSum) && Double.isInfinite(0d + v1 + v2)) {
+      return (0d + v1 + v2) / 2d;
+    }
+    return finalSum / 2d;
+  }
+
+  private static boolean sameTransform(Transform t, double[] transforms, int offset) {
+    return transforms[offset] == t.getTranslationX()
+        && transforms[offset + 1] == t.getTranslationY()
+        && transforms[offset + 2] == t.getCost()
+        && transforms[offset + 3] == t.getSint();
+  }
+
+  private static void storeTransform(Transform t, double[] transforms, int offset) {
+    transforms[offset] = t.getTranslationX();
+    transforms[offset + 1] = t.getTranslationY();
+    transforms[offset + 2] = t.getCost();
+    transforms[offset + 3] = t.getSint();
+  }
+
   @Override
   public double angle() {
-    Vector2 currentRefDirection = getRefDirection();
-    return -currentRefDirection.getAngleBetween(initialRefDirection);
+    // same as Vector2.getAngleBetween()
+    double angle = initialRefDirectionAngle - refDirectionAngle();
+    if (angle > Math.PI) {
+      angle = angle - 2d * Math.PI;
+    } else if (angle < -Math.PI) {
+      angle = angle + 2d * Math.PI;
+    }
+    return -angle;
   }
 
   @Override
   public Point centerLinearVelocity() {
-    return Point.average(Utils.point(body1.getLinearVelocity()), Utils.point(body2.getLinearVelocity()));
+    Vector2 v1 = body1.getLinearVelocity();
+    Vector2 v2 = body2.getLinearVelocity();
+    return new Point(average(v1.x, v2.x), average(v1.y, v2.y));
   }
 
   @Override
@@ -225,16 +283,25 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
 
   @Override
   public Poly poly() {
-    Point[] ps1 = polyFromBody(body1).vertexes();
-    Point[] ps2 = polyFromBody(body2).vertexes();
-    Point[] ps = new Point[10];
-    for (int i = 0; i < 5; i++) {
-      ps[i] = ps1[polyIndexes.getFirst().get(i)];
+    Transform t1 = body1.getTransform();
+    Transform t2 = body2.getTransform();
+    // the poly is rebuilt only if bodies moved since last call
+    if (poly != null && sameTransform(t1, polyTransforms, 0) && sameTransform(t2, polyTransforms, 4)) {
+      return poly;
     }
-    for (int i = 0; i < 5; i++) {
-      ps[i + 5] = ps2[polyIndexes.get(1).get(i)];
+    Point[] ps = new Point[polyIndexes1.length + polyIndexes2.length];
+    for (int i = 0; i < polyIndexes1.length; i = i + 1) {
+      Vector2 v = vertexes1[polyIndexes1[i]];
+      ps[i] = new Point(t1.getTransformedX(v), t1.getTransformedY(v));
     }
-    return new Poly(ps);
+    for (int i = 0; i < polyIndexes2.length; i = i + 1) {
+      Vector2 v = vertexes2[polyIndexes2[i]];
+      ps[i + polyIndexes1.length] = new Point(t2.getTransformedX(v), t2.getTransformedY(v));
+    }
+    storeTransform(t1, polyTransforms, 0);
+    storeTransform(t2, polyTransforms, 4);
+    poly = new Poly(ps);
+    return poly;
   }
 
   @Override
@@ -247,14 +314,20 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
     return List.of(joint);
   }
 
-  private Vector2 getRefDirection() {
-    Vector2 c1 = body1.getWorldCenter();
-    Vector2 c2 = body2.getWorldCenter();
-    return new Vector2(
-        c1.x,
-        c1.y,
-        c2.x,
-        c2.y
+  @Override
+  public LinkGraph linkGraph() {
+    return linkGraph;
+  }
+
+  private double refDirectionAngle() {
+    // direction from the world center of body1 to the one of body2, computed without allocations
+    Transform t1 = body1.getTransform();
+    Transform t2 = body2.getTransform();
+    Vector2 c1 = body1.getMass().getCenter();
+    Vector2 c2 = body2.getMass().getCenter();
+    return Math.atan2(
+        t2.getTransformedY(c2) - t1.getTransformedY(c1),
+        t2.getTransformedX(c2) - t1.getTransformedX(c1)
     );
   }
 
@@ -280,7 +353,8 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
 
   @Override
   public Point jointPoint() {
-    return Utils.point(joint.getAnchor1());
+    Transform t = body1.getTransform();
+    return new Point(t.getTransformedX(jointLocalPoint), t.getTransformedY(jointLocalPoint));
   }
 
   @Override
@@ -288,6 +362,12 @@ public class RotationalJoint implements io.github.ericmedvet.mrsim2d.core.bodies
     return jointTargetAngle;
   }
 
+  protected void setControlState(double[] controlState) {
+    jointTargetAngle = controlState[0];
+    angleErrorSummation = controlState[1];
+    lastAngleError = controlState[2];
+  }
+
   protected void setJointTargetAngle(double jointTargetAngle) {
     this.jointTargetAngle = jointActiveAngleRange().clip(jointTargetAngle);
   }
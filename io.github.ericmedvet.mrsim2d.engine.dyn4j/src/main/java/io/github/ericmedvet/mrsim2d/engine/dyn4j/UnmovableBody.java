@@ -23,6 +23,7 @@ package io.github.ericmedvet.mrsim2d.engine.dyn4j;
 import io.github.ericmedvet.jnb.datastructure.Pair;
 import io.github.ericmedvet.jsdynsym.control.geometry.Line;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
+import io.github.ericmedvet.mrsim2d.core.bodies.LinkGraph;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
 import io.github.ericmedvet.mrsim2d.core.geometry.Segment;
@@ -33,23 +34,27 @@ import org.dyn4j.dynamics.joint.Joint;
 import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.MassType;
 
-public class UnmovableBody implements io.github.ericmedvet.mrsim2d.core.bodies.UnmovableBody, MultipartBody {
+public class UnmovableBody implements io.github.ericmedvet.mrsim2d.core.bodies.UnmovableBody, MultipartBody, LinkGraphAnchorable {
 
   private final Poly poly;
   private final List<Body> bodies;
   private final List<Anchor> anchors;
+  private final LinkGraph linkGraph;
 
   private final Point initialCenter;
 
   public UnmovableBody(
       Poly poly,
+      List<Poly> convexParts,
       double anchorsDensity,
       double friction,
       double restitution,
-      double anchorSideDistance
+      double anchorSideDistance,
+      LinkGraph linkGraph
   ) {
+    this.linkGraph = linkGraph;
     this.poly = poly;
-    List<Poly> parts = (poly.vertexes().length > 3) ? Utils.decompose(poly) : List.of(poly);
+    List<Poly> parts = (poly.vertexes().length > 3) ? Utils.decompose(poly, convexParts) : List.of(poly);
     List<Pair<Body, Poly>> bodyPairs = parts.stream()
         .map(c -> {
           Convex convex = Utils.poly(c);
@@ -151,6 +156,11 @@ public class UnmovableBody implements io.github.ericmedvet.mrsim2d.core.bodies.U
     return List.of();
   }
 
+  @Override
+  public LinkGraph linkGraph() {
+    return linkGraph;
+  }
+
   @Override
   public Poly poly() {
     // assuming it can only be translated, we just check diff wrt initial center
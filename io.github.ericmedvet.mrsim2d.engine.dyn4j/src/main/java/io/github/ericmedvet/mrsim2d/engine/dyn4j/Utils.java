@@ -67,6 +67,13 @@ public class Utils {
     }
   }
 
+  public static List<Poly> decompose(Poly poly, List<Poly> ySectionParts) {
+    if (poly.vertexes().length < NATIVE_THRESHOLD || ySectionParts.isEmpty()) {
+      return decompose(poly);
+    }
+    return ySectionParts;
+  }
+
   public static List<Poly> decompose(Poly poly, DecomposeMethod method) {
     if (method.getDecomposer() != null) {
       if (method.getDecomposer().get() instanceof Triangulator triangulator) {
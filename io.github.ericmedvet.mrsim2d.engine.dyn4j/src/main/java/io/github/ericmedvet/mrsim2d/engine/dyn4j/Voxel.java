@@ -22,6 +22,7 @@ package io.github.ericmedvet.mrsim2d.engine.dyn4j;
 
 import io.github.ericmedvet.jnb.datastructure.DoubleRange;
 import io.github.ericmedvet.mrsim2d.core.bodies.Anchor;
+import io.github.ericmedvet.mrsim2d.core.bodies.LinkGraph;
 import io.github.ericmedvet.mrsim2d.core.geometry.Point;
 import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
 import java.util.*;
@@ -37,7 +38,7 @@ import org.dyn4j.geometry.Convex;
 import org.dyn4j.geometry.MassType;
 import org.dyn4j.geometry.Vector2;
 
-public class Voxel implements io.github.ericmedvet.mrsim2d.core.bodies.Voxel, MultipartBody {
+public class Voxel implements io.github.ericmedvet.mrsim2d.core.bodies.Voxel, MultipartBody, LinkGraphAnchorable {
 
   protected static final DoubleRange SPRING_F_RANGE = new DoubleRange(2d, 10d);
   protected static final double SPRING_D = 0.3d;
@@ -48,6 +49,7 @@ public class Voxel implements io.github.ericmedvet.mrsim2d.core.bodies.Voxel, Mu
   protected final Map<Side, List<DistanceJoint<Body>>> sideJoints;
   protected final List<DistanceJoint<Body>> centralJoints;
   protected final Map<Vertex, BodyAnchor> anchors;
+  private final LinkGraph linkGraph;
   private final double sideLength;
   private final double mass;
   private final double friction;
@@ -73,8 +75,10 @@ public class Voxel implements io.github.ericmedvet.mrsim2d.core.bodies.Voxel, Mu
       double angularDamping,
       double vertexMassSideLengthRatio,
       DoubleRange areaRatioActiveRange,
-      EnumSet<SpringScaffolding> springScaffoldings
+      EnumSet<SpringScaffolding> springScaffoldings,
+      LinkGraph linkGraph
   ) {
+    this.linkGraph = linkGraph;
     this.sideLength = sideLength;
     this.mass = mass;
     this.friction = friction;
@@ -508,6 +512,11 @@ public class Voxel implements io.github.ericmedvet.mrsim2d.core.bodies.Voxel, Mu
     return joints;
   }
 
+  @Override
+  public LinkGraph linkGraph() {
+    return linkGraph;
+  }
+
   private Vector2 getSidesAverageDirection() {
     return new Vector2(
         vertexes.get(Vertex.NW).getWorldCenter().x - vertexes.get(Vertex.NE).getWorldCenter().x + vertexes.get(
@@ -0,0 +1,158 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.Sensor;
+import io.github.ericmedvet.mrsim2d.core.actions.AddAgent;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateUnmovableBody;
+import io.github.ericmedvet.mrsim2d.core.actions.SenseJointAngle;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateAgent;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.CentralizedNumGridVSR;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.GridBody;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.AbstractLeggedHybridModularRobot;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.ConnectorType;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.LegChunk;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.NumLeggedHybridModularRobot;
+import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.bodies.RotationalJoint;
+import io.github.ericmedvet.mrsim2d.core.engine.Blueprint;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BlueprintTest {
+
+  private static final int N_OF_TICKS = 200;
+
+  private static class CountingVSR extends CentralizedNumGridVSR {
+    private int nOfBindings;
+
+    private CountingVSR(GridBody body, DenseNetwork network) {
+      super(body, network);
+    }
+
+    @Override
+    public void bindBodies(List<Body> bodies) {
+      super.bindBodies(bodies);
+      nOfBindings = nOfBindings + 1;
+    }
+  }
+
+  private static CountingVSR vsr() {
+    GridBody body = WarmStartTest.body();
+    return new CountingVSR(body, WarmStartTest.network(body, 1));
+  }
+
+  private static NumLeggedHybridModularRobot robot() {
+    Sensor<RotationalJoint> sensor = SenseJointAngle::new;
+    LegChunk legChunk = new LegChunk(
+        1.05,
+        1,
+        1.05,
+        new RotationalJoint.Motor(),
+        new DoubleRange(-1.047, 1.047),
+        ConnectorType.RIGID,
+        List.of(sensor)
+    );
+    AbstractLeggedHybridModularRobot.Module module = new AbstractLeggedHybridModularRobot.Module(
+        4,
+        1,
+        4,
+        List.of(legChunk, legChunk),
+        ConnectorType.SOFT,
+        ConnectorType.RIGID,
+        List.of(),
+        List.of(),
+        List.of()
+    );
+    List<AbstractLeggedHybridModularRobot.Module> modules = List.of(module, module);
+    DenseNetwork network = new DenseNetwork(
+        DenseNetwork.Activation.TANH,
+        NumLeggedHybridModularRobot.nOfInputs(modules),
+        new int[]{5},
+        NumLeggedHybridModularRobot.nOfOutputs(modules)
+    );
+    network.setParams(new Random(1).doubles(network.getParams().length, -1, 1).toArray());
+    return new NumLeggedHybridModularRobot(modules, network);
+  }
+
+  private static List<List<Point>> trajectory(EmbodiedAgent agent, Blueprint.Cache blueprintCache) {
+    Engine engine = new Dyn4JEngine().setBlueprintCache(blueprintCache);
+    engine.perform(
+        new CreateUnmovableBody(new Poly(new Point(-50, -5), new Point(50, -5), new Point(50, 0), new Point(-50, 0)))
+    );
+    engine.perform(new AddAgent(agent));
+    engine.perform(new TranslateAgent(agent, new Point(0, 3)));
+    List<List<Point>> vertexes = new ArrayList<>();
+    for (int i = 0; i < N_OF_TICKS; i = i + 1) {
+      engine.tick();
+      for (Body body : agent.bodyParts()) {
+        vertexes.add(Arrays.asList(body.poly().vertexes()));
+      }
+    }
+    return vertexes;
+  }
+
+  @Test
+  void replayedVSRMovesAsAssembledVSR() {
+    Blueprint.Cache blueprintCache = new Blueprint.Cache(10);
+    List<List<Point>> uncachedTrajectory = trajectory(vsr(), null);
+    CountingVSR recordedVSR = vsr();
+    List<List<Point>> recordedTrajectory = trajectory(recordedVSR, blueprintCache);
+    CountingVSR replayedVSR = vsr();
+    List<List<Point>> replayedTrajectory = trajectory(replayedVSR, blueprintCache);
+    assertEquals(0, recordedVSR.nOfBindings);
+    assertEquals(1, replayedVSR.nOfBindings);
+    assertEquals(uncachedTrajectory, recordedTrajectory);
+    assertEquals(uncachedTrajectory, replayedTrajectory);
+  }
+
+  @Test
+  void replayedRobotMovesAsAssembledRobot() {
+    Blueprint.Cache blueprintCache = new Blueprint.Cache(10);
+    List<List<Point>> uncachedTrajectory = trajectory(robot(), null);
+    trajectory(robot(), blueprintCache);
+    assertEquals(uncachedTrajectory, trajectory(robot(), blueprintCache));
+  }
+
+  @Test
+  void reusedRobotIsReplayedWithoutDuplicatedBodies() {
+    Blueprint.Cache blueprintCache = new Blueprint.Cache(10);
+    NumLeggedHybridModularRobot robot = robot();
+    trajectory(robot, blueprintCache);
+    int nOfBodies = robot.bodyParts().size();
+    List<List<Point>> firstReplayedTrajectory = trajectory(robot, blueprintCache);
+    List<List<Point>> secondReplayedTrajectory = trajectory(robot, blueprintCache);
+    assertEquals(nOfBodies, robot.bodyParts().size());
+    assertEquals(firstReplayedTrajectory, secondReplayedTrajectory);
+  }
+}
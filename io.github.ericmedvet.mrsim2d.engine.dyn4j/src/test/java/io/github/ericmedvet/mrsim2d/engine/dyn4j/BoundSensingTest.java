@@ -0,0 +1,86 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.ericmedvet.mrsim2d.core.BoundSensing;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.NumMultiBrained;
+import io.github.ericmedvet.mrsim2d.core.Snapshot;
+import io.github.ericmedvet.mrsim2d.core.actions.AddAgent;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateUnmovableBody;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateAgent;
+import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.engine.EngineSnapshot;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BoundSensingTest {
+
+  private static final int N_OF_TICKS = 200;
+
+  private record Trace(List<String> inputs, List<List<Point>> vertexes, int nOfActions) {}
+
+  private static Trace run(boolean boundSensors) {
+    Engine engine = new Dyn4JEngine();
+    engine.perform(
+        new CreateUnmovableBody(new Poly(new Point(-50, -5), new Point(50, -5), new Point(50, 0), new Point(-50, 0)))
+    );
+    EmbodiedAgent agent = WarmStartTest.agent(1);
+    if (boundSensors) {
+      ((BoundSensing) agent).bindSensors();
+    }
+    engine.perform(new AddAgent(agent));
+    engine.perform(new TranslateAgent(agent, new Point(0, 1)));
+    List<String> inputs = new ArrayList<>();
+    List<List<Point>> vertexes = new ArrayList<>();
+    Snapshot snapshot = null;
+    for (int i = 0; i < N_OF_TICKS; i = i + 1) {
+      snapshot = engine.tick();
+      for (NumMultiBrained.BrainIO brainIO : ((NumMultiBrained) agent).brainIOs()) {
+        inputs.add(Arrays.toString(brainIO.input().values()));
+      }
+      for (Body body : agent.bodyParts()) {
+        vertexes.add(Arrays.asList(body.poly().vertexes()));
+      }
+    }
+    return new Trace(
+        inputs,
+        vertexes,
+        ((EngineSnapshot) snapshot).counters().get(EngineSnapshot.CounterType.ACTION)
+    );
+  }
+
+  @Test
+  void boundSensorsGiveSameInputsTrajectoriesAndCounters() {
+    Trace unbound = run(false);
+    Trace bound = run(true);
+    assertEquals(unbound.inputs(), bound.inputs());
+    assertEquals(unbound.vertexes(), bound.vertexes());
+    assertEquals(unbound.nOfActions(), bound.nOfActions());
+  }
+}
@@ -0,0 +1,120 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.actions.AddAgent;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateUnmovableBody;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateAgent;
+import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CheckpointTest {
+
+  private static final int N_OF_PREFIX_TICKS = 100;
+  private static final int N_OF_TICKS = 200;
+  private static final double MAX_DRIFT = 1e-2;
+
+  private record Run(Engine engine, EmbodiedAgent agent) {}
+
+  private static double drift(List<List<Point>> trajectory, List<List<Point>> otherTrajectory, int nOfTicks) {
+    double drift = 0d;
+    for (int i = 0; i < nOfTicks; i = i + 1) {
+      for (int j = 0; j < trajectory.get(i).size(); j = j + 1) {
+        drift = Math.max(drift, trajectory.get(i).get(j).distance(otherTrajectory.get(i).get(j)));
+      }
+    }
+    return drift;
+  }
+
+  private static Run start() {
+    Engine engine = new Dyn4JEngine();
+    engine.perform(
+        new CreateUnmovableBody(new Poly(new Point(-50, -5), new Point(50, -5), new Point(50, 0), new Point(-50, 0)))
+    );
+    EmbodiedAgent agent = WarmStartTest.agent(1);
+    engine.perform(new AddAgent(agent));
+    engine.perform(new TranslateAgent(agent, new Point(0, 1)));
+    return new Run(engine, agent);
+  }
+
+  private static List<List<Point>> tick(Run run, int nOfTicks, boolean active) {
+    List<List<Point>> trajectory = new ArrayList<>();
+    for (int i = 0; i < nOfTicks; i = i + 1) {
+      if (active) {
+        run.engine().tick();
+      } else {
+        run.engine().passiveTick();
+      }
+      List<Point> vertexes = new ArrayList<>();
+      for (Body body : run.agent().bodyParts()) {
+        vertexes.addAll(Arrays.asList(body.poly().vertexes()));
+      }
+      trajectory.add(vertexes);
+    }
+    return trajectory;
+  }
+
+  private static List<List<Point>> tickFromCheckpoint(Engine.Checkpoint checkpoint, boolean active) {
+    // the state goes on an agent built and placed as the checkpointed one
+    Run run = start();
+    run.engine().restore(checkpoint);
+    return tick(run, N_OF_TICKS, active);
+  }
+
+  @Test
+  void restoredCheckpointGivesSameRunAtEveryRestore() {
+    Run run = start();
+    tick(run, N_OF_PREFIX_TICKS, true);
+    Engine.Checkpoint checkpoint = run.engine().checkpoint();
+    assertEquals(tickFromCheckpoint(checkpoint, true), tickFromCheckpoint(checkpoint, true));
+  }
+
+  @Test
+  void restoredCheckpointSlightlyDriftsFromUninterruptedRun() {
+    // passive ticks: the controllers, which start again from no inputs, do not add to the drift of the engine
+    Run run = start();
+    tick(run, N_OF_PREFIX_TICKS, false);
+    Engine.Checkpoint checkpoint = run.engine().checkpoint();
+    List<List<Point>> uninterrupted = tick(run, N_OF_TICKS, false);
+    List<List<Point>> restored = tickFromCheckpoint(checkpoint, false);
+    // the first step after a restore is cold, as the solver has nothing to warm start from
+    double firstTickDrift = drift(uninterrupted, restored, 1);
+    double drift = drift(uninterrupted, restored, N_OF_TICKS);
+    System.out.printf(
+        "Drift of restored run from uninterrupted run: %.2e after 1 tick, %.2e after %d ticks%n",
+        firstTickDrift,
+        drift,
+        N_OF_TICKS
+    );
+    assertTrue(drift < MAX_DRIFT);
+  }
+}
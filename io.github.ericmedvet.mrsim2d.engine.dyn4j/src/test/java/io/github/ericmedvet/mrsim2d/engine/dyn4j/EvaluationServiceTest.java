@@ -0,0 +1,94 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.EvaluationService;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
+import io.github.ericmedvet.mrsim2d.core.tasks.locomotion.Locomotion;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class EvaluationServiceTest {
+
+  private static final double DURATION = 3d;
+  private static final double WARM_START_DURATION = 1d;
+
+  private static void assertSameOutcomes(
+      List<AgentsOutcome<AgentsObservation>> expectedOutcomes,
+      List<AgentsOutcome<AgentsObservation>> actualOutcomes
+  ) {
+    assertEquals(expectedOutcomes.size(), actualOutcomes.size());
+    for (int i = 0; i < expectedOutcomes.size(); i = i + 1) {
+      AgentsOutcome<AgentsObservation> expected = expectedOutcomes.get(i);
+      AgentsOutcome<AgentsObservation> actual = actualOutcomes.get(i);
+      assertEquals(expected.snapshots().keySet(), actual.snapshots().keySet(), "job %d".formatted(i));
+      assertEquals(expected.firstAgentXVelocity(), actual.firstAgentXVelocity(), "job %d".formatted(i));
+      assertEquals(expected.firstAgentAverageY(), actual.firstAgentAverageY(), "job %d".formatted(i));
+    }
+  }
+
+  private static List<AgentsOutcome<AgentsObservation>> evaluate(
+      Locomotion task,
+      List<Supplier<EmbodiedAgent>> agents
+  ) {
+    // a single thread, for having all the jobs on the same reused engine
+    try (EvaluationService evaluationService = new EvaluationService(1, Dyn4JEngine::new)) {
+      return evaluationService.evaluate(
+              agents.stream().map(a -> new EvaluationService.Job<>(task, a, DURATION)).toList()
+          )
+          .stream()
+          .map(EvaluationService.Result::outcome)
+          .toList();
+    }
+  }
+
+  private static List<AgentsOutcome<AgentsObservation>> evaluateOnFreshEngines(
+      Supplier<Locomotion> taskSupplier,
+      List<Supplier<EmbodiedAgent>> agents
+  ) {
+    return agents.stream().map(a -> taskSupplier.get().run(a, DURATION, new Dyn4JEngine())).toList();
+  }
+
+  @Test
+  void reusedEngineGivesSameOutcomesOfFreshEngines() {
+    List<Supplier<EmbodiedAgent>> agents = List.of(() -> WarmStartTest.agent(1), () -> WarmStartTest.agent(2));
+    assertSameOutcomes(
+        evaluateOnFreshEngines(() -> WarmStartTest.locomotion(WarmStart.NONE), agents),
+        evaluate(WarmStartTest.locomotion(WarmStart.NONE), agents)
+    );
+  }
+
+  @Test
+  void reusedEngineWithWarmStartGivesSameOutcomesOfFreshEngines() {
+    // same morphology, different controllers: the second job restores the prefix of the first one
+    List<Supplier<EmbodiedAgent>> agents = List.of(() -> WarmStartTest.agent(1), () -> WarmStartTest.agent(2));
+    assertSameOutcomes(
+        evaluateOnFreshEngines(() -> WarmStartTest.locomotion(new WarmStart(WARM_START_DURATION)), agents),
+        evaluate(WarmStartTest.locomotion(new WarmStart(WARM_START_DURATION)), agents)
+    );
+  }
+}
@@ -0,0 +1,66 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.CentralizedNumGridVSR;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.GridBody;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.LockstepEvaluator;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
+import io.github.ericmedvet.mrsim2d.core.tasks.locomotion.Locomotion;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class LockstepEvaluatorTest {
+
+  private static final double DURATION = 3d;
+  private static final int N_OF_AGENTS = 4;
+
+  @Test
+  void lockstepGivesSameOutcomesOfSequentialRuns() {
+    Locomotion task = WarmStartTest.locomotion(WarmStart.NONE);
+    GridBody body = WarmStartTest.body();
+    List<DenseNetwork> brains = LongStream.range(0, N_OF_AGENTS)
+        .mapToObj(seed -> WarmStartTest.network(body, seed))
+        .toList();
+    List<AgentsOutcome<AgentsObservation>> sequentialOutcomes = brains.stream()
+        .map(b -> task.run(() -> new CentralizedNumGridVSR(body, b), DURATION, new Dyn4JEngine()))
+        .toList();
+    List<AgentsOutcome<AgentsObservation>> lockstepOutcomes = new LockstepEvaluator<>(
+        task,
+        DURATION,
+        Dyn4JEngine::new
+    ).evaluate(brains, b -> new CentralizedNumGridVSR(body, b));
+    assertEquals(
+        sequentialOutcomes.stream().map(AgentsOutcome::firstAgentXVelocity).toList(),
+        lockstepOutcomes.stream().map(AgentsOutcome::firstAgentXVelocity).toList()
+    );
+    assertEquals(
+        sequentialOutcomes.stream().map(AgentsOutcome::firstAgentAverageY).toList(),
+        lockstepOutcomes.stream().map(AgentsOutcome::firstAgentAverageY).toList()
+    );
+  }
+}
@@ -0,0 +1,78 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.actions.ActuateVoxel;
+import io.github.ericmedvet.mrsim2d.core.actions.AddAgent;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateUnmovableBody;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateAgent;
+import io.github.ericmedvet.mrsim2d.core.bodies.Voxel;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import java.util.EnumMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NumGridVSRTest {
+
+  private static final int N_OF_TICKS = 50;
+
+  private static List<ActionOutcome<?, ?>> actuations(Engine engine) {
+    return engine.tick()
+        .actionOutcomes()
+        .stream()
+        .filter(o -> o.action() instanceof ActuateVoxel)
+        .toList();
+  }
+
+  private static List<EnumMap<Voxel.Side, Double>> values(List<ActionOutcome<?, ?>> outcomes) {
+    return outcomes.stream().map(o -> new EnumMap<>(((ActuateVoxel) o.action()).values())).toList();
+  }
+
+  @Test
+  void retainedActuationOutcomesDoNotChangeOnNextTicks() {
+    Engine engine = new Dyn4JEngine();
+    engine.perform(
+        new CreateUnmovableBody(new Poly(new Point(-50, -5), new Point(50, -5), new Point(50, 0), new Point(-50, 0)))
+    );
+    EmbodiedAgent agent = WarmStartTest.agent(1);
+    engine.perform(new AddAgent(agent));
+    engine.perform(new TranslateAgent(agent, new Point(0, 1)));
+    // skip the first tick, where the agent has no inputs yet
+    engine.tick();
+    List<ActionOutcome<?, ?>> retained = actuations(engine);
+    List<EnumMap<Voxel.Side, Double>> retainedValues = values(retained);
+    assertFalse(retained.isEmpty());
+    List<ActionOutcome<?, ?>> last = retained;
+    for (int i = 0; i < N_OF_TICKS; i = i + 1) {
+      last = actuations(engine);
+    }
+    assertNotEquals(retainedValues, values(last));
+    assertEquals(retainedValues, values(retained));
+  }
+}
@@ -0,0 +1,117 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.Action;
+import io.github.ericmedvet.mrsim2d.core.ActionOutcome;
+import io.github.ericmedvet.mrsim2d.core.Sensor;
+import io.github.ericmedvet.mrsim2d.core.actions.ActuateRotationalJoint;
+import io.github.ericmedvet.mrsim2d.core.actions.CreateUnmovableBody;
+import io.github.ericmedvet.mrsim2d.core.actions.SenseJointAngle;
+import io.github.ericmedvet.mrsim2d.core.actions.TranslateAgent;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.AbstractLeggedHybridRobot;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.ConnectorType;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.LegChunk;
+import io.github.ericmedvet.mrsim2d.core.agents.legged.NumLeggedHybridRobot;
+import io.github.ericmedvet.mrsim2d.core.bodies.RotationalJoint;
+import io.github.ericmedvet.mrsim2d.core.engine.ActionException;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NumLeggedHybridRobotTest {
+
+  private static final int N_OF_TICKS = 50;
+
+  private static NumLeggedHybridRobot robot() {
+    Sensor<RotationalJoint> sensor = SenseJointAngle::new;
+    LegChunk legChunk = new LegChunk(
+        1.05,
+        1,
+        1.05,
+        new RotationalJoint.Motor(),
+        new DoubleRange(-1.047, 1.047),
+        ConnectorType.RIGID,
+        List.of(sensor)
+    );
+    AbstractLeggedHybridRobot.Leg leg = new AbstractLeggedHybridRobot.Leg(
+        List.of(legChunk, legChunk),
+        ConnectorType.SOFT,
+        1.1,
+        List.of()
+    );
+    List<AbstractLeggedHybridRobot.Leg> legs = List.of(leg, leg);
+    DenseNetwork network = new DenseNetwork(
+        DenseNetwork.Activation.TANH,
+        NumLeggedHybridRobot.nOfInputs(legs, List.of()),
+        new int[]{5},
+        NumLeggedHybridRobot.nOfOutputs(legs)
+    );
+    network.setParams(new Random(1).doubles(network.getParams().length, -1, 1).toArray());
+    return new NumLeggedHybridRobot(legs, 6, 1, 6, 1, List.of(), network);
+  }
+
+  private static List<Double> values(List<? extends Action<?>> actions) {
+    return actions.stream()
+        .filter(a -> a instanceof ActuateRotationalJoint)
+        .map(a -> ((ActuateRotationalJoint) a).value())
+        .toList();
+  }
+
+  @Test
+  void actionsReturnedByActDoNotChangeOnNextTicks() throws ActionException {
+    Engine engine = new Dyn4JEngine();
+    engine.perform(
+        new CreateUnmovableBody(new Poly(new Point(-50, -5), new Point(50, -5), new Point(50, 0), new Point(-50, 0)))
+    );
+    NumLeggedHybridRobot robot = robot();
+    // not added as an agent, for the test to be the only caller of act()
+    robot.assemble(engine);
+    engine.perform(new TranslateAgent(robot, new Point(0, 5)));
+    List<ActionOutcome<?, ?>> outcomes = List.of();
+    List<? extends Action<?>> retained = null;
+    List<Double> retainedValues = null;
+    List<Double> lastValues = null;
+    for (int i = 0; i < N_OF_TICKS; i = i + 1) {
+      List<? extends Action<?>> actions = robot.act(engine.t(), outcomes);
+      if (i == 1) {
+        retained = actions;
+        retainedValues = new ArrayList<>(values(actions));
+      }
+      lastValues = values(actions);
+      outcomes = actions.stream().<ActionOutcome<?, ?>>map(a -> engine.perform(a, robot)).toList();
+      engine.tick();
+    }
+    assertFalse(retainedValues.isEmpty());
+    assertNotEquals(retainedValues, lastValues);
+    assertEquals(retainedValues, values(retained));
+  }
+}
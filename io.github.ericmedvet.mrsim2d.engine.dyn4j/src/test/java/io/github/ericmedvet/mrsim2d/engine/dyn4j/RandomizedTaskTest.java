@@ -0,0 +1,96 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.geometry.Path;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.EvaluationService;
+import io.github.ericmedvet.mrsim2d.core.tasks.RandomizedTask;
+import io.github.ericmedvet.mrsim2d.core.tasks.piling.FallPiling;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class RandomizedTaskTest {
+
+  private static final double DURATION = 2d;
+  private static final int N_OF_REPETITIONS = 3;
+  private static final int N_OF_THREADS = 3;
+  private static final Supplier<EmbodiedAgent> AGENT = () -> WarmStartTest.agent(1);
+  private static final List<AgentsOutcome.Key> KEYS = AgentsOutcome.keys(
+      List.of(AgentsOutcome.Metric.X, AgentsOutcome.Metric.Y),
+      List.of(AgentsOutcome.Aggregate.FINAL),
+      List.of(AgentsOutcome.Subject.FIRST, AgentsOutcome.Subject.ALL)
+  );
+
+  private static List<Map<AgentsOutcome.Key, Double>> runInParallel(
+      List<? extends RandomizedTask<Supplier<EmbodiedAgent>, AgentsObservation, AgentsOutcome<AgentsObservation>>> tasks
+  ) {
+    try (EvaluationService evaluationService = new EvaluationService(N_OF_THREADS, Dyn4JEngine::new)) {
+      return evaluationService.evaluate(
+              tasks.stream().map(t -> new EvaluationService.Job<>(t, AGENT, DURATION)).toList()
+          )
+          .stream()
+          .map(r -> r.outcome().get(KEYS))
+          .toList();
+    }
+  }
+
+  private static List<Map<AgentsOutcome.Key, Double>> runInSequence(
+      List<? extends RandomizedTask<Supplier<EmbodiedAgent>, AgentsObservation, AgentsOutcome<AgentsObservation>>> tasks
+  ) {
+    return tasks.stream().map(t -> t.run(AGENT, DURATION, new Dyn4JEngine()).get(KEYS)).toList();
+  }
+
+  private static FallPiling task(long seed) {
+    Terrain terrain = Terrain.fromPath(new Path(new Point(50, 0)), 25, 10, 100);
+    return new FallPiling(0.5d, 2, 0.5d, new Random(seed), terrain, 1d);
+  }
+
+  @Test
+  void repetitionsAreDrawnFromTheSeedOfTheTask() {
+    FallPiling task = task(1);
+    List<Map<AgentsOutcome.Key, Double>> values = runInSequence(task.repetitions(N_OF_REPETITIONS));
+    assertEquals(values, runInSequence(task(1).repetitions(N_OF_REPETITIONS)));
+    assertNotEquals(values, runInSequence(task(2).repetitions(N_OF_REPETITIONS)));
+    assertNotEquals(values.get(0), values.get(1));
+    // later repetitions of the same task go on with the generator of the task
+    assertNotEquals(values, runInSequence(task.repetitions(N_OF_REPETITIONS)));
+  }
+
+  @Test
+  void repetitionsGiveSameOutcomesInSequenceAndInParallel() {
+    assertEquals(
+        runInSequence(task(1).repetitions(N_OF_REPETITIONS)),
+        runInParallel(task(1).repetitions(N_OF_REPETITIONS))
+    );
+  }
+}
@@ -0,0 +1,79 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.ericmedvet.jnb.datastructure.DoubleRange;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class StreamingTest {
+
+  private static final double DURATION = 3d;
+  private static final List<Double> TRANSIENT_TIMES = List.of(0d, 1d);
+  private static final List<AgentsOutcome.Key> KEYS = AgentsOutcome.keys(
+      List.of(AgentsOutcome.Metric.Y, AgentsOutcome.Metric.BB_H, AgentsOutcome.Metric.ENERGY_CONSUMPTION),
+      List.of(AgentsOutcome.Aggregate.AVERAGE, AgentsOutcome.Aggregate.MAX, AgentsOutcome.Aggregate.SUM),
+      List.of(AgentsOutcome.Subject.FIRST, AgentsOutcome.Subject.ALL)
+  );
+
+  private static AgentsOutcome<AgentsObservation> run(OutcomeAccumulator.Streaming streaming) {
+    return WarmStartTest.locomotion(streaming, WarmStart.NONE)
+        .run(() -> WarmStartTest.agent(1), DURATION, new Dyn4JEngine());
+  }
+
+  @Test
+  void streamedOutcomeGivesSameValuesOfStoredOutcome() {
+    AgentsOutcome<AgentsObservation> stored = run(OutcomeAccumulator.Streaming.NONE);
+    AgentsOutcome<AgentsObservation> streamed = run(
+        new OutcomeAccumulator.Streaming(Set.copyOf(KEYS), Set.copyOf(TRANSIENT_TIMES))
+    );
+    assertEquals(stored.get(KEYS), streamed.get(KEYS));
+    assertEquals(stored.firstAgentXVelocity(), streamed.firstAgentXVelocity());
+    for (double transientTime : TRANSIENT_TIMES) {
+      AgentsOutcome<AgentsObservation> storedSubOutcome = stored.subOutcome(
+          new DoubleRange(transientTime, stored.duration())
+      );
+      AgentsOutcome<AgentsObservation> streamedSubOutcome = streamed.subOutcome(
+          new DoubleRange(transientTime, streamed.duration())
+      );
+      assertEquals(storedSubOutcome.get(KEYS), streamedSubOutcome.get(KEYS));
+      assertEquals(storedSubOutcome.firstAgentXVelocity(), streamedSubOutcome.firstAgentXVelocity());
+    }
+  }
+
+  @Test
+  void streamedOutcomeRejectsKeysAndTransientTimesNotStreamed() {
+    AgentsOutcome<AgentsObservation> streamed = run(
+        new OutcomeAccumulator.Streaming(Set.copyOf(KEYS), Set.copyOf(TRANSIENT_TIMES))
+    );
+    assertThrows(IllegalStateException.class, streamed::allAgentsAverageWidth);
+    assertThrows(IllegalArgumentException.class, () -> streamed.subOutcome(new DoubleRange(2d, streamed.duration())));
+  }
+}
@@ -0,0 +1,81 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Poly;
+import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
+import io.github.ericmedvet.mrsim2d.core.geometry.TerrainBuilder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TerrainDecompositionTest {
+
+  private static final int N_OF_CHUNKS = 200;
+
+  private static Terrain terrain(long seed, boolean steps) {
+    Random random = new Random(seed);
+    TerrainBuilder terrainBuilder = new TerrainBuilder(25, 10, 100).add(10, 0);
+    for (int i = 0; i < N_OF_CHUNKS; i = i + 1) {
+      double sW = Math.max(1d, (random.nextGaussian() * 0.25 + 1) * 5);
+      double sH = random.nextGaussian() * 0.5;
+      if (steps) {
+        terrainBuilder.moveBy(sW, 0).moveBy(0, sH);
+      } else {
+        terrainBuilder.moveBy(sW, sH);
+      }
+    }
+    return terrainBuilder.build();
+  }
+
+  private static List<List<Point>> vertexes(List<Poly> polies) {
+    return polies.stream().map(p -> Arrays.asList(p.vertexes())).toList();
+  }
+
+  private static void assertSameAsYSection(Terrain terrain) {
+    assertFalse(terrain.convexParts().isEmpty());
+    assertEquals(
+        vertexes(Utils.decompose(terrain.poly(), Utils.DecomposeMethod.Y_SECTION)),
+        vertexes(terrain.convexParts())
+    );
+  }
+
+  @Test
+  void convexPartsOfHillyTerrainAreTheYSectionDecomposition() {
+    assertSameAsYSection(terrain(1, false));
+  }
+
+  @Test
+  void convexPartsOfSteppyTerrainAreTheYSectionDecomposition() {
+    assertSameAsYSection(terrain(2, true));
+  }
+
+  @Test
+  void terrainsWithSameProfileAreEqual() {
+    assertEquals(terrain(3, false), terrain(3, false));
+    assertEquals(terrain(3, false).hashCode(), terrain(3, false).hashCode());
+  }
+}
@@ -0,0 +1,118 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-engine-dyn4j
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.engine.dyn4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.github.ericmedvet.jnb.datastructure.Grid;
+import io.github.ericmedvet.mrsim2d.core.EmbodiedAgent;
+import io.github.ericmedvet.mrsim2d.core.Sensor;
+import io.github.ericmedvet.mrsim2d.core.actions.SenseAngle;
+import io.github.ericmedvet.mrsim2d.core.actions.SenseAreaRatio;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.CentralizedNumGridVSR;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.GridBody;
+import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.geometry.Path;
+import io.github.ericmedvet.mrsim2d.core.geometry.Point;
+import io.github.ericmedvet.mrsim2d.core.geometry.Terrain;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.OutcomeAccumulator;
+import io.github.ericmedvet.mrsim2d.core.tasks.StopCondition;
+import io.github.ericmedvet.mrsim2d.core.tasks.WarmStart;
+import io.github.ericmedvet.mrsim2d.core.tasks.locomotion.Locomotion;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class WarmStartTest {
+
+  private static final double DURATION = 3d;
+  private static final double WARM_START_DURATION = 1d;
+  private static final Terrain TERRAIN = Terrain.fromPath(new Path(new Point(50, 0)), 25, 10, 100);
+
+  static GridBody body() {
+    List<Sensor<? super Body>> sensors = List.of(SenseAngle::new, SenseAreaRatio::new);
+    return new GridBody(
+        Grid.create(3, 2, k -> k.y() == 0 ? GridBody.VoxelType.SOFT : GridBody.VoxelType.RIGID),
+        shape -> shape.map(b -> sensors)
+    );
+  }
+
+  static DenseNetwork network(GridBody body, long seed) {
+    DenseNetwork network = new DenseNetwork(
+        DenseNetwork.Activation.TANH,
+        CentralizedNumGridVSR.nOfInputs(body),
+        new int[]{5},
+        CentralizedNumGridVSR.nOfOutputs(body)
+    );
+    network.setParams(new Random(seed).doubles(network.getParams().length, -1, 1).toArray());
+    return network;
+  }
+
+  static EmbodiedAgent agent(long seed) {
+    GridBody body = body();
+    return new CentralizedNumGridVSR(body, network(body, seed));
+  }
+
+  static Locomotion locomotion(OutcomeAccumulator.Streaming streaming, WarmStart warmStart) {
+    return new Locomotion(
+        TERRAIN,
+        Double.POSITIVE_INFINITY,
+        1d,
+        0.1d,
+        0d,
+        streaming,
+        StopCondition.NEVER,
+        warmStart
+    );
+  }
+
+  static Locomotion locomotion(WarmStart warmStart) {
+    return locomotion(OutcomeAccumulator.Streaming.NONE, warmStart);
+  }
+
+  @Test
+  void cachedPrefixGivesSameOutcomeOfSimulatedPrefix() {
+    Locomotion task = locomotion(new WarmStart(WARM_START_DURATION));
+    AgentsOutcome<AgentsObservation> firstOutcome = task.run(() -> agent(1), DURATION, new Dyn4JEngine());
+    // same morphology, other controller: the prefix is taken from the cache
+    AgentsOutcome<AgentsObservation> cachedOutcome = task.run(() -> agent(2), DURATION, new Dyn4JEngine());
+    AgentsOutcome<AgentsObservation> simulatedOutcome = locomotion(new WarmStart(WARM_START_DURATION))
+        .run(() -> agent(2), DURATION, new Dyn4JEngine());
+    assertEquals(simulatedOutcome.firstAgentXVelocity(), cachedOutcome.firstAgentXVelocity());
+    assertEquals(simulatedOutcome.firstAgentAverageY(), cachedOutcome.firstAgentAverageY());
+    assertNotEquals(firstOutcome.firstAgentXVelocity(), cachedOutcome.firstAgentXVelocity());
+  }
+
+  @Test
+  void prefixIsNotChargedToDuration() {
+    AgentsOutcome<AgentsObservation> coldOutcome = locomotion(WarmStart.NONE)
+        .run(() -> agent(1), DURATION, new Dyn4JEngine());
+    AgentsOutcome<AgentsObservation> warmOutcome = locomotion(new WarmStart(WARM_START_DURATION))
+        .run(() -> agent(1), DURATION, new Dyn4JEngine());
+    assertEquals(coldOutcome.snapshots().size(), warmOutcome.snapshots().size());
+    assertEquals(coldOutcome.snapshots().firstKey(), warmOutcome.snapshots().firstKey(), 1e-6);
+    assertEquals(coldOutcome.snapshots().lastKey(), warmOutcome.snapshots().lastKey(), 1e-6);
+  }
+}
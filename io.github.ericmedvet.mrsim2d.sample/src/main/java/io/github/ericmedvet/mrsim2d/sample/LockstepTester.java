@@ -0,0 +1,120 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-sample
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.sample;
+
+import io.github.ericmedvet.jnb.core.NamedBuilder;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.CentralizedNumGridVSR;
+import io.github.ericmedvet.mrsim2d.core.agents.gridvsr.GridBody;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsObservation;
+import io.github.ericmedvet.mrsim2d.core.tasks.AgentsOutcome;
+import io.github.ericmedvet.mrsim2d.core.tasks.LockstepEvaluator;
+import io.github.ericmedvet.mrsim2d.core.tasks.locomotion.Locomotion;
+import io.github.ericmedvet.mrsim2d.core.util.DenseNetwork;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+public class LockstepTester {
+
+  private static final String BODY = """
+      s.a.vsr.gridBody(
+        shape = s.a.vsr.s.biped(w = 4; h = 3);
+        sensorizingFunction = s.a.vsr.sf.directional(
+          headSensors = [s.s.d(a = -40; r = 5); s.s.sin()];
+          sSensors = [s.s.d(a = -90; r = 1)];
+          sensors = [s.s.a(); s.s.ar()]
+        )
+      )
+      """;
+
+  private static final String TASK = "s.task.locomotion()";
+
+  public static void main(String[] args) {
+    NamedBuilder<Object> nb = NamedBuilder.fromDiscovery();
+    Supplier<Engine> engineSupplier = () -> ServiceLoader.load(Engine.class).findFirst().orElseThrow();
+    Locomotion task = (Locomotion) nb.build(TASK);
+    double duration = 10;
+    // warm up
+    profile(nb, task, engineSupplier, 5, duration);
+    // profile
+    for (int n : new int[]{10, 50, 100}) {
+      profile(nb, task, engineSupplier, n, duration);
+    }
+  }
+
+  private static void profile(
+      NamedBuilder<Object> nb,
+      Locomotion task,
+      Supplier<Engine> engineSupplier,
+      int n,
+      double duration
+  ) {
+    GridBody body = (GridBody) nb.build(BODY);
+    RandomGenerator rg = new Random(1);
+    List<DenseNetwork> brains = IntStream.range(0, n).mapToObj(i -> {
+      DenseNetwork brain = new DenseNetwork(
+          DenseNetwork.Activation.TANH,
+          CentralizedNumGridVSR.nOfInputs(body),
+          new int[]{CentralizedNumGridVSR.nOfInputs(body)},
+          CentralizedNumGridVSR.nOfOutputs(body)
+      );
+      brain.setParams(IntStream.range(0, brain.getParams().length).mapToDouble(j -> rg.nextGaussian()).toArray());
+      return brain;
+    }).toList();
+    // sequential
+    Instant startingInstant = Instant.now();
+    List<AgentsOutcome<AgentsObservation>> sequentialOutcomes = brains.stream()
+        .map(b -> task.run(() -> new CentralizedNumGridVSR(body, b), duration, engineSupplier.get()))
+        .toList();
+    double sequentialElapsed = Duration.between(startingInstant, Instant.now()).toMillis() / 1000d;
+    // lockstep
+    LockstepEvaluator<AgentsObservation, AgentsOutcome<AgentsObservation>> evaluator = new LockstepEvaluator<>(
+        task,
+        duration,
+        engineSupplier
+    );
+    startingInstant = Instant.now();
+    List<AgentsOutcome<AgentsObservation>> lockstepOutcomes = evaluator.evaluate(
+        brains,
+        b -> new CentralizedNumGridVSR(body, b)
+    );
+    double lockstepElapsed = Duration.between(startingInstant, Instant.now()).toMillis() / 1000d;
+    boolean same = IntStream.range(0, n)
+        .allMatch(
+            i -> sequentialOutcomes.get(i).firstAgentXDistance() == lockstepOutcomes.get(i).firstAgentXDistance()
+        );
+    System.out.printf(
+        "n=%3d sequential=%6.3fs (%6.1f agents/s) lockstep=%6.3fs (%6.1f agents/s) same=%s%n",
+        n,
+        sequentialElapsed,
+        n / sequentialElapsed,
+        lockstepElapsed,
+        n / lockstepElapsed,
+        same
+    );
+  }
+}
@@ -0,0 +1,102 @@
+/*-
+ * ========================LICENSE_START=================================
+ * mrsim2d-sample
+ * %%
+ * Copyright (C) 2020 - 2025 Eric Medvet
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+package io.github.ericmedvet.mrsim2d.sample;
+
+import io.github.ericmedvet.jnb.core.NamedBuilder;
+import io.github.ericmedvet.jnb.datastructure.Composed;
+import io.github.ericmedvet.jnb.datastructure.NumericalParametrized;
+import io.github.ericmedvet.mrsim2d.core.NumMultiBrained;
+import io.github.ericmedvet.mrsim2d.core.Snapshot;
+import io.github.ericmedvet.mrsim2d.core.agents.independentvoxel.AbstractIndependentVoxel;
+import io.github.ericmedvet.mrsim2d.core.engine.Engine;
+import io.github.ericmedvet.mrsim2d.core.tasks.locomotion.PrebuiltIndependentLocomotion;
+import io.github.ericmedvet.mrsim2d.core.util.Profiled;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+public class SwarmTester {
+
+  private static final String AGENT = """
+      s.a.numIndependentVoxel(
+        sensors = [s.s.d(a = 0; r = 1); s.s.d(a = 90; r = 1); s.s.d(a = 180; r = 1); s.s.d(a = 270; r = 1)];
+        nOfNFCChannels = %d;
+        attachActuation = false;
+        areaActuation = overall;
+        function = ds.num.mlp()
+      )
+      """;
+
+  private static final String TASK = "s.task.prebuiltIndependentLocomotion(shape = s.a.vsr.s.worm(w = %d; h = %d))";
+
+  public static void main(String[] args) {
+    NamedBuilder<Object> nb = NamedBuilder.fromDiscovery();
+    Supplier<Engine> engineSupplier = () -> ServiceLoader.load(Engine.class).findFirst().orElseThrow();
+    Consumer<Snapshot> nullConsumer = s -> {};
+    double duration = 5;
+    // warm up
+    profile(nb, engineSupplier, nullConsumer, 10, 10, 2, duration);
+    // profile
+    for (int nOfChannels : new int[]{1, 2, 4}) {
+      profile(nb, engineSupplier, nullConsumer, 50, 20, nOfChannels, duration);
+    }
+  }
+
+  private static void profile(
+      NamedBuilder<Object> nb,
+      Supplier<Engine> engineSupplier,
+      Consumer<Snapshot> consumer,
+      int w,
+      int h,
+      int nOfChannels,
+      double duration
+  ) {
+    PrebuiltIndependentLocomotion task = (PrebuiltIndependentLocomotion) nb.build(TASK.formatted(w, h));
+    RandomGenerator rg = new Random(1);
+    Supplier<AbstractIndependentVoxel> agentSupplier = () -> {
+      AbstractIndependentVoxel agent = (AbstractIndependentVoxel) nb.build(AGENT.formatted(nOfChannels));
+      if (agent instanceof NumMultiBrained numMultiBrained) {
+        numMultiBrained.brains()
+            .stream()
+            .map(b -> Composed.shallowest(b, NumericalParametrized.class))
+            .forEach(o -> o.ifPresent(v -> {
+              NumericalParametrized<?> np = (NumericalParametrized<?>) v;
+              np.setParams(IntStream.range(0, np.getParams().length).mapToDouble(i -> rg.nextGaussian()).toArray());
+            }));
+      }
+      return agent;
+    };
+    Engine engine = engineSupplier.get();
+    Instant startingInstant = Instant.now();
+    task.run(agentSupplier, duration, engine, consumer);
+    double elapsed = Duration.between(startingInstant, Instant.now()).toMillis() / 1000d;
+    System.out.printf("n=%d channels=%d t=%5.3fs%n", w * h, nOfChannels, elapsed);
+    if (engine instanceof Profiled profiled) {
+      System.out.println(new TreeMap<>(profiled.values()));
+    }
+  }
+}
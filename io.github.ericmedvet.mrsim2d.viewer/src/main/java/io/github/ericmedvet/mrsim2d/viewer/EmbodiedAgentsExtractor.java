@@ -21,6 +21,7 @@ package io.github.ericmedvet.mrsim2d.viewer;
 
 import io.github.ericmedvet.mrsim2d.core.*;
 import io.github.ericmedvet.mrsim2d.core.bodies.Body;
+import io.github.ericmedvet.mrsim2d.core.geometry.BoundingBox;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -37,6 +38,7 @@ public class EmbodiedAgentsExtractor implements Function<Snapshot, List<Snapshot
 
   private record EmbodiedAgentSnapshot(
       Collection<ActionOutcome<?, ?>> actionOutcomes,
+      Map<Agent, BoundingBox> agentBoundingBoxes,
       Map<Agent, Map<EnergyConsumingAction.Type, Double>> agentEnergyConsumptions,
       Collection<Body> bodies,
       Collection<NFCMessage> nfcMessages,
@@ -46,6 +48,7 @@ public class EmbodiedAgentsExtractor implements Function<Snapshot, List<Snapshot
   private static EmbodiedAgentSnapshot from(EmbodiedAgent a, Snapshot s) {
     return new EmbodiedAgentSnapshot(
         s.actionOutcomes().stream().filter(ao -> a.equals(ao.agent())).toList(),
+        s.agentBoundingBoxes().containsKey(a) ? Map.of(a, s.agentBoundingBoxes().get(a)) : Map.of(),
         Map.of(a, s.agentEnergyConsumptions().get(a)),
         s.bodies().stream().filter(b -> a.bodyParts().contains(b)).toList(),
         s.nfcMessages(),
@@ -36,14 +36,7 @@ public class AllAgentsFramer extends AbstractFramer<Snapshot> {
         .keySet()
         .stream()
         .filter(a -> a instanceof EmbodiedAgent)
-        .map(
-            a -> ((EmbodiedAgent) a)
-                .bodyParts()
-                .stream()
-                .map(b -> b.poly().boundingBox())
-                .reduce(BoundingBox::enclosing)
-                .orElse(DEFAULT_BOUNDING_BOX)
-        )
+        .map(a -> snapshot.agentBoundingBoxes().getOrDefault(a, DEFAULT_BOUNDING_BOX))
         .reduce(BoundingBox::enclosing)
         .orElse(DEFAULT_BOUNDING_BOX);
   }